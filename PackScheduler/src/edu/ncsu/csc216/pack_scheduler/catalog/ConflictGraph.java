@@ -0,0 +1,146 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A graph of time conflicts between the Courses in a catalog. Each Course is a
+ * node, keyed by its name and section, and two Courses share an edge if they
+ * meet on a common day at overlapping times.
+ *
+ * The graph is built all at once by sweeping each day's Courses in order of
+ * start time, and then kept up to date as Courses are added and removed.
+ *
+ * @author Priyanshu Dongre
+ */
+class ConflictGraph {
+
+	/** Days a Course can meet, in the order they're swept */
+	private static final String DAYS = "MTWHF";
+
+	/** Courses in the graph, keyed by name and section */
+	private HashMap<String, Course> courses;
+
+	/** Keys of the Courses each Course conflicts with */
+	private HashMap<String, Set<String>> edges;
+
+	/**
+	 * Constructs an empty conflict graph.
+	 */
+	ConflictGraph() {
+		courses = new HashMap<String, Course>();
+		edges = new HashMap<String, Set<String>>();
+	}
+
+	/**
+	 * Constructs a conflict graph of the given Courses. Each day's Courses are
+	 * sorted by start time and swept in order, keeping the Courses still in
+	 * session, so only Courses that actually overlap are compared.
+	 *
+	 * @param catalog the Courses to add to the graph
+	 */
+	ConflictGraph(List<Course> catalog) {
+		this();
+		for (Course c : catalog) {
+			String key = CourseCatalog.courseKey(c.getName(), c.getSection());
+			courses.put(key, c);
+			edges.put(key, new HashSet<String>());
+		}
+
+		for (int d = 0; d < DAYS.length(); d++) {
+			char day = DAYS.charAt(d);
+			List<Course> meetings = new ArrayList<Course>();
+			for (Course c : catalog) {
+				if (c.getMeetingDays().indexOf(day) >= 0) {
+					meetings.add(c);
+				}
+			}
+			Collections.sort(meetings, Comparator.comparingInt(Course::getStartTime));
+
+			// Courses that started earlier, ordered so the first to end is on top
+			PriorityQueue<Course> inSession = new PriorityQueue<Course>(Comparator.comparingInt(Course::getEndTime));
+			for (Course c : meetings) {
+				while (!inSession.isEmpty() && inSession.peek().getEndTime() < c.getStartTime()) {
+					inSession.poll();
+				}
+				for (Course other : inSession) {
+					connect(c, other);
+				}
+				inSession.add(c);
+			}
+		}
+	}
+
+	/**
+	 * Adds a Course to the graph, connecting it to every Course it conflicts with.
+	 *
+	 * @param course the Course to add
+	 */
+	void add(Course course) {
+		String key = CourseCatalog.courseKey(course.getName(), course.getSection());
+		courses.put(key, course);
+		edges.put(key, new HashSet<String>());
+		for (Course other : courses.values()) {
+			if (other != course && course.conflictsWith(other)) {
+				connect(course, other);
+			}
+		}
+	}
+
+	/**
+	 * Removes a Course and all of its edges from the graph.
+	 *
+	 * @param course the Course to remove
+	 */
+	void remove(Course course) {
+		String key = CourseCatalog.courseKey(course.getName(), course.getSection());
+		courses.remove(key);
+		Set<String> neighbors = edges.remove(key);
+		if (neighbors != null) {
+			for (String neighbor : neighbors) {
+				edges.get(neighbor).remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns the Courses that conflict with the Course with the given name and
+	 * section, sorted by name and then section.
+	 *
+	 * @param name of the Course
+	 * @param section of the Course
+	 * @return the conflicting Courses, or an empty list if the Course isn't in the graph
+	 */
+	List<Course> getConflicts(String name, String section) {
+		List<Course> conflicts = new ArrayList<Course>();
+		Set<String> neighbors = edges.get(CourseCatalog.courseKey(name, section));
+		if (neighbors != null) {
+			for (String neighbor : neighbors) {
+				conflicts.add(courses.get(neighbor));
+			}
+			Collections.sort(conflicts);
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Adds an edge between two Courses.
+	 *
+	 * @param c1 the first Course
+	 * @param c2 the second Course
+	 */
+	private void connect(Course c1, Course c2) {
+		String key1 = CourseCatalog.courseKey(c1.getName(), c1.getSection());
+		String key2 = CourseCatalog.courseKey(c2.getName(), c2.getSection());
+		edges.get(key1).add(key2);
+		edges.get(key2).add(key1);
+	}
+}
@@ -1,34 +1,54 @@
 package edu.ncsu.csc216.pack_scheduler.catalog;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.io.RecordWriter;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
 
 /**
- * Creates a Course Catalog with a SortedList of available Courses.
+ * Creates a Course Catalog with a sorted list of available Courses.
+ * The Courses are kept in a SkipList, so adding and removing a Course and
+ * finding every section of a Course take logarithmic time.
  * 
  * @author Priyanshu Dongre, Suyash Patel
  */
 public class CourseCatalog {
 	
 	/** A catalog of Courses, sorted alphabetically by name and then section */
-	private SortedList<Course> catalog;
+	private SkipList<Course> catalog;
+	
+	/** Index of the Courses in the catalog, keyed by name and section */
+	private HashMap<String, Course> courseIndex;
+	
+	/** Time conflicts between the Courses in the catalog */
+	private ConflictGraph conflicts;
+	
+	/** Index of the Courses in the catalog by prefix, number, and suffix */
+	private CourseNameIndex nameIndex;
 	
 	/**
 	 * Constructs an empty catalog.
 	 */
 	public CourseCatalog() {
-		this.catalog = new SortedList<Course>();
+		newCourseCatalog();
 	}
 	
 	/**
 	 * Resets the catalog to a new, empty catalog.
 	 */
 	public void newCourseCatalog() {
-		this.catalog = new SortedList<Course>();
+		this.catalog = new SkipList<Course>();
+		this.courseIndex = new HashMap<String, Course>();
+		this.conflicts = new ConflictGraph();
+		this.nameIndex = new CourseNameIndex();
 	}
 	
 	/**
@@ -79,10 +99,44 @@ public class CourseCatalog {
 //		}
 		
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			SkipList<Course> courses = new SkipList<Course>();
+			CourseRecordIO.readCourseRecords(fileName, courses::add);
+			catalog = courses;
 		} catch(IOException io) {
 			throw new IllegalArgumentException();
 		}
+		
+		indexCourses();
+	}
+	
+	/**
+	 * Replaces the catalog with the given Courses, such as ones read from a snapshot.
+	 * Courses with the same name and section as an earlier one are ignored.
+	 * @param courses the Courses to put in the catalog
+	 */
+	public void loadCourses(Course[] courses) {
+		catalog = new SkipList<Course>();
+		HashMap<String, Course> added = new HashMap<String, Course>();
+		for (Course c : courses) {
+			if (added.putIfAbsent(courseKey(c.getName(), c.getSection()), c) == null) {
+				catalog.add(c);
+			}
+		}
+		indexCourses();
+	}
+	
+	/**
+	 * Rebuilds the index and conflict graph from the catalog.
+	 */
+	private void indexCourses() {
+		courseIndex = new HashMap<String, Course>();
+		List<Course> courses = new ArrayList<Course>(catalog.size());
+		forEachCourse(c -> {
+			courseIndex.put(courseKey(c.getName(), c.getSection()), c);
+			courses.add(c);
+		});
+		conflicts = new ConflictGraph(courses);
+		nameIndex = new CourseNameIndex(courses);
 	}
 	
 //	/**
@@ -158,15 +212,17 @@ public class CourseCatalog {
 				
 		// Return false if Course (of same name and section)
 		// already exists in schedule
-		for (int i = 0; i < catalog.size(); i++) {
-			if (courseToAdd.compareTo(catalog.get(i)) == 0) {
-				return false;
-			}
+		String key = courseKey(name, section);
+		if (courseIndex.containsKey(key)) {
+			return false;
 		}
 		
 		// If the code reaches this point, the Course is valid and unique.
 		// Add it to the Course Catalog.
 		this.catalog.add(courseToAdd);
+		courseIndex.put(key, courseToAdd);
+		conflicts.add(courseToAdd);
+		nameIndex.add(courseToAdd);
 		return true;
 	}
 	
@@ -183,18 +239,17 @@ public class CourseCatalog {
 			throw new IllegalArgumentException("Cannot remove a Course with null name or section.");
 		}
 		
-		// Search for the Course within the catalog.
-		for (int i = 0; i < catalog.size(); i++) {
-			// If the Course is found (by name and section), remove it and return true.
-			if (name.equals(catalog.get(i).getName()) && section.equals(catalog.get(i).getSection())) {
-				catalog.remove(i);
-				return true;
-			}
+		// Look the Course up by name and section. If it isn't in the catalog, return false.
+		Course course = courseIndex.remove(courseKey(name, section));
+		if (course == null) {
+			return false;
 		}
 		
-		// If the code reaches this point, the Course to remove was not found.
-		// So, return false.
-		return false;
+		// Otherwise remove it from the sorted list as well and return true.
+		catalog.remove(course);
+		conflicts.remove(course);
+		nameIndex.remove(course);
+		return true;
 	}
 	
 	/**
@@ -207,13 +262,37 @@ public class CourseCatalog {
 	 * @return 2D String array representation of the catalog
 	 */
 	public String[][] getCourseCatalog() {
-		String[][] catalogArray = new String[catalog.size()][3];
-		
-		// Loop through each Course in the catalog
-		for (int i = 0; i < catalog.size(); i++) {
-			catalogArray[i] = catalog.get(i).getShortDisplayArray();		
-		}
-		return catalogArray;
+		return streamCourses().map(Course::getShortDisplayArray).toArray(String[][]::new);
+	}
+	
+	/**
+	 * Returns the Courses in the catalog, sorted by name and then section.
+	 * 
+	 * @return the Courses in the catalog
+	 */
+	public Course[] getCourses() {
+		return streamCourses().toArray(Course[]::new);
+	}
+	
+	/**
+	 * Performs the given action on each Course in the catalog, in order by name
+	 * and then section.  Use this, or streamCourses(), rather than looking the
+	 * Courses up one index at a time.
+	 * 
+	 * @param action the action to perform on each Course
+	 */
+	public void forEachCourse(Consumer<? super Course> action) {
+		catalog.forEach(action);
+	}
+	
+	/**
+	 * Returns a sequential stream of the Courses in the catalog, in order by
+	 * name and then section.
+	 * 
+	 * @return a stream of the Courses in the catalog
+	 */
+	public Stream<Course> streamCourses() {
+		return catalog.stream();
 	}
 	
 	/**
@@ -233,31 +312,127 @@ public class CourseCatalog {
 			throw new IllegalArgumentException("Cannot search for null name or section.");
 		}
 		
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				return catalog.get(i);
-			}
+		return courseIndex.get(courseKey(name, section));
+	}
+	
+	/**
+	 * Returns every section of the Course with the given name, sorted by section.
+	 * Throws IllegalArgumentException if name is null.
+	 * 
+	 * @param name of the Course
+	 * @return the Course's sections, or an empty list if there are none in the catalog
+	 * @throws IllegalArgumentException if name is null
+	 */
+	public List<Course> getSectionsOf(String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("Cannot search for null name.");
 		}
 		
-		return null;
+		// The catalog is sorted by name, so a Course's sections are next to each other
+		return catalog.range(c -> c.getName().compareTo(name))
+				.collect(Collectors.toCollection(ArrayList::new));
 	}
 	
 	/**
-     * Writes the given list of Courses to a file.
+	 * Returns the Courses in the catalog whose names start with the given
+	 * department prefix, such as "CSC" or "MA", sorted by name and then section.
+	 * The Courses are found as the stream is consumed.
+	 * Throws IllegalArgumentException if prefix is null.
+	 * 
+	 * @param prefix the letters before the course number
+	 * @return a stream of the Courses with the prefix
+	 * @throws IllegalArgumentException if prefix is null
+	 */
+	public Stream<Course> streamCoursesWithPrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Cannot search for null prefix.");
+		}
+		
+		return nameIndex.withPrefix(prefix);
+	}
+	
+	/**
+	 * Returns the Courses in the catalog whose course numbers are between the
+	 * given numbers, inclusive, sorted by name and then section.  For example,
+	 * the prefix "CSC" and the numbers 200 and 299 give every CSC 2xx course.
+	 * A null prefix searches every department.  The Courses are found as the
+	 * stream is consumed.
+	 * 
+	 * @param prefix the letters before the course number, or null for every prefix
+	 * @param fromNumber the lowest course number to return
+	 * @param toNumber the highest course number to return
+	 * @return a stream of the Courses in the range
+	 */
+	public Stream<Course> streamCoursesInRange(String prefix, int fromNumber, int toNumber) {
+		return nameIndex.inRange(prefix, fromNumber, toNumber);
+	}
+	
+	/**
+	 * Returns the Courses in the catalog whose names end with the given suffix
+	 * letter, sorted by name and then section.  The Courses are found as the
+	 * stream is consumed.
+	 * 
+	 * @param suffix the letter after the course number
+	 * @return a stream of the Courses with the suffix
+	 */
+	public Stream<Course> streamCoursesWithSuffix(char suffix) {
+		return nameIndex.withSuffix(suffix);
+	}
+	
+	/**
+	 * Returns the department prefixes of the Courses in the catalog, in order.
+	 * 
+	 * @return the prefixes in the catalog
+	 */
+	public List<String> getPrefixes() {
+		return nameIndex.getPrefixes();
+	}
+	
+	/**
+	 * Returns the Courses in the catalog that meet at the same time as the Course
+	 * with the given name and section, sorted by name and then section.
+	 * Throws IllegalArgumentException if name or section is null.
+	 * 
+	 * @param name of the Course
+	 * @param section of the Course
+	 * @return the conflicting Courses, or an empty list if the Course isn't in the catalog
+	 * @throws IllegalArgumentException if name or section is null
+	 */
+	public List<Course> getConflictingCourses(String name, String section) {
+		if (name == null || section == null) {
+			throw new IllegalArgumentException("Cannot search for null name or section.");
+		}
+		
+		return conflicts.getConflicts(name, section);
+	}
+	
+	/**
+	 * Returns the key a Course is stored under in the catalog's index.
+	 * A comma can't appear in a valid name or section, so it keeps the
+	 * two parts apart.
+	 * 
+	 * @param name of the Course
+	 * @param section of the Course
+	 * @return the index key for the given name and section
+	 */
+	static String courseKey(String name, String section) {
+		return name + "," + section;
+	}
+	
+	/**
+     * Writes the given list of Courses to a file, replacing it only once every
+     * Course has been written.
      * Adjusted from the writeCourseRecords method in CourseRecordIO by Dr. Sarah Heckman.
      * @param fileName file to write schedule of Courses to
      * @throws IllegalArgumentException if cannot write to file
      */
     public void saveCourseCatalog(String fileName) {
     	
-    	try {
-    		PrintStream fileWriter = new PrintStream(new File(fileName));
-
-    		for (int i = 0; i < catalog.size(); i++) {
-    			fileWriter.println(catalog.get(i).toString());
+    	try (RecordWriter writer = new RecordWriter(fileName)) {
+    		for (Course c : catalog) {
+    			writer.writeLine(c.toString());
     		}
-    		fileWriter.close();
-        	
+    		writer.commit();
     	} catch (IOException i) {
     		throw new IllegalArgumentException("Unable to write to file " + fileName);
     	}
@@ -0,0 +1,177 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
+
+/**
+ * An index of the Courses in a catalog by the parts of their names. A valid
+ * name, as CourseNameValidator checks it, is a department prefix of one to
+ * four letters, a three digit course number, and an optional one letter
+ * suffix, so the parts are found without parsing anything else.
+ *
+ * Courses are grouped by prefix, and each group is kept sorted by name and
+ * section. All the names in a group share their prefix, so the group is also
+ * sorted by course number, and a range of numbers is found by seeking to its
+ * start. Courses with a suffix are grouped by it as well. Every query returns
+ * a stream that finds the Courses as it's consumed, so it costs time
+ * proportional to the Courses it returns rather than the size of the catalog.
+ *
+ * @author Priyanshu Dongre
+ */
+class CourseNameIndex {
+
+	/** Number of digits in a course number */
+	private static final int NUMBER_LENGTH = 3;
+
+	/** Courses with each prefix, with the prefixes in order */
+	private TreeMap<String, SkipList<Course>> byPrefix;
+
+	/** Courses with each suffix */
+	private HashMap<Character, SkipList<Course>> bySuffix;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	CourseNameIndex() {
+		byPrefix = new TreeMap<String, SkipList<Course>>();
+		bySuffix = new HashMap<Character, SkipList<Course>>();
+	}
+
+	/**
+	 * Constructs an index of the given Courses.
+	 *
+	 * @param catalog the Courses to index
+	 */
+	CourseNameIndex(Iterable<Course> catalog) {
+		this();
+		for (Course c : catalog) {
+			add(c);
+		}
+	}
+
+	/**
+	 * Adds a Course to the index.
+	 *
+	 * @param course the Course to add
+	 */
+	void add(Course course) {
+		String name = course.getName();
+		int prefixLength = prefixLength(name);
+		byPrefix.computeIfAbsent(name.substring(0, prefixLength), p -> new SkipList<Course>()).add(course);
+		if (name.length() > prefixLength + NUMBER_LENGTH) {
+			bySuffix.computeIfAbsent(name.charAt(prefixLength + NUMBER_LENGTH), s -> new SkipList<Course>())
+					.add(course);
+		}
+	}
+
+	/**
+	 * Removes a Course from the index.
+	 *
+	 * @param course the Course to remove
+	 */
+	void remove(Course course) {
+		String name = course.getName();
+		int prefixLength = prefixLength(name);
+		String prefix = name.substring(0, prefixLength);
+		SkipList<Course> group = byPrefix.get(prefix);
+		if (group != null && group.remove(course) && group.isEmpty()) {
+			byPrefix.remove(prefix);
+		}
+		if (name.length() > prefixLength + NUMBER_LENGTH) {
+			Character suffix = name.charAt(prefixLength + NUMBER_LENGTH);
+			SkipList<Course> suffixed = bySuffix.get(suffix);
+			if (suffixed != null && suffixed.remove(course) && suffixed.isEmpty()) {
+				bySuffix.remove(suffix);
+			}
+		}
+	}
+
+	/**
+	 * Returns the Courses with the given prefix, sorted by name and then section.
+	 *
+	 * @param prefix the department prefix
+	 * @return a stream of the Courses with the prefix
+	 */
+	Stream<Course> withPrefix(String prefix) {
+		SkipList<Course> group = byPrefix.get(prefix);
+		return group == null ? Stream.empty() : group.stream();
+	}
+
+	/**
+	 * Returns the Courses whose numbers are in the given range, sorted by name
+	 * and then section. If the prefix is null, Courses with every prefix are
+	 * returned, with the prefixes in order.
+	 *
+	 * @param prefix the department prefix, or null for every prefix
+	 * @param from   the lowest course number to return
+	 * @param to     the highest course number to return
+	 * @return a stream of the Courses in the range
+	 */
+	Stream<Course> inRange(String prefix, int from, int to) {
+		ToIntFunction<Course> locator = c -> {
+			int number = number(c.getName());
+			return number < from ? -1 : number > to ? 1 : 0;
+		};
+		if (prefix != null) {
+			SkipList<Course> group = byPrefix.get(prefix);
+			return group == null ? Stream.empty() : group.range(locator);
+		}
+		return byPrefix.values().stream().flatMap(group -> group.range(locator));
+	}
+
+	/**
+	 * Returns the Courses with the given suffix, sorted by name and then section.
+	 *
+	 * @param suffix the suffix letter
+	 * @return a stream of the Courses with the suffix
+	 */
+	Stream<Course> withSuffix(char suffix) {
+		SkipList<Course> suffixed = bySuffix.get(suffix);
+		return suffixed == null ? Stream.empty() : suffixed.stream();
+	}
+
+	/**
+	 * Returns the prefixes of the Courses in the index, in order.
+	 *
+	 * @return the prefixes
+	 */
+	List<String> getPrefixes() {
+		return new ArrayList<String>(byPrefix.keySet());
+	}
+
+	/**
+	 * Returns the number of letters before the course number in a valid name.
+	 *
+	 * @param name a valid course name
+	 * @return the length of the name's prefix
+	 */
+	static int prefixLength(String name) {
+		int i = 0;
+		while (i < name.length() && Character.isLetter(name.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the course number in a valid name.
+	 *
+	 * @param name a valid course name
+	 * @return the course number
+	 */
+	static int number(String name) {
+		int start = prefixLength(name);
+		int number = 0;
+		for (int i = start; i < start + NUMBER_LENGTH; i++) {
+			number = number * 10 + Character.digit(name.charAt(i), 10);
+		}
+		return number;
+	}
+}
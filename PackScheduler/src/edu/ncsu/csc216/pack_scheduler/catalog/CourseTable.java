@@ -0,0 +1,610 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * A read-mostly catalog of Courses kept in columns instead of as Course
+ * objects, for catalogs too large to keep every Course, with its CourseRoll,
+ * in memory. Each Course is a row, and rows are sorted by name and then
+ * section, the same order as a CourseCatalog.
+ *
+ * Names, titles, meeting days, and instructor ids are dictionary encoded: each
+ * distinct value is kept once, and each row holds the value's code. The names
+ * are coded in sorted order, so the rows are sorted by name code too. The
+ * section, credits, enrollment cap, meeting days, and times of a row are
+ * packed into one long, so a row costs four ints and a long.
+ *
+ * Lookups, display rows, and conflict checks read the columns directly. A
+ * Course is only made for a row when getCourse() asks for it, and the same
+ * Course is returned for the row from then on, so its CourseRoll keeps its
+ * enrollment. Changes made to a Course after it's made aren't written back to
+ * the columns.
+ *
+ * A table is built with a Builder, or from Courses already in memory. The
+ * registration workflow still browses a CourseCatalog; a table is for callers
+ * that only need to look up and display a large catalog.
+ *
+ * @author Priyanshu Dongre
+ */
+public class CourseTable {
+
+	/** Bits for the section, which is three digits */
+	private static final int SECTION_BITS = 10;
+
+	/** Bits for the credits, which are 1 to 5 */
+	private static final int CREDITS_BITS = 3;
+
+	/** Bits for the enrollment cap, which is at most 250 */
+	private static final int CAP_BITS = 8;
+
+	/** Bits for the day mask, one per weekday */
+	private static final int DAYS_BITS = 5;
+
+	/** Bits for a start or end time, which is at most 2359 */
+	private static final int TIME_BITS = 12;
+
+	/** Position of the credits in a packed row */
+	private static final int CREDITS_SHIFT = SECTION_BITS;
+
+	/** Position of the enrollment cap in a packed row */
+	private static final int CAP_SHIFT = CREDITS_SHIFT + CREDITS_BITS;
+
+	/** Position of the day mask in a packed row */
+	private static final int DAYS_SHIFT = CAP_SHIFT + CAP_BITS;
+
+	/** Position of the start time in a packed row */
+	private static final int START_SHIFT = DAYS_SHIFT + DAYS_BITS;
+
+	/** Position of the end time in a packed row */
+	private static final int END_SHIFT = START_SHIFT + TIME_BITS;
+
+	/** Code of a row with no instructor */
+	private static final int NO_INSTRUCTOR = -1;
+
+	/** Number of rows */
+	private final int size;
+
+	/** Distinct names, sorted */
+	private final String[] names;
+
+	/** Distinct titles */
+	private final String[] titles;
+
+	/** Distinct meeting days */
+	private final String[] meetingDays;
+
+	/** Distinct instructor ids */
+	private final String[] instructors;
+
+	/** Code of each row's name, which is non-decreasing */
+	private final int[] nameCodes;
+
+	/** Code of each row's title */
+	private final int[] titleCodes;
+
+	/** Code of each row's meeting days */
+	private final int[] daysCodes;
+
+	/** Code of each row's instructor id, or NO_INSTRUCTOR */
+	private final int[] instructorCodes;
+
+	/** Section, credits, cap, day mask, start time, and end time of each row */
+	private final long[] packed;
+
+	/** Course made for each row, or null if none has been; null until one is */
+	private Course[] views;
+
+	/**
+	 * Constructs a table of the given Courses.
+	 *
+	 * @param courses the Courses to put in the table
+	 * @throws IllegalArgumentException if two Courses have the same name and section
+	 */
+	public CourseTable(Iterable<? extends Course> courses) {
+		this(build(courses));
+	}
+
+	/**
+	 * Constructs a table from the rows added to a Builder, sorting them by name
+	 * and then section.
+	 *
+	 * @param builder the Builder with the rows
+	 * @throws IllegalArgumentException if two rows have the same name and section
+	 */
+	private CourseTable(Builder builder) {
+		size = builder.size;
+		names = builder.names.values.toArray(new String[0]);
+		titles = builder.titles.values.toArray(new String[0]);
+		meetingDays = builder.meetingDays.values.toArray(new String[0]);
+		instructors = builder.instructors.values.toArray(new String[0]);
+
+		// Code the names in sorted order
+		Integer[] byName = new Integer[names.length];
+		for (int i = 0; i < byName.length; i++) {
+			byName[i] = i;
+		}
+		Arrays.sort(byName, (a, b) -> names[a].compareTo(names[b]));
+		int[] recode = new int[names.length];
+		for (int i = 0; i < byName.length; i++) {
+			recode[byName[i]] = i;
+		}
+		Arrays.sort(names);
+
+		// Sort the rows by name code and then section
+		long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = (long) recode[builder.nameCodes[i]] << 32 | (builder.packed[i] & mask(SECTION_BITS)) << 20 | i;
+		}
+		Arrays.sort(keys);
+
+		nameCodes = new int[size];
+		titleCodes = new int[size];
+		daysCodes = new int[size];
+		instructorCodes = new int[size];
+		packed = new long[size];
+		for (int r = 0; r < size; r++) {
+			int i = (int) (keys[r] & mask(20));
+			nameCodes[r] = recode[builder.nameCodes[i]];
+			titleCodes[r] = builder.titleCodes[i];
+			daysCodes[r] = builder.daysCodes[i];
+			instructorCodes[r] = builder.instructorCodes[i];
+			packed[r] = builder.packed[i];
+			if (r > 0 && nameCodes[r] == nameCodes[r - 1] && getSectionNumber(r) == getSectionNumber(r - 1)) {
+				throw new IllegalArgumentException("Duplicate course " + getName(r) + "-" + getSection(r) + ".");
+			}
+		}
+	}
+
+	/**
+	 * Adds the given Courses to a new Builder.
+	 *
+	 * @param courses the Courses to add
+	 * @return the Builder with the Courses
+	 */
+	private static Builder build(Iterable<? extends Course> courses) {
+		Builder builder = new Builder();
+		for (Course c : courses) {
+			builder.add(c);
+		}
+		return builder;
+	}
+
+	/**
+	 * Returns the number of Courses in the table.
+	 *
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the row of the Course with the given name and section.
+	 *
+	 * @param name    the Course's name
+	 * @param section the Course's section
+	 * @return the Course's row, or -1 if it isn't in the table
+	 */
+	public int indexOf(String name, String section) {
+		int code = Arrays.binarySearch(names, name);
+		if (code < 0 || section == null) {
+			return -1;
+		}
+		int from = firstRow(code);
+		int to = firstRow(code + 1);
+		for (int r = from; r < to; r++) {
+			if (getSection(r).equals(section)) {
+				return r;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the rows of every section of the Course with the given name, in
+	 * order by section.
+	 *
+	 * @param name the Course's name
+	 * @return the rows of the Course's sections, which are empty if there are none
+	 */
+	public IntStream rowsOf(String name) {
+		int code = Arrays.binarySearch(names, name);
+		return code < 0 ? IntStream.empty() : IntStream.range(firstRow(code), firstRow(code + 1));
+	}
+
+	/**
+	 * Returns the rows of the Courses that meet on a common day at overlapping
+	 * times with the given Activity, in order by name and then section, the
+	 * same way Activity.conflictsWith() compares them.
+	 *
+	 * @param activity the Activity to check against
+	 * @return the rows that conflict with the Activity
+	 */
+	public IntStream conflictingRows(Activity activity) {
+		int mask = Activity.getDayMask(activity.getMeetingDays());
+		int start = activity.getStartTime();
+		int end = activity.getEndTime();
+		return IntStream.range(0, size).filter(r -> conflicts(r, mask, start, end));
+	}
+
+	/**
+	 * Returns true if the Course in the given row meets on a common day at
+	 * overlapping times with the given Activity.
+	 *
+	 * @param row      the row to check
+	 * @param activity the Activity to check against
+	 * @return true if the row conflicts with the Activity
+	 */
+	public boolean conflictsWith(int row, Activity activity) {
+		checkRow(row);
+		return conflicts(row, Activity.getDayMask(activity.getMeetingDays()), activity.getStartTime(),
+				activity.getEndTime());
+	}
+
+	/**
+	 * Returns a 2D String array of the table, with a row per Course and the
+	 * same five columns as CourseCatalog.getCourseCatalog(): name, section,
+	 * title, meeting information, and open seats. Rows without a Course have
+	 * every seat open.
+	 *
+	 * @return 2D String array representation of the table
+	 */
+	public String[][] getCourseCatalog() {
+		// Copy the Courses made so far under the lock getCourse() makes them under,
+		// but read their rolls without holding it
+		Course[] made;
+		synchronized (this) {
+			made = views == null ? null : views.clone();
+		}
+		String[][] catalog = new String[size][];
+		for (int r = 0; r < size; r++) {
+			Course view = made == null ? null : made[r];
+			catalog[r] = view != null ? view.getShortDisplayArray()
+					: new String[] { getName(r), getSection(r), getTitle(r),
+							Activity.getMeetingString(getMeetingDays(r), getStartTime(r), getEndTime(r)),
+							"" + getEnrollmentCap(r) };
+		}
+		return catalog;
+	}
+
+	/**
+	 * Returns the Course in the given row, making it the first time it's asked
+	 * for.
+	 *
+	 * @param row the row of the Course
+	 * @return the Course in the row
+	 * @throws IndexOutOfBoundsException if there's no such row
+	 */
+	public synchronized Course getCourse(int row) {
+		checkRow(row);
+		if (views == null) {
+			views = new Course[size];
+		}
+		if (views[row] == null) {
+			views[row] = new Course(getName(row), getTitle(row), getSection(row), getCredits(row),
+					getInstructorId(row), getEnrollmentCap(row), getMeetingDays(row), getStartTime(row),
+					getEndTime(row));
+		}
+		return views[row];
+	}
+
+	/**
+	 * Returns the Course with the given name and section, making it the first
+	 * time it's asked for.
+	 *
+	 * @param name    the Course's name
+	 * @param section the Course's section
+	 * @return the Course, or null if it isn't in the table
+	 */
+	public Course getCourse(String name, String section) {
+		int row = indexOf(name, section);
+		return row < 0 ? null : getCourse(row);
+	}
+
+	/**
+	 * Returns the number of rows that have had a Course made for them.
+	 *
+	 * @return the number of Courses made
+	 */
+	public synchronized int getMaterializedCount() {
+		return views == null ? 0 : (int) Arrays.stream(views).filter(c -> c != null).count();
+	}
+
+	/**
+	 * Returns the name of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the name
+	 */
+	public String getName(int row) {
+		checkRow(row);
+		return names[nameCodes[row]];
+	}
+
+	/**
+	 * Returns the section of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the section
+	 */
+	public String getSection(int row) {
+		checkRow(row);
+		int section = getSectionNumber(row);
+		return new String(new char[] { (char) ('0' + section / 100), (char) ('0' + section / 10 % 10),
+				(char) ('0' + section % 10) });
+	}
+
+	/**
+	 * Returns the title of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the title
+	 */
+	public String getTitle(int row) {
+		checkRow(row);
+		return titles[titleCodes[row]];
+	}
+
+	/**
+	 * Returns the credits of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the credits
+	 */
+	public int getCredits(int row) {
+		checkRow(row);
+		return field(row, CREDITS_SHIFT, CREDITS_BITS);
+	}
+
+	/**
+	 * Returns the instructor id of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the instructor id, or null if there's no instructor
+	 */
+	public String getInstructorId(int row) {
+		checkRow(row);
+		return instructorCodes[row] == NO_INSTRUCTOR ? null : instructors[instructorCodes[row]];
+	}
+
+	/**
+	 * Returns the enrollment cap of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the enrollment cap
+	 */
+	public int getEnrollmentCap(int row) {
+		checkRow(row);
+		return field(row, CAP_SHIFT, CAP_BITS);
+	}
+
+	/**
+	 * Returns the meeting days of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the meeting days
+	 */
+	public String getMeetingDays(int row) {
+		checkRow(row);
+		return meetingDays[daysCodes[row]];
+	}
+
+	/**
+	 * Returns the start time of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the start time
+	 */
+	public int getStartTime(int row) {
+		checkRow(row);
+		return field(row, START_SHIFT, TIME_BITS);
+	}
+
+	/**
+	 * Returns the end time of the Course in the given row.
+	 *
+	 * @param row the row
+	 * @return the end time
+	 */
+	public int getEndTime(int row) {
+		checkRow(row);
+		return field(row, END_SHIFT, TIME_BITS);
+	}
+
+	/**
+	 * Returns true if the given row meets on one of the given days at times
+	 * overlapping the given ones.
+	 *
+	 * @param row   the row
+	 * @param mask  the days, as Activity.getDayMask() returns them
+	 * @param start the start time
+	 * @param end   the end time
+	 * @return true if the row conflicts with the meeting
+	 */
+	private boolean conflicts(int row, int mask, int start, int end) {
+		return (field(row, DAYS_SHIFT, DAYS_BITS) & mask) != 0 && field(row, START_SHIFT, TIME_BITS) <= end
+				&& start <= field(row, END_SHIFT, TIME_BITS);
+	}
+
+	/**
+	 * Returns the first row whose name code is at least the given one.
+	 *
+	 * @param code the name code
+	 * @return the first row with the code or a later one
+	 */
+	private int firstRow(int code) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (nameCodes[mid] < code) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the section of the given row as a number.
+	 *
+	 * @param row the row
+	 * @return the section number
+	 */
+	private int getSectionNumber(int row) {
+		return field(row, 0, SECTION_BITS);
+	}
+
+	/**
+	 * Returns a field of a packed row.
+	 *
+	 * @param row   the row
+	 * @param shift position of the field
+	 * @param bits  width of the field
+	 * @return the field's value
+	 */
+	private int field(int row, int shift, int bits) {
+		return (int) (packed[row] >>> shift & mask(bits));
+	}
+
+	/**
+	 * Returns a mask of the given number of low bits.
+	 *
+	 * @param bits number of bits
+	 * @return the mask
+	 */
+	private static long mask(int bits) {
+		return (1L << bits) - 1;
+	}
+
+	/**
+	 * Checks that a row is in the table.
+	 *
+	 * @param row the row
+	 * @throws IndexOutOfBoundsException if there's no such row
+	 */
+	private void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Invalid row.");
+		}
+	}
+
+	/**
+	 * Collects rows for a CourseTable, one Course at a time, without keeping the
+	 * Courses. A large catalog can be read into a Builder and only its columns
+	 * kept.
+	 */
+	public static class Builder {
+
+		/** Most rows a table can hold, since a row's index is packed in 20 bits for sorting */
+		private static final int MAX_ROWS = 1 << 20;
+
+		/** Number of rows added */
+		private int size;
+
+		/** Distinct names added */
+		private Dictionary names = new Dictionary();
+
+		/** Distinct titles added */
+		private Dictionary titles = new Dictionary();
+
+		/** Distinct meeting days added */
+		private Dictionary meetingDays = new Dictionary();
+
+		/** Distinct instructor ids added */
+		private Dictionary instructors = new Dictionary();
+
+		/** Name code of each row */
+		private int[] nameCodes = new int[16];
+
+		/** Title code of each row */
+		private int[] titleCodes = new int[16];
+
+		/** Meeting days code of each row */
+		private int[] daysCodes = new int[16];
+
+		/** Instructor code of each row */
+		private int[] instructorCodes = new int[16];
+
+		/** Packed fields of each row */
+		private long[] packed = new long[16];
+
+		/**
+		 * Adds a row for the given Course.
+		 *
+		 * @param course the Course to add
+		 * @throws IllegalArgumentException if the table is full
+		 */
+		public void add(Course course) {
+			if (size == MAX_ROWS) {
+				throw new IllegalArgumentException("Course table is full.");
+			}
+			if (size == packed.length) {
+				int capacity = size * 2;
+				nameCodes = Arrays.copyOf(nameCodes, capacity);
+				titleCodes = Arrays.copyOf(titleCodes, capacity);
+				daysCodes = Arrays.copyOf(daysCodes, capacity);
+				instructorCodes = Arrays.copyOf(instructorCodes, capacity);
+				packed = Arrays.copyOf(packed, capacity);
+			}
+			nameCodes[size] = names.code(course.getName());
+			titleCodes[size] = titles.code(course.getTitle());
+			daysCodes[size] = meetingDays.code(course.getMeetingDays());
+			instructorCodes[size] = course.getInstructorId() == null ? NO_INSTRUCTOR
+					: instructors.code(course.getInstructorId());
+			packed[size] = Integer.parseInt(course.getSection())
+					| (long) course.getCredits() << CREDITS_SHIFT
+					| (long) course.getCourseRoll().getEnrollmentCap() << CAP_SHIFT
+					| (long) Activity.getDayMask(course.getMeetingDays()) << DAYS_SHIFT
+					| (long) course.getStartTime() << START_SHIFT
+					| (long) course.getEndTime() << END_SHIFT;
+			size++;
+		}
+
+		/**
+		 * Returns a table of the rows added, sorted by name and then section.
+		 *
+		 * @return the table
+		 * @throws IllegalArgumentException if two rows have the same name and section
+		 */
+		public CourseTable build() {
+			return new CourseTable(this);
+		}
+	}
+
+	/**
+	 * Distinct values, each with the code it was first added under.
+	 */
+	private static class Dictionary {
+
+		/** Values, indexed by code */
+		private List<String> values = new ArrayList<String>();
+
+		/** Code of each value */
+		private HashMap<String, Integer> codes = new HashMap<String, Integer>();
+
+		/**
+		 * Returns the code of the given value, adding it if it's new.
+		 *
+		 * @param value the value
+		 * @return the value's code
+		 */
+		int code(String value) {
+			Integer code = codes.get(value);
+			if (code == null) {
+				code = values.size();
+				codes.put(value, code);
+				values.add(value);
+			}
+			return code;
+		}
+	}
+}
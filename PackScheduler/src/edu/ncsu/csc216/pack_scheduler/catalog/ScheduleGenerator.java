@@ -0,0 +1,310 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Generates the schedules a Student could register for that include one section
+ * of each of a list of Courses. A generated schedule has no time conflicts, doesn't
+ * conflict with the Student's current schedule, and fits within the Student's
+ * maximum credits.
+ *
+ * Schedules are found by backtracking over the sections of each Course, starting
+ * with the Course that has the fewest sections and abandoning any partial schedule
+ * that conflicts or can't fit within the credit limit. The search is split across
+ * the fork/join common pool and schedules are produced lazily, so asking for a few
+ * schedules only does as much work as it takes to find them.
+ *
+ * @author Priyanshu Dongre
+ */
+public class ScheduleGenerator {
+
+	/** Catalog to take sections from */
+	private CourseCatalog catalog;
+
+	/**
+	 * Constructs a ScheduleGenerator for the given catalog.
+	 *
+	 * @param catalog the catalog to take sections from
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public ScheduleGenerator(CourseCatalog catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.catalog = catalog;
+	}
+
+	/**
+	 * Returns a parallel stream of up to limit schedules for the given Student that
+	 * each include one section of every named Course. Each schedule lists its
+	 * sections in the same order as the Course names. The order the schedules are
+	 * found in is not specified.
+	 *
+	 * The Student's current schedule is read when this method is called, so later
+	 * changes to it don't affect the stream.
+	 *
+	 * @param student the Student the schedules are for
+	 * @param courseNames names of the Courses each schedule must include
+	 * @param limit the most schedules to return
+	 * @return a stream of conflict-free schedules
+	 * @throws IllegalArgumentException if the student or course names are null, or
+	 *                                  the limit isn't positive
+	 */
+	public Stream<List<Course>> generate(Student student, List<String> courseNames, int limit) {
+		if (student == null || courseNames == null || courseNames.contains(null)) {
+			throw new IllegalArgumentException("Invalid schedule request.");
+		}
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Invalid schedule limit.");
+		}
+
+		List<String> names = new ArrayList<String>(new LinkedHashSet<String>(courseNames));
+		Course[][] sections = new Course[names.size()][];
+		for (int i = 0; i < names.size(); i++) {
+			// Sections that clash with the current schedule or go over the credit limit are left out up front
+			List<Course> candidates = new ArrayList<Course>();
+			for (Course c : catalog.getSectionsOf(names.get(i))) {
+				if (student.canAdd(c)) {
+					candidates.add(c);
+				}
+			}
+			sections[i] = candidates.toArray(new Course[candidates.size()]);
+		}
+		int openCredits = student.getMaxCredits() - student.getSchedule().getScheduleCredits();
+
+		Search search = new Search(sections, openCredits);
+		return StreamSupport.stream(new ScheduleSpliterator(search), true).limit(limit);
+	}
+
+	/**
+	 * Returns up to limit schedules for the given Student that each include one
+	 * section of every named Course.
+	 *
+	 * @param student the Student the schedules are for
+	 * @param courseNames names of the Courses each schedule must include
+	 * @param limit the most schedules to return
+	 * @return a list of conflict-free schedules
+	 * @throws IllegalArgumentException if the student or course names are null, or
+	 *                                  the limit isn't positive
+	 */
+	public List<List<Course>> getSchedules(Student student, List<String> courseNames, int limit) {
+		return generate(student, courseNames, limit).collect(Collectors.toList());
+	}
+
+	/**
+	 * The fixed part of a search: the candidate sections for each Course, in the
+	 * order they're chosen, and the bounds used to prune partial schedules.
+	 */
+	private static class Search {
+
+		/** Candidate sections for each Course, Courses with the fewest sections first */
+		private Course[][] levels;
+
+		/** Position of each level's Course in the requested order */
+		private int[] positions;
+
+		/** Fewest credits the Courses from each level to the last could add up to */
+		private int[] minCreditsFrom;
+
+		/** Credits the Student has room for */
+		private int openCredits;
+
+		/**
+		 * Orders the Courses and works out the credit bounds.
+		 *
+		 * @param sections candidate sections for each Course, in the requested order
+		 * @param openCredits credits the Student has room for
+		 */
+		Search(Course[][] sections, int openCredits) {
+			this.openCredits = openCredits;
+			Integer[] order = new Integer[sections.length];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Integer.compare(sections[a].length, sections[b].length));
+
+			levels = new Course[sections.length][];
+			positions = new int[sections.length];
+			for (int i = 0; i < order.length; i++) {
+				levels[i] = sections[order[i]];
+				positions[i] = order[i];
+			}
+
+			minCreditsFrom = new int[levels.length + 1];
+			for (int i = levels.length - 1; i >= 0; i--) {
+				int min = Integer.MAX_VALUE / 2;
+				for (Course c : levels[i]) {
+					min = Math.min(min, c.getCredits());
+				}
+				minCreditsFrom[i] = minCreditsFrom[i + 1] + min;
+			}
+		}
+
+		/**
+		 * Returns true if the given section can be added to a partial schedule.
+		 *
+		 * @param node the partial schedule
+		 * @param section the section to add next
+		 * @return true if the section fits
+		 */
+		boolean fits(Node node, Course section) {
+			if (node.credits + section.getCredits() + minCreditsFrom[node.depth + 1] > openCredits) {
+				return false;
+			}
+			for (int i = 0; i < node.depth; i++) {
+				if (section.conflictsWith(node.chosen[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Returns a complete schedule with its sections in the requested order.
+		 *
+		 * @param node a schedule with a section for every Course
+		 * @return the schedule
+		 */
+		List<Course> toSchedule(Node node) {
+			Course[] schedule = new Course[levels.length];
+			for (int i = 0; i < levels.length; i++) {
+				schedule[positions[i]] = node.chosen[i];
+			}
+			return Collections.unmodifiableList(Arrays.asList(schedule));
+		}
+	}
+
+	/**
+	 * A partial schedule: the sections chosen for the first depth levels of a search.
+	 */
+	private static class Node {
+
+		/** Sections chosen so far; only the first depth are set */
+		private Course[] chosen;
+
+		/** Number of sections chosen */
+		private int depth;
+
+		/** Credits of the sections chosen */
+		private int credits;
+
+		/**
+		 * Constructs a partial schedule.
+		 *
+		 * @param chosen sections chosen so far
+		 * @param depth number of sections chosen
+		 * @param credits credits of the sections chosen
+		 */
+		Node(Course[] chosen, int depth, int credits) {
+			this.chosen = chosen;
+			this.depth = depth;
+			this.credits = credits;
+		}
+	}
+
+	/**
+	 * Walks part of the search tree depth first, one complete schedule at a time.
+	 * Splitting hands the partial schedules nearest the root, which have the most
+	 * left to search, to a new spliterator.
+	 */
+	private static class ScheduleSpliterator implements Spliterator<List<Course>> {
+
+		/** The search being walked */
+		private Search search;
+
+		/** Partial schedules still to explore; the next one to explore is first */
+		private Deque<Node> pending;
+
+		/**
+		 * Constructs a spliterator over the whole search.
+		 *
+		 * @param search the search to walk
+		 */
+		ScheduleSpliterator(Search search) {
+			this.search = search;
+			this.pending = new ArrayDeque<Node>();
+			pending.push(new Node(new Course[search.levels.length], 0, 0));
+		}
+
+		/**
+		 * Constructs a spliterator over the given partial schedules.
+		 *
+		 * @param search the search to walk
+		 * @param pending partial schedules to explore
+		 */
+		private ScheduleSpliterator(Search search, Deque<Node> pending) {
+			this.search = search;
+			this.pending = pending;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super List<Course>> action) {
+			while (!pending.isEmpty()) {
+				Node node = pending.pop();
+				if (node.depth == search.levels.length) {
+					action.accept(search.toSchedule(node));
+					return true;
+				}
+				expand(node);
+			}
+			return false;
+		}
+
+		@Override
+		public Spliterator<List<Course>> trySplit() {
+			// Open up the top of the tree until there's more than one branch to give away
+			while (pending.size() == 1 && pending.peek().depth < search.levels.length) {
+				expand(pending.pop());
+			}
+			int half = pending.size() / 2;
+			if (half == 0) {
+				return null;
+			}
+			Deque<Node> split = new ArrayDeque<Node>();
+			for (int i = 0; i < half; i++) {
+				split.push(pending.removeLast());
+			}
+			return new ScheduleSpliterator(search, split);
+		}
+
+		@Override
+		public long estimateSize() {
+			return pending.isEmpty() ? 0 : Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | DISTINCT;
+		}
+
+		/**
+		 * Pushes every section that fits the given partial schedule as a new partial schedule.
+		 *
+		 * @param node the partial schedule to expand
+		 */
+		private void expand(Node node) {
+			Course[] sections = search.levels[node.depth];
+			for (int i = sections.length - 1; i >= 0; i--) {
+				if (search.fits(node, sections[i])) {
+					Course[] chosen = node.chosen.clone();
+					chosen[node.depth] = sections[i];
+					pending.push(new Node(chosen, node.depth + 1, node.credits + sections[i].getCredits()));
+				}
+			}
+		}
+	}
+}
@@ -3,6 +3,8 @@ package edu.ncsu.csc216.pack_scheduler.course;
 
 import java.util.Objects;
 
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
 /**
  * Represents an abstract Activity that serves as a base class for different
  * activities such as courses or events. An Activity has a title, meeting days,
@@ -25,6 +27,8 @@ public abstract class Activity implements Conflict {
 	protected int startTime;
 	/** Course's ending time */
 	protected int endTime;
+	/** One bit per meeting day, Monday through Friday. Arranged activities meet on no days. */
+	private int dayMask;
 
 	/**
 	 * Constructs an Activity with:
@@ -42,6 +46,31 @@ public abstract class Activity implements Conflict {
 		setMeetingDaysAndTime(meetingDays, startTime, endTime);
 	}
 
+	/**
+	 * Constructs an Activity with no fields set, for a subclass that sets them
+	 * with restoreActivity().
+	 */
+	protected Activity() {
+		super();
+	}
+
+	/**
+	 * Sets the title, meeting days, and times without checking them, for an
+	 * activity restored from a snapshot that was valid when it was saved.
+	 * 
+	 * @param title       the title of the activity
+	 * @param meetingDays the days the activity meets
+	 * @param startTime   the start time of the activity in military format
+	 * @param endTime     the end time of the activity in military format
+	 */
+	protected void restoreActivity(String title, String meetingDays, int startTime, int endTime) {
+		this.title = StringPool.canonical(title);
+		this.meetingDays = StringPool.canonical(meetingDays);
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.dayMask = getDayMask(meetingDays);
+	}
+
 	/**
 	 * Returns the Course's title
 	 * 
@@ -61,7 +90,7 @@ public abstract class Activity implements Conflict {
 			throw new IllegalArgumentException("Invalid title.");
 		}
 
-		this.title = title;
+		this.title = StringPool.canonical(title);
 	}
 
 	/**
@@ -112,6 +141,7 @@ public abstract class Activity implements Conflict {
 		if (meetingDays == null || meetingDays.length() == 0) {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
+		int mask = 0;
 		if ("A".equals(meetingDays)) {
 			if (startTime == 0 && endTime != 0) {
 				throw new IllegalArgumentException("Invalid meeting days and times.");
@@ -125,30 +155,13 @@ public abstract class Activity implements Conflict {
 				throw new IllegalArgumentException("Invalid meeting days and times.");
 			}
 		} else {
-			int countMonday = 0;
-			int countTuesday = 0;
-			int countWednesday = 0;
-			int countThursday = 0;
-			int countFriday = 0;
-
 			for (int i = 0; i < meetingDays.length(); i++) {
-				if (meetingDays.charAt(i) == 'M') {
-					countMonday++;
-				} else if (meetingDays.charAt(i) == 'T') {
-					countTuesday++;
-				} else if (meetingDays.charAt(i) == 'W') {
-					countWednesday++;
-				} else if (meetingDays.charAt(i) == 'H') {
-					countThursday++;
-				} else if (meetingDays.charAt(i) == 'F') {
-					countFriday++;
-				} else {
+				int day = dayBit(meetingDays.charAt(i));
+				// Unknown days and days listed twice are both invalid
+				if (day == 0 || (mask & day) != 0) {
 					throw new IllegalArgumentException("Invalid meeting days and times.");
 				}
-			}
-
-			if (countMonday > 1 || countTuesday > 1 || countWednesday > 1 || countThursday > 1 || countFriday > 1) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
+				mask |= day;
 			}
 
 			int startHour = startTime / 100;
@@ -174,9 +187,33 @@ public abstract class Activity implements Conflict {
 			}
 
 		}
-		this.meetingDays = meetingDays;
+		this.meetingDays = StringPool.canonical(meetingDays);
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.dayMask = mask;
+	}
+
+	/**
+	 * Returns the bit for the given meeting day.
+	 * 
+	 * @param day one of 'M', 'T', 'W', 'H', or 'F'
+	 * @return the day's bit, or 0 if the character isn't a meeting day
+	 */
+	private static int dayBit(char day) {
+		switch (day) {
+		case 'M':
+			return 1;
+		case 'T':
+			return 1 << 1;
+		case 'W':
+			return 1 << 2;
+		case 'H':
+			return 1 << 3;
+		case 'F':
+			return 1 << 4;
+		default:
+			return 0;
+		}
 	}
 
 	/**
@@ -185,6 +222,19 @@ public abstract class Activity implements Conflict {
 	 * @return Course's meeting days and times.
 	 */
 	public String getMeetingString() {
+		return getMeetingString(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Returns a string representation of the given meeting days and times, the
+	 * same way getMeetingString() represents an Activity's.
+	 * 
+	 * @param meetingDays the meeting days, or "A" for arranged
+	 * @param startTime   the start time in military time
+	 * @param endTime     the end time in military time
+	 * @return the meeting days and times
+	 */
+	public static String getMeetingString(String meetingDays, int startTime, int endTime) {
 		if ("A".equals(meetingDays)) {
 			return "Arranged";
 		}
@@ -192,13 +242,28 @@ public abstract class Activity implements Conflict {
 		return meetingDays + " " + getTimeString(startTime) + "-" + getTimeString(endTime);
 	}
 
+	/**
+	 * Returns the days in the given meeting days as bits, one per weekday, as
+	 * conflictsWith() compares them. Arranged meetings have no days.
+	 * 
+	 * @param meetingDays the meeting days
+	 * @return the bits of the days in the meeting days
+	 */
+	public static int getDayMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			mask |= dayBit(meetingDays.charAt(i));
+		}
+		return mask;
+	}
+
 	/**
 	 * Returns the time in AM/PM format.
 	 * 
 	 * @param time as an integer
 	 * @return time as a string
 	 */
-	private String getTimeString(int time) {
+	private static String getTimeString(int time) {
 		int hour = time / 100;
 		int min = time % 100;
 		boolean morning = true;
@@ -291,6 +356,20 @@ public abstract class Activity implements Conflict {
 	 */
 	public abstract boolean isDuplicate(Activity activity);
 
+	/**
+	 * Returns true if this activity and the given one meet on a common day at
+	 * overlapping times. Times are inclusive, so an activity that starts the minute
+	 * another ends conflicts with it. Arranged activities never conflict.
+	 * 
+	 * @param possibleConflictingActivity the activity to check for a conflict
+	 * @return true if the activities conflict
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		return (dayMask & possibleConflictingActivity.dayMask) != 0
+				&& startTime <= possibleConflictingActivity.endTime
+				&& possibleConflictingActivity.startTime <= endTime;
+	}
+
 	 /**
      * Checks for a conflict between this activity and another. This method checks
      * if the two activities overlap in terms of meeting days and times.
@@ -300,45 +379,8 @@ public abstract class Activity implements Conflict {
      */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-
-		if (!("A".equals(this.meetingDays) && "A".equals(possibleConflictingActivity.getMeetingDays()))) {
-			for (int i = 0; i < this.meetingDays.length(); i++) {
-				if (i == possibleConflictingActivity.getMeetingDays().length()) {
-					break;
-				}
-				if (possibleConflictingActivity.getMeetingDays().contains("" + this.meetingDays.charAt(i))
-						|| this.meetingDays.contains("" + possibleConflictingActivity.getMeetingDays().charAt(i))) {
-
-					// Start time of both activities are same.
-					if (this.startTime == possibleConflictingActivity.getStartTime()) {
-						throw new ConflictException();
-					}
-
-					// One activity ends and immediately another activity starts
-					if (this.startTime == possibleConflictingActivity.getEndTime()) {
-						throw new ConflictException();
-					}
-
-					// One activity ends and immediately another activity starts
-					if (possibleConflictingActivity.getStartTime() == this.endTime) {
-						throw new ConflictException();
-					}
-
-					// Both activities ends at same time.
-					if (this.endTime == possibleConflictingActivity.getEndTime()) {
-						throw new ConflictException();
-					}
-
-					// If one activity starts while another activity is in progress.
-					if (this.startTime > possibleConflictingActivity.getStartTime()
-							&& this.startTime < possibleConflictingActivity.getEndTime()
-							|| possibleConflictingActivity.getStartTime() > this.startTime
-									&& possibleConflictingActivity.getStartTime() < this.endTime) {
-						throw new ConflictException();
-					}
-
-				}
-			}
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
 		}
 	}
 
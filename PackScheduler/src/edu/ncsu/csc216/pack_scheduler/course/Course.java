@@ -5,6 +5,7 @@ import java.util.Objects;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
 import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionException;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
 
 /**
  * Creates the Course object and checks that all fields are valid. A Course
@@ -104,6 +105,42 @@ public class Course extends Activity implements Comparable<Course> {
 		this(name, title, section, credits, instructorId, enrollmentCap, meetingDays, 0, 0);
 	}
 
+	/**
+	 * Constructs a Course with no fields set, for restore().
+	 */
+	private Course() {
+		super();
+	}
+
+	/**
+	 * Returns a Course with the given fields, without checking them. This is only
+	 * for Courses restored from a snapshot, which were valid when it was saved and
+	 * whose checksum has been verified; Courses read from anywhere else must be
+	 * made with a constructor.
+	 * 
+	 * @param name          name of Course
+	 * @param title         title of Course
+	 * @param section       section of Course
+	 * @param credits       credit hours for Course
+	 * @param instructorId  instructor's unity id, or null
+	 * @param enrollmentCap maximum number of students that could be enrolled
+	 * @param meetingDays   meeting days for Course as series of chars
+	 * @param startTime     start time for Course
+	 * @param endTime       end time for Course
+	 * @return the restored Course, with an empty roll
+	 */
+	public static Course restore(String name, String title, String section, int credits, String instructorId,
+			int enrollmentCap, String meetingDays, int startTime, int endTime) {
+		Course c = new Course();
+		c.restoreActivity(title, meetingDays, startTime, endTime);
+		c.name = StringPool.canonical(name);
+		c.section = section;
+		c.credits = credits;
+		c.instructorId = StringPool.canonical(instructorId);
+		c.setCourseRoll(enrollmentCap);
+		return c;
+	}
+
 	/**
 	 * Returns the Course's name
 	 * 
@@ -124,7 +161,7 @@ public class Course extends Activity implements Comparable<Course> {
 	 */
 	private void setName(String name) {
 
-		CourseNameValidator validator = new CourseNameValidator();
+		CourseNameValidator validator = CourseNameValidator.getInstance();
 
 		if (name == null) {
 			throw new IllegalArgumentException("Invalid course name.");
@@ -135,7 +172,7 @@ public class Course extends Activity implements Comparable<Course> {
 
 		try {
 			if (validator.isValid(name)) {
-				this.name = name;
+				this.name = StringPool.canonical(name);
 			} else {
 				throw new IllegalArgumentException("Invalid course name.");
 			}
@@ -216,7 +253,7 @@ public class Course extends Activity implements Comparable<Course> {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 
-		this.instructorId = instructorId;
+		this.instructorId = StringPool.canonical(instructorId);
 	}
 
 	/**
@@ -279,7 +316,7 @@ public class Course extends Activity implements Comparable<Course> {
 				}
 			}
 		}
-		this.meetingDays = meetingDays;
+		this.meetingDays = StringPool.canonical(meetingDays);
 		this.startTime = startTime;
 		this.endTime = endTime;
 	}
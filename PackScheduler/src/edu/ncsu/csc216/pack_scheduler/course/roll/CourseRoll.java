@@ -1,14 +1,34 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
 /**
  * the CourseRoll class
  * 
+ * Every method that reads or changes the roll or waitlist synchronizes on the
+ * roll, so each course is locked on its own. Promoting a student off the waitlist
+ * updates their schedule while the roll is locked, so code that locks a roll and a
+ * schedule together locks the roll first, and doesn't hold any schedule while
+ * dropping a student or releasing a seat, since the promoted student's schedule is
+ * locked then.
+ * 
+ * Open seats are counted separately with compare-and-set, so seats can be reserved,
+ * and the number of open seats read, without taking the roll's lock. A reserved seat
+ * is either confirmed for a student or released. A released seat goes to the
+ * student at the front of the waitlist, if there is one, so a seat is never open
+ * while a student is waiting for it. A waitlisted student who can no longer take
+ * the course, because of a schedule conflict for example, is taken off the
+ * waitlist and the seat goes to the next one.
+ * 
+ * The roll and waitlist are keyed by student id in enrollment order, so enrolling,
+ * dropping, and checking whether a student is on either one take constant time.
+ * 
  * @author Suyash Patel
  */
 public class CourseRoll {
@@ -23,13 +43,19 @@ public class CourseRoll {
 	private static final int WAITLIST_CAPACITY = 10;
 
 	/** Enrollment capacity for the roll */
-	private int enrollmentCap;
+	private volatile int enrollmentCap;
+
+	/** Seats that are neither filled nor reserved */
+	private final AtomicInteger openSeats = new AtomicInteger();
 
-	/** List of students in the course */
-	private LinkedAbstractList<Student> roll;
+	/** Number of students on the waitlist, readable without the lock */
+	private volatile int numberOnWaitlist;
 
-	/** Queue of students */
-	private LinkedQueue<Student> waitlist;
+	/** Students in the course in the order they enrolled, keyed by id */
+	private LinkedHashMap<String, Student> roll;
+
+	/** Students waiting for a seat in the order they joined the waitlist, keyed by id */
+	private LinkedHashMap<String, Student> waitlist;
 
 	/** Private Course course */
 	private Course course;
@@ -47,10 +73,8 @@ public class CourseRoll {
 			throw new IllegalArgumentException("Course is null");
 		}
 		this.course = course;
-		roll = new LinkedAbstractList<>(enrollmentCap);
-		//waitlist = new ArrayQueue<>(WAITLIST_CAPACITY);
-		
-		waitlist = new LinkedQueue<>(WAITLIST_CAPACITY);
+		roll = new LinkedHashMap<String, Student>();
+		waitlist = new LinkedHashMap<String, Student>();
 		setEnrollmentCap(enrollmentCap);
 	}
 
@@ -70,18 +94,98 @@ public class CourseRoll {
 	 * @throws IllegalArgumentException if the enrollment capacity is less than
 	 *                                  MIN_ENROLLMENT, greater than MAX_ENROLLMENT,
 	 *                                  or less than the current number of enrolled
-	 *                                  students
+	 *                                  and reserved seats
 	 */
-	public void setEnrollmentCap(int enrollmentCap) {
+	public synchronized void setEnrollmentCap(int enrollmentCap) {
 		if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT || enrollmentCap < roll.size()) {
 			throw new IllegalArgumentException("Invalid enrollment capacity.");
 		}
+		// Shift the open seats by the change in capacity, unless that would take
+		// away seats that were reserved in the meantime
+		int open;
+		int newOpen;
+		do {
+			open = openSeats.get();
+			newOpen = open + enrollmentCap - this.enrollmentCap;
+			if (newOpen < 0) {
+				throw new IllegalArgumentException("Invalid enrollment capacity.");
+			}
+		} while (!openSeats.compareAndSet(open, newOpen));
 		this.enrollmentCap = enrollmentCap;
-		roll.setCapacity(enrollmentCap);
 	}
 
 	/**
-	 * Enrolls the given student in the roll if there is room.
+	 * Reserves an open seat without locking the roll. The seat must later be
+	 * confirmed for a student with confirmSeat() or given back with releaseSeat().
+	 * 
+	 * @return true if a seat was reserved, false if there are no open seats
+	 */
+	public boolean reserveSeat() {
+		int open = openSeats.get();
+		while (open > 0) {
+			if (openSeats.compareAndSet(open, open - 1)) {
+				return true;
+			}
+			open = openSeats.get();
+		}
+		return false;
+	}
+
+	/**
+	 * Gives back a seat reserved with reserveSeat() that won't be confirmed. If
+	 * there are students on the waitlist, the seat goes to the first one who can
+	 * take the course rather than opening up.
+	 * 
+	 * @return the student given the seat from the waitlist, or null if no one was
+	 * @throws IllegalArgumentException if no seat is reserved
+	 */
+	public synchronized Student releaseSeat() {
+		// Seats can be reserved without the lock, so this can only grow while it's held
+		if (enrollmentCap - roll.size() - openSeats.get() <= 0) {
+			throw new IllegalArgumentException("No seat is reserved.");
+		}
+		return fillSeat();
+	}
+
+	/**
+	 * Fills a seat reserved with reserveSeat() with the given student. If the
+	 * student can't be added, the seat stays reserved and the caller should
+	 * release it.
+	 * 
+	 * @param student the student to enroll in the reserved seat
+	 * @throws IllegalArgumentException if the student is null, already enrolled,
+	 *                                  or on the waitlist
+	 */
+	public synchronized void confirmSeat(Student student) {
+		if (student == null) {
+			throw new IllegalArgumentException("Cannot enroll null student.");
+		}
+		if (roll.containsKey(student.getId())) {
+			throw new IllegalArgumentException("Student is already enrolled.");
+		}
+		if (waitlist.containsKey(student.getId())) {
+			throw new IllegalArgumentException("Student is already on the waitlist.");
+		}
+		if (roll.size() >= enrollmentCap) {
+			throw new IllegalArgumentException("Cannot enroll student; roll is full.");
+		}
+		roll.put(student.getId(), student);
+	}
+
+	/**
+	 * Returns true if there are no open seats and the waitlist is full. The check
+	 * doesn't lock the roll, so it can be used to turn students away quickly.
+	 * 
+	 * @return true if no more students can enroll
+	 */
+	public boolean isFull() {
+		return openSeats.get() == 0 && numberOnWaitlist >= WAITLIST_CAPACITY;
+	}
+
+	/**
+	 * Enrolls the given student in the roll if there is room, or adds them to the
+	 * waitlist if there isn't. A seat is reserved before the roll is locked, so
+	 * students enrolling at once only wait on each other to confirm their seats.
 	 * 
 	 * @param student the student to enroll
 	 * @throws IllegalArgumentException if the student is null, there is no room in
@@ -89,132 +193,116 @@ public class CourseRoll {
 	 *                                  enrolled
 	 */
 	public void enroll(Student student) {
-//		if (student == null) {
-//			throw new IllegalArgumentException("Cannot enroll null student.");
-//		}
-//		if (!canEnroll(student)) {
-//			throw new IllegalArgumentException("Cannot enroll student.");
-//		}
-//		try {
-//			roll.add(roll.size(), student);
-//		} catch (IllegalArgumentException e) {
-//			throw new IllegalArgumentException("Error enrolling student.", e);
-//		}
 		if (student == null) {
 			throw new IllegalArgumentException("Cannot enroll null student.");
 		}
-		if (roll.size() < enrollmentCap) {
-			roll.add(roll.size(), student);
+		if (reserveSeat()) {
+			try {
+				confirmSeat(student);
+			} catch (IllegalArgumentException e) {
+				releaseSeat();
+				throw e;
+			}
+			return;
+		}
+		waitlist(student);
+	}
+
+	/**
+	 * Adds the given student to the waitlist, or to the roll if a seat has opened
+	 * since enroll() tried to reserve one.
+	 * 
+	 * @param student the student to waitlist
+	 * @throws IllegalArgumentException if the waitlist is full, or the student is
+	 *                                  already enrolled or on the waitlist
+	 */
+	private synchronized void waitlist(Student student) {
+		if (roll.containsKey(student.getId())) {
+			throw new IllegalArgumentException("Student is already enrolled.");
+		}
+		if (waitlist.containsKey(student.getId())) {
+			throw new IllegalArgumentException("Student is already on the waitlist.");
+		}
+		if (reserveSeat()) {
+			// The seat is reserved and the student isn't enrolled or waiting, so this can't fail
+			confirmSeat(student);
 		} else if (waitlist.size() < WAITLIST_CAPACITY) {
-			waitlist.enqueue(student);
+			waitlist.put(student.getId(), student);
+			numberOnWaitlist = waitlist.size();
 		} else {
 			throw new IllegalArgumentException("Cannot enroll student; roll and waitlist are full.");
 		}
 	}
 
 	/**
-	 * Drops the given student from the roll.
+	 * Drops the given student from the roll. If the student was enrolled, their
+	 * seat goes to the first student on the waitlist who can take the course, and
+	 * the course is added to that student's schedule if it isn't already on it.
 	 * 
 	 * @param student the student to drop
-	 * @throws IllegalArgumentException if the student is null or not enrolled
+	 * @return the student given the seat from the waitlist, or null if no one was
+	 * @throws IllegalArgumentException if the student is null
 	 */
-	public void drop(Student student) {
-//		int index = -1;
-//		for (int i = 0; i < roll.size(); i++) {
-//			if (roll.get(i).equals(student)) {
-//				index = i;
-//				break;
-//			}
-//		}
-//		if (index != -1) {
-//			roll.remove(index);
-//			if (!waitlist.isEmpty()) {
-//				Student nextStudent = waitlist.dequeue();
-//				roll.add(roll.size(), nextStudent);
-//			}
-//		} else {
-//			ArrayQueue<Student> tempQueue = new ArrayQueue<>(WAITLIST_CAPACITY);
-//			boolean found = false;
-//
-//			while (!waitlist.isEmpty()) {
-//				Student s = waitlist.dequeue();
-//				if (!s.equals(student) || found) {
-//					tempQueue.enqueue(s);
-//				} else {
-//					found = true;
-//				}
-//			}
-//
-//			waitlist = tempQueue;
-//
-//			if (!found) {
-//				throw new IllegalArgumentException("Student not found in the waitlist.");
-//			}
-//		}
-		
-		
+	public synchronized Student drop(Student student) {
 		if(student == null) {
 			throw new IllegalArgumentException();
 		}
 		
-		int index = -1;
-		
-		//Checks if the student is in the roll or no, by iterating through the roll. If the student is found,
-		//Variable index will be the index of that student in roll, else the student doesn't exist in the roll.
-		for(int i = 0; i < roll.size(); i++) {
-			
-			if(roll.get(i).equals(student)) {
-				index = i;
-				break;
-			}
-		}
-		
-		if(index != -1) {
-			roll.remove(index);
-			if(!waitlist.isEmpty()) {
-				Student waitlistedStudent = waitlist.dequeue();
-				roll.add(waitlistedStudent);
-				waitlistedStudent.getSchedule().addCourseToSchedule(course);
-				
-			}
-			return;
+		if(roll.remove(student.getId()) != null) {
+			//The seat goes straight to a waitlisted student, so it never opens up while one is waiting
+			return fillSeat();
 		}
 		
-		LinkedQueue<Student> tempQueue = new LinkedQueue<>(WAITLIST_CAPACITY);
-//		int waitlistSize = waitlist.size();
-//		boolean stxudentDoesnotExist = false;
-		if(index == -1) {
-			while(!waitlist.isEmpty()) {
-				Student waitlistStudent = waitlist.dequeue();
-				if(!waitlistStudent.equals(student)) {
-					tempQueue.enqueue(waitlistStudent);
+		//Students who aren't enrolled are taken off the waitlist, if they're on it
+		waitlist.remove(student.getId());
+		numberOnWaitlist = waitlist.size();
+		return null;
+	}
+
+	/**
+	 * Gives a seat that isn't open or reserved to the first student on the
+	 * waitlist who can take the course, adding the course to their schedule if it
+	 * isn't already on it. Students in front of them whose schedules the course
+	 * can't be added to are taken off the waitlist. If no one on the waitlist can
+	 * take the seat, it opens up. The caller must hold the roll's lock.
+	 * 
+	 * @return the promoted student, or null if the seat opened up
+	 */
+	private Student fillSeat() {
+		Iterator<Student> front = waitlist.values().iterator();
+		try {
+			while (front.hasNext()) {
+				Student waitlistedStudent = front.next();
+				front.remove();
+				Schedule schedule = waitlistedStudent.getSchedule();
+				try {
+					synchronized (schedule) {
+						//Students waitlisted by the registration manager already have the course on their schedule
+						if (!schedule.hasCourse(course)) {
+							schedule.addCourseToSchedule(course);
+						}
+					}
+				} catch (IllegalArgumentException e) {
+					//The course conflicts with their schedule now, so they can't wait for it any more
+					continue;
 				}
+				roll.put(waitlistedStudent.getId(), waitlistedStudent);
+				return waitlistedStudent;
 			}
-			
-//			if(waitlistSize == tempQueue.size()) {
-//				studentDoesnotExist = true;
-//			}
-			
-			while(!tempQueue.isEmpty()) {
-				Student tempListStudent = tempQueue.dequeue();
-				waitlist.enqueue(tempListStudent);
-			}
-			
+			openSeats.incrementAndGet();
+			return null;
+		} finally {
+			numberOnWaitlist = waitlist.size();
 		}
-		
-//		if(studentDoesnotExist) {
-//			throw new IllegalArgumentException();
-//		}
-		
 	}
 
 	/**
-	 * Returns the number of open seats in the roll.
+	 * Returns the number of open seats in the roll. Reserved seats aren't open.
 	 * 
 	 * @return the number of open seats
 	 */
 	public int getOpenSeats() {
-		return enrollmentCap - roll.size();
+		return openSeats.get();
 	}
 
 	/**
@@ -223,26 +311,64 @@ public class CourseRoll {
 	 * @param student the student to check
 	 * @return true if the student can enroll, false otherwise
 	 */
-	public boolean canEnroll(Student student) {
+	public synchronized boolean canEnroll(Student student) {
 		if (student == null) {
 			return false;
 		}
 
-		for (int i = 0; i < roll.size(); i++) {
-			if (roll.get(i).equals(student)) {
-				return false;
-			}
+		if (roll.containsKey(student.getId()) || waitlist.containsKey(student.getId())) {
+			return false;
 		}
 
-		for (int i = 0; i < waitlist.size(); i++) {
-			Student s = waitlist.dequeue();
-			waitlist.enqueue(s);
-			if (s.equals(student)) {
-				return false;
+		return getOpenSeats() > 0 || waitlist.size() < WAITLIST_CAPACITY;
+	}
+
+	/**
+	 * Returns the students enrolled in the course, in the order they enrolled.
+	 * 
+	 * @return the enrolled students
+	 */
+	public synchronized Student[] getEnrolledStudents() {
+		return roll.values().toArray(new Student[roll.size()]);
+	}
+
+	/**
+	 * Returns the students on the waitlist, with the next student to get a seat first.
+	 * 
+	 * @return the waitlisted students
+	 */
+	public synchronized Student[] getWaitlistedStudents() {
+		return waitlist.values().toArray(new Student[waitlist.size()]);
+	}
+
+	/**
+	 * Replaces the roll and waitlist with the given students, such as ones saved
+	 * in a snapshot. Students' schedules aren't changed. Any reserved seats that
+	 * haven't been confirmed are released.
+	 * 
+	 * @param enrolled the students enrolled in the course, in the order they enrolled
+	 * @param waitlisted the students on the waitlist, in the order they joined it
+	 * @throws IllegalArgumentException if there are more students than the roll or
+	 *                                  waitlist can hold, or a student is listed twice
+	 */
+	public synchronized void restoreRoll(Student[] enrolled, Student[] waitlisted) {
+		if (enrolled.length > enrollmentCap || waitlisted.length > WAITLIST_CAPACITY) {
+			throw new IllegalArgumentException("Invalid roll.");
+		}
+		roll.clear();
+		waitlist.clear();
+		for (Student s : enrolled) {
+			if (roll.put(s.getId(), s) != null) {
+				throw new IllegalArgumentException("Invalid roll.");
 			}
 		}
-
-		return getOpenSeats() > 0 || waitlist.size() < WAITLIST_CAPACITY;
+		for (Student s : waitlisted) {
+			if (waitlist.put(s.getId(), s) != null) {
+				throw new IllegalArgumentException("Invalid roll.");
+			}
+		}
+		openSeats.set(enrollmentCap - roll.size());
+		numberOnWaitlist = waitlist.size();
 	}
 
 	/**
@@ -251,7 +377,7 @@ public class CourseRoll {
 	 * @return the size of the waitlist.
 	 */
 	public int getNumberOnWaitlist() {
-		return waitlist.size();
+		return numberOnWaitlist;
 	}
 
 }
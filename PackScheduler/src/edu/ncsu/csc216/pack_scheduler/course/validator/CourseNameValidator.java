@@ -6,245 +6,120 @@ package edu.ncsu.csc216.pack_scheduler.course.validator;
  * - Start with 1 to 4 letters
  * - Be followed by exactly 3 digits
  * - Optionally have a 1 letter suffix
- * 
+ *
  * This class uses a Finite State Machine (FSM) approach to validate course names.
- * It defines several states (InitialState, LetterState, NumberState, SuffixState),
- * and transitions between these states as each character of the course name is processed.
- * 
+ * The states (initial, one to four letters, one to three digits, and suffix) and
+ * the transitions between them are compiled into a table indexed by state and
+ * character class (letter, digit, or anything else), so checking a name is one
+ * table lookup per character. A failed transition names the message for the rule
+ * the course name breaks.
+ *
+ * The validator holds no state between calls, so one instance, from getInstance(),
+ * can be shared by every Course and every thread, and checking a valid name
+ * doesn't allocate anything.
+ *
  * InvalidTransitionException is thrown when the course name violates the rules.
- * 
+ *
  * The valid course name length should be between 4 and 8 characters.
- * 
+ *
  * @author Suyash Patel
  */
 public class CourseNameValidator {
-	
-//	/** Minimum length for a valid course name */
-//	private static final int MIN_COURSE_NAME_LENGTH = 4;
-//	
-//	/** Maximum length for a valid course name */
-//	private static final int MAX_COURSE_NAME_LENGTH = 8;
 
-	/** Indicates if the final state is a valid end state */
-	private boolean validEndState;
-
-	/** Count of letters in the course name */
-	private int letterCount;
-
-	/** Count of digits in the course name */
-	private int digitCount;
-
-	/** The current state in the FSM */
-	private State currentState;
+	/** Validator shared by every caller */
+	private static final CourseNameValidator INSTANCE = new CourseNameValidator();
+
+	/** Character class of a letter */
+	private static final int LETTER = 0;
+
+	/** Character class of a digit */
+	private static final int DIGIT = 1;
+
+	/** Character class of anything that isn't a letter or digit */
+	private static final int OTHER = 2;
+
+	/** Number of character classes */
+	private static final int CLASSES = 3;
+
+	/** State before any character is examined */
+	private static final int STATE_INITIAL = 0;
+
+	/** State after three digits, where the name may end */
+	private static final int STATE_DDD = 7;
+
+	/** State after the suffix letter, where the name may end */
+	private static final int STATE_SUFFIX = 8;
+
+	/** Messages for failed transitions; a transition to -1 - i fails with message i */
+	private static final String[] MESSAGES = {
+		"Course name can only contain letters and digits.",
+		"Course name must start with a letter.",
+		"Course name cannot start with more than 4 letters.",
+		"Course name must have 3 digits.",
+		"Course name can only have 3 digits.",
+		"Course name can only have a 1 letter suffix.",
+		"Course name cannot contain digits after the suffix."
+	};
+
+	/** Next state for each state and character class, indexed by state * CLASSES + class */
+	private static final int[] TRANSITIONS = {
+		// letter, digit, other
+		1, -2, -1,    // initial
+		2, 5, -1,     // L
+		3, 5, -1,     // LL
+		4, 5, -1,     // LLL
+		-3, 5, -1,    // LLLL
+		-4, 6, -1,    // D
+		-4, 7, -1,    // DD
+		8, -5, -1,    // DDD
+		-6, -7, -1    // suffix
+	};
 
 	/**
-     * Constructs a new CourseNameValidator with the initial state.
+     * Constructs a new CourseNameValidator.  The validator holds no state, so
+     * getInstance() can be used instead.
      */
 	public CourseNameValidator() {
-		currentState = new InitialState();
+		// Nothing to set up; the transitions are shared
+	}
+
+	/**
+	 * Returns the validator shared by every caller.
+	 *
+	 * @return the shared validator
+	 */
+	public static CourseNameValidator getInstance() {
+		return INSTANCE;
 	}
 
 	/**
      * Checks if the provided course name is valid based on the FSM rules.
-     * 
+     *
      * @param courseName the name of the course to validate
-     * @return true if the course name is valid, false otherwise
+     * @return true if the course name is valid
      * @throws InvalidTransitionException if the course name violates the rules
-     * @throws IllegalArgumentException if the course name is null or has an invalid length
+     * @throws IllegalArgumentException if the course name is null or empty
      */
 	public boolean isValid(String courseName) throws InvalidTransitionException {
 
 		if (courseName == null || "".equals(courseName)) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
-		
-//		if(courseName.length() < MIN_COURSE_NAME_LENGTH || courseName.length() > MAX_COURSE_NAME_LENGTH) {
-//			throw new IllegalArgumentException("Invalid course name.");
-//		}
-		
-		letterCount = 0;
-		digitCount = 0;
-		validEndState = false;
-		currentState = new InitialState();
 
+		int state = STATE_INITIAL;
 		for (int i = 0; i < courseName.length(); i++) {
 			char c = courseName.charAt(i);
-			if (Character.isLetter(c)) {
-				currentState.onLetter();
-			} else if (Character.isDigit(c)) {
-				currentState.onDigit();
-			} else {
-				currentState.onOther();
-			}
-		}
-		
-		if(digitCount != 3) {
-			throw new InvalidTransitionException();
-		}
-
-		return validEndState;
-	}
-
-	/**
-     * Represents the initial state where the course name must start with a letter.
-     */
-	public class InitialState extends State {
-
-		 /**
-         * Handles a letter input in the initial state.
-         */
-		@Override
-		public void onLetter() {
-			currentState = new LetterState();
-			letterCount++;
-		}
-
-		 /**
-         * Handles a digit input in the initial state.
-         * Throws an exception because the course name must start with a letter.
-         * 
-         * @throws InvalidTransitionException when a digit is the first character
-         */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name must start with a letter.");
-		}
-
-	}
-
-	/**
-     * Represents the state where letters are being processed.
-     */
-	public class LetterState extends State {
-		
-		/** Maximum number of letters allowed at the start of the course name */
-		public static final int MAX_PREFIX_LETTERS = 4;
-
-		/**
-         * Handles a letter input when in the LetterState.
-         * 
-         * @throws InvalidTransitionException if there are more than 4 letters at the start
-         */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			if (letterCount >= MAX_PREFIX_LETTERS) {
-				throw new InvalidTransitionException("Course name cannot start with more than 4 letters.");
+			int charClass = Character.isLetter(c) ? LETTER : Character.isDigit(c) ? DIGIT : OTHER;
+			state = TRANSITIONS[state * CLASSES + charClass];
+			if (state < 0) {
+				throw new InvalidTransitionException(MESSAGES[-1 - state]);
 			}
-			letterCount++;
 		}
 
-		/**
-         * Handles a digit input, transitioning to the NumberState.
-         */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			
-			currentState = new NumberState();
-			digitCount++;
-		}
-	}
-
-	/**
-     * Represents the state where digits are being processed.
-     */
-	public class NumberState extends State {
-
-		/** The exact number of digits required in a valid course name */
-		private static final int COURSE_NUMBER_LENGTH = 3;
-
-		/**
-         * Handles a letter input, transitioning to the SuffixState if the correct number
-         * of digits have been processed.
-         * 
-         * @throws InvalidTransitionException if the course name doesn't have exactly 3 digits
-         */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			if (digitCount == COURSE_NUMBER_LENGTH) {
-				currentState = new SuffixState();
-			} else {
-				throw new InvalidTransitionException("Course name must have 3 digits.");
-			}
-		}
-
-		
-		 /**
-         * Handles a digit input when in the NumberState.
-         * 
-         * @throws InvalidTransitionException if there are more than 3 digits
-         */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			if (digitCount >= COURSE_NUMBER_LENGTH) {
-				throw new InvalidTransitionException("Course name can only have 3 digits.");
-			}
-			digitCount++;
-			if (digitCount == COURSE_NUMBER_LENGTH) {
-				validEndState = true;
-			}
-
-		}
-
-	}
-
-	/**
-     * Represents the state where the optional suffix (a single letter) is being processed.
-     */
-	public class SuffixState extends State {
-
-		
-		/**
-         * Handles a letter input, which is invalid in this state because only one letter is allowed.
-         * 
-         * @throws InvalidTransitionException if more than one letter suffix is present
-         */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name can only have a 1 letter suffix.");
-
-		}
-
-		/**
-         * Handles a digit input, which is invalid after the suffix.
-         * 
-         * @throws InvalidTransitionException if a digit is found after the suffix
-         */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name cannot contain digits after the suffix.");
-		}
-
-	}
-
-	/**
-     * An abstract class that defines the basic structure of a state in the FSM.
-     * Each state must handle letter and digit inputs, and may throw exceptions for invalid transitions.
-     */
-	public abstract class State {
-
-		/**
-         * Handles a letter input.
-         * 
-         * @throws InvalidTransitionException if the transition is not valid
-         */
-		public abstract void onLetter() throws InvalidTransitionException;
-
-		/**
-         * Handles a digit input.
-         * 
-         * @throws InvalidTransitionException if the transition is not valid
-         */
-		public abstract void onDigit() throws InvalidTransitionException;
-
-		/**
-         * Handles any non-letter or non-digit input, which is always invalid.
-         * 
-         * @throws InvalidTransitionException when an invalid character is found
-         */
-		public void onOther() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name can only contain letters and digits.");
+		if (state != STATE_DDD && state != STATE_SUFFIX) {
+			throw new InvalidTransitionException();
 		}
-
+		return true;
 	}
 
 }
@@ -6,6 +6,9 @@ import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
@@ -27,6 +30,9 @@ public class FacultyDirectory {
 	/** The list of Faculty members in the directory */
     private LinkedList<Faculty> facultyDirectory;
     
+    /** Index of the Faculty members in the directory, keyed by id */
+    private HashMap<String, Faculty> facultyIndex;
+    
     /** The hash algorithm used for password encryption */
     private static final String HASH_ALGORITHM = "SHA-256";
 	
@@ -60,6 +66,7 @@ public class FacultyDirectory {
 	 */
 	public void newFacultyDirectory() {
 		facultyDirectory = new LinkedList<Faculty>();
+		facultyIndex = new HashMap<String, Faculty>();
 	}
 	
 	/**
@@ -74,6 +81,55 @@ public class FacultyDirectory {
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		
+		// The reader already skips faculty with an id read earlier
+		facultyIndex = new HashMap<String, Faculty>();
+		for (Faculty f : facultyDirectory) {
+			facultyIndex.put(f.getId(), f);
+		}
+	}
+	
+	/**
+	 * Replaces the directory with the given faculty, such as ones read from a
+	 * snapshot.  The faculty's passwords must already be hashed.  A faculty
+	 * member with the same id as one earlier in the array is skipped.
+	 * @param faculty faculty to put in the directory
+	 */
+	public void loadFaculty(Faculty[] faculty) {
+		facultyDirectory = new LinkedList<Faculty>();
+		facultyIndex = new HashMap<String, Faculty>();
+		for (Faculty f : faculty) {
+			if (facultyIndex.putIfAbsent(f.getId(), f) == null) {
+				facultyDirectory.add(f);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the faculty in the directory, in the order they were added.
+	 * @return faculty in the directory
+	 */
+	public Faculty[] getFaculty() {
+		return facultyDirectory.toArray(new Faculty[facultyDirectory.size()]);
+	}
+	
+	/**
+	 * Performs the given action on each faculty member in the directory, in the
+	 * order they were added.  The directory is a linked list, so use this, or
+	 * streamFaculty(), rather than looking the faculty up one index at a time.
+	 * @param action the action to perform on each faculty member
+	 */
+	public void forEachFaculty(Consumer<? super Faculty> action) {
+		facultyDirectory.forEach(action);
+	}
+	
+	/**
+	 * Returns a sequential stream of the faculty in the directory, in the order
+	 * they were added.
+	 * @return a stream of the faculty in the directory
+	 */
+	public Stream<Faculty> streamFaculty() {
+		return facultyDirectory.stream();
 	}
 	
 	/**
@@ -112,13 +168,12 @@ public class FacultyDirectory {
 		faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourse);
 
 		
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty s = facultyDirectory.get(i);
-			if (s.getId().equals(faculty.getId())) {
-				return false;
-			}
+		if (facultyIndex.containsKey(faculty.getId())) {
+			return false;
 		}
-		return facultyDirectory.add(faculty);
+		facultyDirectory.add(faculty);
+		facultyIndex.put(faculty.getId(), faculty);
+		return true;
 	}
 	
 	/**
@@ -128,14 +183,11 @@ public class FacultyDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeFaculty(String facultyId) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty f = facultyDirectory.get(i);
-			if (f.getId().equals(facultyId)) {
-				facultyDirectory.remove(i);
-				return true;
-			}
+		Faculty f = facultyIndex.remove(facultyId);
+		if (f == null) {
+			return false;
 		}
-		return false;
+		return facultyDirectory.remove(f);
 	}
 	
 	
@@ -144,19 +196,14 @@ public class FacultyDirectory {
 	 * @return String array containing faculties first name, last name, and id.
 	 */
 	public String[][] getFacultyDirectory() {
-		String [][] directory = new String[facultyDirectory.size()][3];
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty f = facultyDirectory.get(i);
-			directory[i][0] = f.getFirstName();
-			directory[i][1] = f.getLastName();
-			directory[i][2] = f.getId();
-		}
-		return directory;
+		return streamFaculty()
+				.map(f -> new String[] {f.getFirstName(), f.getLastName(), f.getId()})
+				.toArray(String[][]::new);
 	}
 	
 	/**
 	 * Retrieves a Faculty from the faculty directory by their ID.
-	 * Iterates through the faculty directory to find a student whose ID matches the provided ID.
+	 * Looks the ID up in the directory's index of faculty.
 	 * If a match is found, the faculty is returned. If no match is found, null is returned.
 	 * 
 	 * @param id the ID of the student to be retrieved
@@ -164,13 +211,7 @@ public class FacultyDirectory {
 	 */
 	
 	public Faculty getFacultyById(String id) {
-		for(int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty currentFaculty = facultyDirectory.get(i);
-			if(currentFaculty.getId().equals(id)) {
-				return currentFaculty;
-			}
-		}
-		return null;
+		return facultyIndex.get(id);
 	}
 	
 	/**
@@ -5,10 +5,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -18,8 +24,10 @@ import edu.ncsu.csc217.collections.list.SortedList;
  */
 public class StudentDirectory {
 	
-	/** List of students in the directory */
-	private SortedList<Student> studentDirectory;
+	/** Students in the directory, in sorted order */
+	private SkipList<Student> studentDirectory;
+	/** Index of the students in the directory, keyed by id */
+	private HashMap<String, Student> studentIndex;
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 	
@@ -35,7 +43,8 @@ public class StudentDirectory {
 	 * list are list unless saved by the user.
 	 */
 	public void newStudentDirectory() {
-		studentDirectory = new SortedList<Student>();
+		studentDirectory = new SkipList<Student>();
+		studentIndex = new HashMap<String, Student>();
 	}
 	
 	
@@ -46,11 +55,88 @@ public class StudentDirectory {
 	 * @param fileName file containing list of students
 	 */
 	public void loadStudentsFromFile(String fileName) {
+		SortedList<Student> students;
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			students = StudentRecordIO.readStudentRecords(fileName);
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		List<Student> sorted = new ArrayList<Student>(students.size());
+		for (int i = 0; i < students.size(); i++) {
+			sorted.add(students.get(i));
+		}
+		studentDirectory = SkipList.fromSorted(sorted);
+		
+		indexStudents();
+	}
+	
+	/**
+	 * Constructs the student directory by reading in student information
+	 * from the given file, parsing the file in parallel.  The directory is
+	 * the same as loadStudentsFromFile() would build.  Throws an
+	 * IllegalArgumentException if the file cannot be read.
+	 * @param fileName file containing list of students
+	 */
+	public void loadStudentsFromFileParallel(String fileName) {
+		try {
+			studentDirectory = StudentRecordIO.readStudentRecordsParallel(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		
+		indexStudents();
+	}
+	
+	/**
+	 * Replaces the directory with the given students, such as ones read from a
+	 * snapshot.  The students' passwords must already be hashed.  A student
+	 * with the same id as one earlier in the array is skipped.
+	 * @param students students to put in the directory
+	 */
+	public void loadStudents(Student[] students) {
+		studentDirectory = new SkipList<Student>();
+		studentIndex = new HashMap<String, Student>();
+		for (Student s : students) {
+			if (studentIndex.putIfAbsent(s.getId(), s) == null) {
+				studentDirectory.add(s);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the students in the directory, in sorted order.
+	 * @return students in the directory
+	 */
+	public Student[] getStudents() {
+		return streamStudents().toArray(Student[]::new);
+	}
+	
+	/**
+	 * Performs the given action on each student in the directory, in sorted
+	 * order.
+	 * @param action the action to perform on each student
+	 */
+	public void forEachStudent(Consumer<? super Student> action) {
+		for (Student s : studentDirectory) {
+			action.accept(s);
+		}
+	}
+	
+	/**
+	 * Returns a sequential stream of the students in the directory, in sorted order.
+	 * @return a stream of the students in the directory
+	 */
+	public Stream<Student> streamStudents() {
+		return studentDirectory.stream();
+	}
+	
+	/**
+	 * Rebuilds the index of students by id from the directory.  The readers
+	 * skip students with an id read earlier, so each id is in the directory once.
+	 */
+	private void indexStudents() {
+		studentIndex = new HashMap<String, Student>();
+		forEachStudent(s -> studentIndex.put(s.getId(), s));
 	}
 	
 	/**
@@ -91,13 +177,12 @@ public class StudentDirectory {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
 		
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
+		if (studentIndex.containsKey(student.getId())) {
+			return false;
 		}
-		return studentDirectory.add(student);
+		studentDirectory.add(student);
+		studentIndex.put(student.getId(), student);
+		return true;
 	}
 	
 	/**
@@ -124,14 +209,12 @@ public class StudentDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeStudent(String studentId) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
-			}
+		Student s = studentIndex.remove(studentId);
+		if (s == null) {
+			return false;
 		}
-		return false;
+		studentDirectory.remove(s);
+		return true;
 	}
 	
 	/**
@@ -139,20 +222,15 @@ public class StudentDirectory {
 	 * @return String array containing students first name, last name, and id.
 	 */
 	public String[][] getStudentDirectory() {
-		String [][] directory = new String[studentDirectory.size()][3];
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			directory[i][0] = s.getFirstName();
-			directory[i][1] = s.getLastName();
-			directory[i][2] = s.getId();
-		}
-		return directory;
+		return streamStudents()
+				.map(s -> new String[] {s.getFirstName(), s.getLastName(), s.getId()})
+				.toArray(String[][]::new);
 	}
 	
 	
 	/**
 	 * Retrieves a Student from the student directory by their ID.
-	 * Iterates through the student directory to find a student whose ID matches the provided ID.
+	 * Looks the ID up in the directory's index of students.
 	 * If a match is found, the student is returned. If no match is found, null is returned.
 	 * 
 	 * @param id the ID of the student to be retrieved
@@ -160,13 +238,7 @@ public class StudentDirectory {
 	 */
 	
 	public Student getStudentById(String id) {
-		for(int i = 0; i < studentDirectory.size(); i++) {
-			Student currentStudent = studentDirectory.get(i);
-			if(currentStudent.getId().equals(id)) {
-				return currentStudent;
-			}
-		}
-		return null;
+		return studentIndex.get(id);
 	}
 	
 	/**
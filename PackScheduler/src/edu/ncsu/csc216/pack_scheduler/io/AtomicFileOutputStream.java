@@ -0,0 +1,148 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes the bytes of a file so that the file is either completely replaced
+ * or left as it was. Bytes are written to a temporary file next to the file
+ * being saved, named "." followed by the file's name, a random number, and
+ * ".tmp", and commit() forces the temporary file to disk and renames it over
+ * the file. If the stream is closed without committing, the temporary file is
+ * deleted and the file being saved is untouched. If the program stops before
+ * the stream is committed or closed, the file being saved is still untouched,
+ * but the temporary file is left behind.
+ *
+ * The stream isn't buffered, so it's usually wrapped in a BufferedOutputStream.
+ *
+ * @author Priyanshu Dongre
+ */
+class AtomicFileOutputStream extends OutputStream {
+
+	/** File being saved */
+	private final File target;
+
+	/** Temporary file the bytes are written to */
+	private final File temp;
+
+	/** Stream to the temporary file */
+	private final FileOutputStream out;
+
+	/** True once the stream has been committed or closed */
+	private boolean finished;
+
+	/**
+	 * Constructs a stream that will replace the given file when committed.
+	 *
+	 * @param fileName file to save
+	 * @throws FileNotFoundException if a file can't be created next to the file
+	 *                               to save
+	 */
+	AtomicFileOutputStream(String fileName) throws FileNotFoundException {
+		target = new File(fileName);
+		temp = new File(target.getAbsoluteFile().getParentFile(),
+				"." + target.getName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		try {
+			out = new FileOutputStream(temp);
+		} catch (FileNotFoundException e) {
+			// Report the file being saved, not the temporary file
+			String message = e.getMessage() == null ? fileName : e.getMessage().replace(temp.getPath(), fileName);
+			throw new FileNotFoundException(message);
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		checkOpen();
+		out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		checkOpen();
+		out.write(b, off, len);
+	}
+
+	/**
+	 * Forces the temporary file to disk and renames it over the file being
+	 * saved. If this fails, the file being saved is left as it was.
+	 *
+	 * @throws IOException if the file can't be written or replaced
+	 * @throws IllegalStateException if the stream has been committed or closed
+	 */
+	void commit() throws IOException {
+		checkOpen();
+		finished = true;
+		try {
+			out.getChannel().force(true);
+			out.close();
+			try {
+				Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException | RuntimeException e) {
+			discard();
+			throw e;
+		}
+		forceDirectory();
+	}
+
+	/**
+	 * Closes the stream. If it hasn't been committed, the temporary file is
+	 * deleted and the file being saved is left as it was.
+	 */
+	@Override
+	public void close() {
+		if (!finished) {
+			finished = true;
+			discard();
+		}
+	}
+
+	/**
+	 * Checks that the stream hasn't been committed or closed.
+	 *
+	 * @throws IllegalStateException if it has
+	 */
+	private void checkOpen() {
+		if (finished) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+	}
+
+	/**
+	 * Closes and deletes the temporary file, ignoring any errors.
+	 */
+	private void discard() {
+		try {
+			out.close();
+		} catch (IOException e) {
+			// Being thrown away anyway
+		}
+		temp.delete();
+	}
+
+	/**
+	 * Forces the directory holding the saved file to disk, so the rename
+	 * survives a crash. Not every platform can open a directory, so this is
+	 * only done where it can be.
+	 */
+	private void forceDirectory() {
+		try (FileChannel directory = FileChannel.open(temp.getParentFile().toPath(), StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (IOException | RuntimeException e) {
+			// The file has been replaced; the rename just may not be on disk yet
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Reads a record file through a BufferedReader, splitting each line with a
+ * RecordTokenizer. The file is decoded as UTF-8, the same as a mapped file.
+ *
+ * @author Priyanshu Dongre
+ */
+class BufferedRecordReader extends RecordReader {
+
+	@Override
+	void read(String fileName, Consumer<RecordFields> action) throws FileNotFoundException {
+		BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8));
+		RecordTokenizer tokenizer = new RecordTokenizer();
+		try {
+			String line = fileReader.readLine();
+			while (line != null) {
+				action.accept(tokenizer.reset(line));
+				line = fileReader.readLine();
+			}
+		} catch (IOException e) {
+			// Stop reading, keeping the lines read so far
+		} finally {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				// Nothing left to read
+			}
+		}
+	}
+}
@@ -1,13 +1,13 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.io.FileInputStream;
-import java.util.Scanner;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.function.Consumer;
 
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseTable;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
@@ -31,67 +31,110 @@ public class CourseRecordIO {
 	 * invalid Courses are ignored. If the file to read cannot be found or the
 	 * permissions are incorrect a File NotFoundException is thrown.
 	 * 
+	 * The file is read in a single pass, and a Course with the same name and
+	 * section as one read earlier in the file is ignored as a duplicate. If the
+	 * file can't be read partway through, the Courses read so far are returned.
+	 * 
 	 * @param fileName file to read Course records from
 	 * @return a list of valid Courses
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
+		return readCourseRecords(fileName, RecordReader.BUFFERED);
+	}
 
+	/**
+	 * Reads course records from a file the same way as readCourseRecords(String),
+	 * using the given RecordReader to read the file.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param reader   how to read the file
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, RecordReader reader)
+			throws FileNotFoundException {
 		SortedList<Course> courses = new SortedList<Course>(); // Create an empty array of Course objects
+		readCourseRecords(fileName, reader, courses::add);
+		return courses;
+	}
+
+	/**
+	 * Reads course records from a file, passing each valid Course to the given
+	 * action in the order they appear in the file.  Invalid Courses and
+	 * duplicates are skipped the same way readCourseRecords(String) skips them,
+	 * so callers can collect the Courses into whatever container suits them.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param courses  action to pass each valid Course to
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static void readCourseRecords(String fileName, Consumer<? super Course> courses)
+			throws FileNotFoundException {
+		readCourseRecords(fileName, RecordReader.BUFFERED, courses);
+	}
+
+	/**
+	 * Reads course records from a file with the given RecordReader, passing each
+	 * valid Course to the given action in the order they appear in the file.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param reader   how to read the file
+	 * @param courses  action to pass each valid Course to
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static void readCourseRecords(String fileName, RecordReader reader, Consumer<? super Course> courses)
+			throws FileNotFoundException {
+		// Names and sections of the Courses read so far, used to find duplicates
+		HashSet<String> namesAndSections = new HashSet<String>();
+		// Faculty who can be assigned the Courses, by id
+		HashMap<String, Faculty> faculty = new HashMap<String, Faculty>();
+		for (Faculty f : facultyList) {
+			faculty.putIfAbsent(f.getId(), f);
+		}
 
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
-
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+		reader.read(fileName, fields -> {
+			try {
+				Course course = readCourse(fields, faculty);
+				if (namesAndSections.add(course.getName() + "," + course.getSection())) {
+					courses.accept(course);
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
 			} catch (IllegalArgumentException e) {
 				// The line is invalid b/c we couldn't create a course, skip it!
 			}
-		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		// Return the ArrayList with all the courses we read!
-		return courses;
+		});
+	}
+
+	/**
+	 * Reads course records from a file into a CourseTable, skipping invalid
+	 * Courses and duplicates the same way readCourseRecords(String) does. Only
+	 * the table's columns are kept, not the Courses read.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return a table of the valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CourseTable readCourseTable(String fileName) throws FileNotFoundException {
+		CourseTable.Builder table = new CourseTable.Builder();
+		readCourseRecords(fileName, table::add);
+		return table.build();
 	}
 
 	/**
-	 * Writes the given list of Courses to
+	 * Writes the given list of Courses to a file. The file is only replaced once
+	 * every Course has been written, so a failed write leaves it as it was.
 	 * 
 	 * @param fileName file to write schedule of Courses to
 	 * @param courses  list of Courses to write
 	 * @throws IOException if cannot write to file
 	 */
 	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-
-		for (int i = 0; i < courses.size(); i++) {
-			fileWriter.println(courses.get(i).toString());
+		try (RecordWriter writer = new RecordWriter(fileName)) {
+			for (int i = 0; i < courses.size(); i++) {
+				writer.writeLine(courses.get(i).toString());
+			}
+			writer.commit();
 		}
-
-		fileWriter.close();
-
 	}
 
 	/**
@@ -112,13 +155,13 @@ public class CourseRecordIO {
 	 * should be present. If there are extra times provided when the meeting days
 	 * are "A", an exception will be thrown.
 	 * 
-	 * @param line A string representing the course details in a CSV format.
+	 * @param lineProcessor fields of the line to read
+	 * @param faculty faculty who can be assigned the course, by id
 	 * @return A Course object constructed from the provided data.
 	 * @throws IllegalArgumentException if the input format is incorrect or if the
 	 *                                  data violates expected rules.
 	 */
-	private static Course readCourse(String line) {
-		Scanner lineProcessor = new Scanner(line).useDelimiter(",");
+	private static Course readCourse(RecordFields lineProcessor, HashMap<String, Faculty> faculty) {
 		Course course = null;
 
 		try {
@@ -126,47 +169,33 @@ public class CourseRecordIO {
 			String courseName = lineProcessor.next();
 			String courseTitle = lineProcessor.next();
 			String section = lineProcessor.next();
-			int credits = Integer.parseInt(lineProcessor.next());
+			int credits = lineProcessor.nextInt();
 			String instructorId = lineProcessor.next();
-			int enrollmentCap = Integer.parseInt(lineProcessor.next());
+			int enrollmentCap = lineProcessor.nextInt();
 			String meetingDays = lineProcessor.next();
 			int startTime = 0;
 			int endTime = 0;
 
 			// Handle times for non-arranged courses
 			if (!"A".equals(meetingDays)) {
-				startTime = Integer.parseInt(lineProcessor.next());
-				endTime = Integer.parseInt(lineProcessor.next());
-			} else if ("A".equals(meetingDays) && lineProcessor.hasNext()) {
-				lineProcessor.close();
+				startTime = lineProcessor.nextInt();
+				endTime = lineProcessor.nextInt();
+			} else if (lineProcessor.hasNext()) {
 				throw new IllegalArgumentException("Arranged courses cannot have start or end times.");
 			}
 
-			// Check if instructorId matches any Faculty
-			Faculty assignedFaculty = null;
-			for (int i = 0; i < facultyList.size(); i++) {
-				Faculty faculty = facultyList.get(i);
-				if (faculty.getId().equals(instructorId)) {
-					assignedFaculty = faculty;
-					break;
-				}
-			}
+			// Create the course with instructorId initially set to null
+			course = new Course(courseName, courseTitle, section, credits, null, enrollmentCap, meetingDays,
+					startTime, endTime);
 
 			// If a matching Faculty is found, add the course to their schedule
+			Faculty assignedFaculty = faculty.get(instructorId);
 			if (assignedFaculty != null) {
 				assignedFaculty.getSchedule().addCourseToSchedule(course);
-			} else {
-				instructorId = null; // If no matching faculty, clear the instructorId
 			}
 
-			// Create the course with the resolved instructorId
-			course = new Course(courseName, courseTitle, section, credits, null, enrollmentCap, meetingDays,
-					startTime, endTime);
-
 		} catch (Exception e) {
 			throw new IllegalArgumentException("Error reading course from input line.", e);
-		} finally {
-			lineProcessor.close();
 		}
 
 		return course;
@@ -0,0 +1,468 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of enrollment changes, written ahead of a snapshot so
+ * changes made since the last snapshot survive a crash. Each change costs one
+ * small record appended to the end of the file.
+ *
+ * Records are appended to a buffer in memory and written out by sync(). When
+ * several threads sync at once, the first one writes and forces everything
+ * appended so far to disk while the rest wait for it, so a burst of changes
+ * shares one fsync. Each record carries its own length and CRC32, so a record
+ * torn by a crash is found and cut off when the journal is next opened.
+ *
+ * The header holds a generation number that goes up each time the journal is
+ * emptied into a snapshot. A snapshot records the generation and number of
+ * events it includes, so events it already holds are never made twice, even if
+ * the program stops between writing the snapshot and emptying the journal.
+ *
+ * @author Priyanshu Dongre
+ */
+public class EnrollmentJournal implements Closeable {
+
+	/** A student enrolled in a course, or was put on its waitlist */
+	public static final byte ENROLL = 1;
+
+	/** A student dropped a course, or left its waitlist */
+	public static final byte DROP = 2;
+
+	/** A student was given a seat from a course's waitlist */
+	public static final byte PROMOTE = 3;
+
+	/** A faculty member was assigned a course */
+	public static final byte ASSIGN = 4;
+
+	/** A faculty member was removed from a course */
+	public static final byte UNASSIGN = 5;
+
+	/** Number every journal starts with ("PSJL") */
+	private static final int MAGIC = 0x50534A4C;
+
+	/** Version of the journal format written */
+	private static final int VERSION = 2;
+
+	/** Size of the magic number, version, and generation at the start of a journal */
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+
+	/** Size of a record's length and checksum */
+	private static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+	/** Largest a record's contents can be: a type and three strings of up to 65535 bytes */
+	private static final int MAX_RECORD_SIZE = 1 + 3 * (2 + 65535);
+
+	/** File the journal is written to */
+	private FileChannel channel;
+
+	/** Records appended but not yet written */
+	private ByteArrayOutputStream pending;
+
+	/** Buffer a record is built in before it's appended */
+	private ByteArrayOutputStream record;
+
+	/** Number of records appended since the journal was opened */
+	private long appended;
+
+	/** Number of appended records that are on disk */
+	private long durable;
+
+	/** True while a thread is writing records out */
+	private boolean syncing;
+
+	/** Number of records in the journal, including ones not yet written */
+	private int size;
+
+	/** Generation of the journal, raised each time it's emptied */
+	private long generation;
+
+	/** Error that stopped records from being written, or null if there hasn't been one */
+	private IOException failure;
+
+	/**
+	 * Opens a journal, creating it if it doesn't exist. Anything after the last
+	 * complete, valid record is cut off, so new records follow on from it.
+	 *
+	 * @param fileName file the journal is kept in
+	 * @throws IOException if the file can't be opened or isn't a journal
+	 */
+	public EnrollmentJournal(String fileName) throws IOException {
+		channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			long end;
+			if (channel.size() == 0) {
+				writeHeader();
+				end = HEADER_SIZE;
+			} else {
+				List<Event> events = new ArrayList<Event>();
+				end = readEvents(Channels.newInputStream(channel), channel.size(), events);
+				size = events.size();
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				while (header.hasRemaining()) {
+					channel.read(header, header.position());
+				}
+				generation = header.getLong(2 * Integer.BYTES);
+			}
+			channel.truncate(end);
+			channel.position(end);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		pending = new ByteArrayOutputStream();
+		record = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Returns the events in a journal, oldest first. Reading stops at the first
+	 * record that is incomplete or fails its checksum.
+	 *
+	 * @param fileName file the journal is kept in
+	 * @return the events in the journal
+	 * @throws IOException if the file can't be read or isn't a journal
+	 */
+	public static List<Event> readEvents(String fileName) throws IOException {
+		List<Event> events = new ArrayList<Event>();
+		try (FileChannel file = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			readEvents(Channels.newInputStream(file), file.size(), events);
+		}
+		return events;
+	}
+
+	/**
+	 * Appends an event to the journal. The event isn't on disk until sync() is
+	 * called.
+	 *
+	 * @param type     kind of event
+	 * @param userId   id of the student or faculty member
+	 * @param name     name of the course
+	 * @param section  section of the course
+	 * @return the event's sequence number, to pass to sync()
+	 * @throws IllegalArgumentException if the type is unknown or a value is null
+	 */
+	public synchronized long append(byte type, String userId, String name, String section) {
+		if (type < ENROLL || type > UNASSIGN || userId == null || name == null || section == null) {
+			throw new IllegalArgumentException("Invalid journal event.");
+		}
+		record.reset();
+		try {
+			DataOutputStream out = new DataOutputStream(record);
+			out.writeByte(type);
+			out.writeUTF(userId);
+			out.writeUTF(name);
+			out.writeUTF(section);
+
+			CRC32 crc = new CRC32();
+			crc.update(record.toByteArray());
+			DataOutputStream pendingOut = new DataOutputStream(pending);
+			pendingOut.writeInt(record.size());
+			record.writeTo(pendingOut);
+			pendingOut.writeInt((int) crc.getValue());
+		} catch (IOException e) {
+			// Only thrown for strings too long to write
+			throw new IllegalArgumentException("Invalid journal event.");
+		}
+		size++;
+		return ++appended;
+	}
+
+	/**
+	 * Waits until the event with the given sequence number, and every event
+	 * before it, is on disk. If no other thread is writing, this thread writes
+	 * out and forces everything appended so far.
+	 *
+	 * @param sequence sequence number returned by append()
+	 * @throws IOException if the events can't be written
+	 */
+	public void sync(long sequence) throws IOException {
+		byte[] batch;
+		long batchEnd;
+		synchronized (this) {
+			while (durable < sequence && syncing && failure == null) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException();
+				}
+			}
+			if (failure != null) {
+				throw new IOException("Unable to write to journal.", failure);
+			}
+			if (durable >= sequence) {
+				return;
+			}
+			syncing = true;
+			batch = pending.toByteArray();
+			pending.reset();
+			batchEnd = appended;
+		}
+
+		// Written outside the lock so other threads can append the next batch meanwhile
+		IOException error = null;
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(batch);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			error = e;
+		}
+
+		synchronized (this) {
+			syncing = false;
+			if (error == null) {
+				durable = batchEnd;
+			} else {
+				failure = error;
+			}
+			notifyAll();
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Waits until every event appended so far is on disk.
+	 *
+	 * @throws IOException if the events can't be written
+	 */
+	public void sync() throws IOException {
+		long sequence;
+		synchronized (this) {
+			sequence = appended;
+		}
+		sync(sequence);
+	}
+
+	/**
+	 * Returns the number of events in the journal, including ones not yet on disk.
+	 *
+	 * @return the number of events
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the generation of the journal. A new journal starts at generation 0.
+	 *
+	 * @return the generation
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Removes every event from the journal, including ones not yet on disk, and
+	 * starts the given generation. This is called once the events are safely in a
+	 * snapshot. The events are removed from disk before the new generation is
+	 * written, so a crash partway through never leaves old events under the new
+	 * generation.
+	 *
+	 * @param generation the new generation
+	 * @throws IOException if the journal can't be emptied
+	 */
+	public synchronized void truncate(long generation) throws IOException {
+		while (syncing) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+		}
+		pending.reset();
+		channel.truncate(HEADER_SIZE);
+		channel.force(false);
+		this.generation = generation;
+		writeHeader();
+		channel.position(HEADER_SIZE);
+		durable = appended;
+		size = 0;
+		failure = null;
+		notifyAll();
+	}
+
+	/**
+	 * Writes out any events not yet on disk and closes the journal.
+	 *
+	 * @throws IOException if the events can't be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			sync();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Writes the magic number, version, and generation at the start of the journal.
+	 *
+	 * @throws IOException if the header can't be written
+	 */
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+		channel.force(false);
+	}
+
+	/**
+	 * Reads events from a journal until the end of the file or the first record
+	 * that is incomplete or fails its checksum.
+	 *
+	 * @param input    stream positioned at the start of the journal
+	 * @param fileSize size of the journal
+	 * @param events   list to add the events to
+	 * @return the size of the journal up to the end of the last valid record
+	 * @throws IOException if the journal can't be read or isn't a journal
+	 */
+	private static long readEvents(InputStream input, long fileSize, List<Event> events) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+		if (fileSize < HEADER_SIZE || in.readInt() != MAGIC) {
+			throw new IOException("Not a journal file.");
+		}
+		if (in.readInt() != VERSION) {
+			throw new IOException("Unsupported journal version.");
+		}
+		// The generation is read by the constructor, which needs it
+		in.readLong();
+
+		long valid = HEADER_SIZE;
+		CRC32 crc = new CRC32();
+		while (fileSize - valid >= RECORD_OVERHEAD) {
+			int length = in.readInt();
+			if (length <= 0 || length > MAX_RECORD_SIZE || fileSize - valid < RECORD_OVERHEAD + length) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			in.readFully(payload);
+			int checksum = in.readInt();
+			crc.reset();
+			crc.update(payload);
+			if ((int) crc.getValue() != checksum) {
+				break;
+			}
+			Event event = readEvent(payload);
+			if (event == null) {
+				break;
+			}
+			events.add(event);
+			valid += RECORD_OVERHEAD + length;
+		}
+		return valid;
+	}
+
+	/**
+	 * Reads an event from the contents of a record.
+	 *
+	 * @param payload contents of the record
+	 * @return the event, or null if the record doesn't hold a valid event
+	 */
+	private static Event readEvent(byte[] payload) {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		try {
+			byte type = in.readByte();
+			if (type < ENROLL || type > UNASSIGN) {
+				return null;
+			}
+			Event event = new Event(type, in.readUTF(), in.readUTF(), in.readUTF());
+			return in.available() == 0 ? event : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * A change recorded in the journal.
+	 */
+	public static class Event {
+
+		/** Kind of event */
+		private byte type;
+
+		/** Id of the student or faculty member */
+		private String userId;
+
+		/** Name of the course */
+		private String name;
+
+		/** Section of the course */
+		private String section;
+
+		/**
+		 * Constructs an Event.
+		 *
+		 * @param type    kind of event
+		 * @param userId  id of the student or faculty member
+		 * @param name    name of the course
+		 * @param section section of the course
+		 */
+		Event(byte type, String userId, String name, String section) {
+			this.type = type;
+			this.userId = userId;
+			this.name = name;
+			this.section = section;
+		}
+
+		/**
+		 * Returns the kind of event: ENROLL, DROP, PROMOTE, ASSIGN, or UNASSIGN.
+		 *
+		 * @return the kind of event
+		 */
+		public byte getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the id of the student or faculty member.
+		 *
+		 * @return the user's id
+		 */
+		public String getUserId() {
+			return userId;
+		}
+
+		/**
+		 * Returns the name of the course.
+		 *
+		 * @return the course name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the section of the course.
+		 *
+		 * @return the course section
+		 */
+		public String getSection() {
+			return section;
+		}
+	}
+}
@@ -1,13 +1,8 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.Scanner;
+import java.util.HashSet;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -33,80 +28,83 @@ public class FacultyRecordIO {
 	 * @throws FileNotFoundException if the specified file cannot be found
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
+		return readFacultyRecords(fileName, RecordReader.BUFFERED);
+	}
+
+	/**
+	 * Reads faculty records from a file the same way as readFacultyRecords(String),
+	 * using the given RecordReader to read the file.
+	 *
+	 * @param fileName the name of the file to read from
+	 * @param reader how to read the file
+	 * @return a LinkedList of Faculty objects read from the file
+	 * @throws FileNotFoundException if the specified file cannot be found
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String fileName, RecordReader reader) throws FileNotFoundException {
 	    LinkedList<Faculty> faculties = new LinkedList<>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
+	    //Names and ids of the faculty read so far, so checking for a duplicate doesn't walk the list
+	    HashSet<String> names = new HashSet<>();
+	    HashSet<String> ids = new HashSet<>();
+	    reader.read(fileName, fields -> {
 	        try { //Attempt to do the following
-	            //Read the line, process it in readStudent, and get the object
-	            //If trying to construct a student in readStudent() results in an exception, flow of control will transfer to the catch block, below
-	            Faculty faculty = processFaculty(fileReader.nextLine()); 
+	            //Process the line in processFaculty, and get the object
+	            //If trying to construct a faculty member in processFaculty() results in an exception, flow of control will transfer to the catch block, below
+	            Faculty faculty = processFaculty(fields); 
 
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < faculties.size(); i++) {
-	                //Get the course at index i
-	                Faculty current = faculties.get(i);
-	                //Check if the name and section are the same
-	                if (faculty.getFirstName().equals(current.getFirstName()) &&
-	                        faculty.getLastName().equals(current.getLastName())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the course is NOT a duplicate
+	            //A faculty member with the same first and last name, or the same id, is a duplicate
+	            //A comma can't appear in a valid name, so it keeps the two parts apart
+	            String name = faculty.getFirstName() + "," + faculty.getLastName();
+	            boolean duplicate = names.contains(name) || ids.contains(faculty.getId());
+	            //If the faculty member is NOT a duplicate
 	            if (!duplicate) {
+	                names.add(name);
+	                ids.add(faculty.getId());
 	                faculties.add(faculty); //Add to the ArrayList!
 	            } //Otherwise ignore
 	        } catch (IllegalArgumentException e) {
 	            //The line is invalid b/c we couldn't create a course, skip it!
 	        }
-	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
+	    });
 	    //Return the ArrayList with all the courses we read!
 	    return faculties;
 	}
 
 	/**
-	 * Processes a single line of input to create a Faculty object.
+	 * Processes the fields of a single line of input to create a Faculty object.
 	 * The line should be in a comma-separated format: 
 	 * firstName, lastName, id, email, password, maxCourses.
 	 * If the input line is invalid or does not have the correct number of tokens, an exception is thrown.
 	 *
-	 * @param line the line of text to process
+	 * @param lineProcessor the fields of the line to process
 	 * @return a Faculty object created from the line input
 	 * @throws IllegalArgumentException if the line format is invalid
 	 */
-	private static Faculty processFaculty(String line) {
+	private static Faculty processFaculty(RecordFields lineProcessor) {
 		int numberOfToken = 0;
-		try (Scanner lineProcessor = new Scanner(line).useDelimiter(",")) {
-			try {
-				int maxCourses = 1;
-				
-				String firstName = lineProcessor.next();
-				numberOfToken++;
-				String lastName = lineProcessor.next();
-				numberOfToken++;
-				String id = lineProcessor.next();
-				numberOfToken++;
-				String email = lineProcessor.next();
+		try {
+			int maxCourses = 1;
+			
+			String firstName = lineProcessor.next();
+			numberOfToken++;
+			String lastName = lineProcessor.next();
+			numberOfToken++;
+			String id = lineProcessor.next();
+			numberOfToken++;
+			String email = lineProcessor.next();
+			numberOfToken++;
+			String password = lineProcessor.next();
+			numberOfToken++;
+			if(lineProcessor.hasNext()) {
+				maxCourses = lineProcessor.nextInt();
 				numberOfToken++;
-				String password = lineProcessor.next();
-				numberOfToken++;
-				if(lineProcessor.hasNext()) {
-					maxCourses = Integer.parseInt(lineProcessor.next());
-					numberOfToken++;
-				}
-				 
-				if(numberOfToken != 6) {
-					throw new IllegalArgumentException();
-				}
-				return new Faculty(firstName, lastName, id, email, password, maxCourses);
-			} catch(Exception e) {
+			}
+			 
+			if(numberOfToken != 6) {
 				throw new IllegalArgumentException();
 			}
+			return new Faculty(firstName, lastName, id, email, password, maxCourses);
+		} catch(Exception e) {
+			throw new IllegalArgumentException();
 		}
 	}
 
@@ -114,19 +112,20 @@ public class FacultyRecordIO {
 	 * Writes the list of Faculty objects to a specified file. 
 	 * Each Faculty object is written in a comma-separated format:
 	 * firstName, lastName, id, email, password, maxCourses.
+	 * The file is only replaced once every Faculty has been written, so a failed
+	 * write leaves it as it was.
 	 *
 	 * @param fileName the name of the file to write to
 	 * @param facultyDirectory the list of Faculty objects to write
 	 * @throws IOException if an error occurs while writing to the file
 	 */
 	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> facultyDirectory) throws IOException {
-		PrintWriter printWriter = new PrintWriter(new FileOutputStream(new File(fileName)));
-		
-		for(int i = 0; i < facultyDirectory.size(); i++) {
-			printWriter.println(facultyDirectory.get(i).toString());
+		try (RecordWriter writer = new RecordWriter(fileName)) {
+			for(Faculty f : facultyDirectory) {
+				writer.writeLine(f.toString());
+			}
+			writer.commit();
 		}
-		printWriter.close();
-		
 	}
 
 }
@@ -0,0 +1,126 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads a record file by mapping it into memory with FileChannel.map() and
+ * splitting lines and fields straight from the mapped bytes with a
+ * MappedRecordTokenizer. Lines end at "\n", "\r", or "\r\n", the same as
+ * BufferedReader.readLine().
+ *
+ * A file is mapped a region at a time, since one mapping can't be larger than
+ * 2 GB. A line that runs past the end of a region is read again from the start
+ * of the next region, which is mapped starting at that line, and a region is
+ * made larger if a line doesn't fit in it, up to a largest region of 1 GB by
+ * default. Only a line longer than the largest region is split.
+ *
+ * @author Priyanshu Dongre
+ */
+class MappedRecordReader extends RecordReader {
+
+	/** Most bytes mapped at once */
+	private static final int MAX_REGION = 1 << 30;
+
+	/** Bytes this reader maps at once, unless a line doesn't fit */
+	private final int regionSize;
+
+	/** Most bytes this reader maps at once to fit a line */
+	private final int maxRegion;
+
+	/**
+	 * Constructs a reader that maps up to 1 GB at a time.
+	 */
+	MappedRecordReader() {
+		this(MAX_REGION);
+	}
+
+	/**
+	 * Constructs a reader that maps the given number of bytes at a time, and up
+	 * to 1 GB to fit a line.
+	 *
+	 * @param regionSize bytes to map at once
+	 * @throws IllegalArgumentException if the region size isn't positive or is
+	 *                                  more than 1 GB
+	 */
+	MappedRecordReader(int regionSize) {
+		this(regionSize, MAX_REGION);
+	}
+
+	/**
+	 * Constructs a reader that maps the given number of bytes at a time, and up
+	 * to the given largest region to fit a line.
+	 *
+	 * @param regionSize bytes to map at once
+	 * @param maxRegion  most bytes to map at once to fit a line
+	 * @throws IllegalArgumentException if the region size isn't positive, or is
+	 *                                  more than the largest region, or the
+	 *                                  largest region is more than 1 GB
+	 */
+	MappedRecordReader(int regionSize, int maxRegion) {
+		if (regionSize <= 0 || regionSize > maxRegion || maxRegion > MAX_REGION) {
+			throw new IllegalArgumentException("Invalid region size.");
+		}
+		this.regionSize = regionSize;
+		this.maxRegion = maxRegion;
+	}
+
+	@Override
+	void read(String fileName, Consumer<RecordFields> action) throws FileNotFoundException {
+		FileChannel channel;
+		try {
+			channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+		} catch (IOException | RuntimeException e) {
+			throw new FileNotFoundException(fileName);
+		}
+		MappedRecordTokenizer tokenizer = new MappedRecordTokenizer();
+		try {
+			long size = channel.size();
+			long base = 0;
+			int length = regionSize;
+			while (base < size) {
+				int limit = (int) Math.min(size - base, length);
+				boolean last = base + limit == size;
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, base, limit);
+				int start = 0;
+				while (start < limit) {
+					int end = start;
+					while (end < limit && region.get(end) != '\n' && region.get(end) != '\r') {
+						end++;
+					}
+					// A line, or its "\r\n", may go on past the region; read it from the next
+					// one, unless it fills the largest region there can be
+					if (!last && !(start == 0 && length == maxRegion)
+							&& (end == limit || end == limit - 1 && region.get(end) == '\r')) {
+						break;
+					}
+					action.accept(tokenizer.reset(region, start, end));
+					if (end + 1 < limit && region.get(end) == '\r' && region.get(end + 1) == '\n') {
+						end++;
+					}
+					start = end + 1;
+				}
+				if (start == 0) {
+					// The first line doesn't fit, so map more of the file at once
+					length = (int) Math.min((long) length * 2, maxRegion);
+				} else {
+					base += Math.min(start, limit);
+					length = regionSize;
+				}
+			}
+		} catch (IOException e) {
+			// Stop reading, keeping the lines read so far
+		} finally {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// Nothing left to read
+			}
+		}
+	}
+}
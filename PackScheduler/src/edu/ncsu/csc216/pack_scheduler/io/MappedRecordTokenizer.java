@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a line of a mapped record file into its comma separated fields,
+ * reading the bytes of the line in place. A field is only decoded into a
+ * String, as UTF-8, when next() returns it; nextInt() parses a field of ASCII
+ * digits straight from its bytes. A comma is a single byte in UTF-8 and never
+ * part of another character, so fields are split without decoding anything.
+ *
+ * A tokenizer can be reset to a new line, so one can be reused for a whole file.
+ *
+ * @author Priyanshu Dongre
+ */
+class MappedRecordTokenizer extends RecordFields {
+
+	/** Most digits that can't overflow an int */
+	private static final int SAFE_DIGITS = 9;
+
+	/** Buffer the line is in */
+	private ByteBuffer buffer;
+
+	/** Index of the next byte to read */
+	private int position;
+
+	/** Index just past the last byte of the line */
+	private int end;
+
+	/** Bytes of the field being decoded */
+	private byte[] scratch = new byte[64];
+
+	/**
+	 * Starts splitting the line in the given bytes of a buffer.
+	 *
+	 * @param buffer the buffer the line is in
+	 * @param start  index of the first byte of the line
+	 * @param end    index just past the last byte of the line
+	 * @return this tokenizer
+	 */
+	MappedRecordTokenizer reset(ByteBuffer buffer, int start, int end) {
+		this.buffer = buffer;
+		this.position = start;
+		this.end = end;
+		return this;
+	}
+
+	@Override
+	boolean hasNext() {
+		int start = position;
+		if (start < end && buffer.get(start) == ',') {
+			start++;
+		}
+		return start < end;
+	}
+
+	@Override
+	String next() {
+		int start = startOfField();
+		int fieldEnd = endOfField(start);
+		position = fieldEnd;
+		int length = fieldEnd - start;
+		if (length > scratch.length) {
+			scratch = Arrays.copyOf(scratch, Math.max(length, scratch.length * 2));
+		}
+		buffer.get(start, scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	int nextInt() {
+		int start = startOfField();
+		int fieldEnd = endOfField(start);
+		int i = start;
+		boolean negative = false;
+		if (i < fieldEnd && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			i++;
+		}
+		if (i == fieldEnd || fieldEnd - i > SAFE_DIGITS) {
+			// Let Integer.parseInt() decide what to make of it
+			return Integer.parseInt(next());
+		}
+		int value = 0;
+		for (; i < fieldEnd; i++) {
+			byte b = buffer.get(i);
+			if (b < '0' || b > '9') {
+				return Integer.parseInt(next());
+			}
+			value = value * 10 + (b - '0');
+		}
+		position = fieldEnd;
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Skips the comma before the next field and returns where the field starts.
+	 *
+	 * @return index of the first byte of the next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	private int startOfField() {
+		int start = position;
+		if (start < end && buffer.get(start) == ',') {
+			start++;
+		}
+		if (start >= end) {
+			throw new NoSuchElementException();
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the index just past the end of the field that starts at the given index.
+	 *
+	 * @param start index of the first byte of the field
+	 * @return index of the comma after the field, or the end of the line
+	 */
+	private int endOfField(int start) {
+		int i = start;
+		while (i < end && buffer.get(i) != ',') {
+			i++;
+		}
+		return i;
+	}
+}
@@ -0,0 +1,42 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The comma separated fields of one line of a record file, read in order.
+ * Fields are returned the same way a Scanner using "," as its delimiter
+ * returns them, so whitespace is kept, one comma is skipped before each
+ * field, and an empty field only appears between two commas.
+ *
+ * RecordTokenizer reads the fields of a line that's already a String, and
+ * MappedRecordTokenizer reads them straight from the bytes of a mapped file.
+ *
+ * @author Priyanshu Dongre
+ */
+abstract class RecordFields {
+
+	/**
+	 * Returns true if there is another field in the line.
+	 *
+	 * @return true if there is another field
+	 */
+	abstract boolean hasNext();
+
+	/**
+	 * Returns the next field in the line.
+	 *
+	 * @return the next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	abstract String next();
+
+	/**
+	 * Returns the next field in the line as an int, parsed the same way as
+	 * Integer.parseInt().
+	 *
+	 * @return the next field as an int
+	 * @throws NoSuchElementException if there are no more fields
+	 * @throws NumberFormatException if the field isn't an int
+	 */
+	abstract int nextInt();
+}
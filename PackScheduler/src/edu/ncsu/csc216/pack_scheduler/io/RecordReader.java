@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.util.function.Consumer;
+
+/**
+ * A way of reading the lines of a record file. The record readers in this
+ * package take a RecordReader, so the way a file is read can be chosen
+ * without changing how its records are parsed. Either reader splits a file
+ * into the same lines, the same way BufferedReader.readLine() does, and each
+ * line into the same fields.
+ *
+ * BUFFERED reads the file through a BufferedReader, making a String of each
+ * line. MAPPED maps the file into memory and splits lines and fields straight
+ * from its bytes, only making Strings of the fields that are returned as
+ * Strings; it's faster for large files.
+ *
+ * @author Priyanshu Dongre
+ */
+public abstract class RecordReader {
+
+	/** Reads a file through a BufferedReader, one line at a time */
+	public static final RecordReader BUFFERED = new BufferedRecordReader();
+
+	/** Reads a file by mapping it into memory */
+	public static final RecordReader MAPPED = new MappedRecordReader();
+
+	/**
+	 * Constructs a RecordReader. Only the readers in this package can be used.
+	 */
+	RecordReader() {
+		// Only subclassed in this package
+	}
+
+	/**
+	 * Reads the lines of a file, passing the fields of each to the given action
+	 * in the order they appear in the file. The fields are only valid until the
+	 * action returns. If the file can't be read partway through, reading stops
+	 * after the lines read so far.
+	 *
+	 * @param fileName file to read
+	 * @param action   action to pass the fields of each line to
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	abstract void read(String fileName, Consumer<RecordFields> action) throws FileNotFoundException;
+}
@@ -0,0 +1,107 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a line of a record file into its comma separated fields. Fields are
+ * returned the same way a Scanner using "," as its delimiter returns them, so
+ * whitespace is kept, one comma is skipped before each field, and an empty
+ * field only appears between two commas. Numbers are parsed straight from the
+ * line without creating a String for them.
+ *
+ * A tokenizer can be reset to a new line, so one can be reused for a whole file.
+ *
+ * @author Priyanshu Dongre
+ */
+class RecordTokenizer extends RecordFields {
+
+	/** Line being split */
+	private String line;
+
+	/** Index of the next character to read */
+	private int position;
+
+	/**
+	 * Starts splitting the given line.
+	 *
+	 * @param line the line to split
+	 * @return this tokenizer
+	 */
+	RecordTokenizer reset(String line) {
+		this.line = line;
+		this.position = 0;
+		return this;
+	}
+
+	/**
+	 * Returns true if there is another field in the line.
+	 *
+	 * @return true if there is another field
+	 */
+	@Override
+	boolean hasNext() {
+		int start = position;
+		if (start < line.length() && line.charAt(start) == ',') {
+			start++;
+		}
+		return start < line.length();
+	}
+
+	/**
+	 * Returns the next field in the line.
+	 *
+	 * @return the next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	@Override
+	String next() {
+		int start = startOfField();
+		int end = endOfField(start);
+		position = end;
+		return line.substring(start, end);
+	}
+
+	/**
+	 * Returns the next field in the line as an int, parsed the same way as
+	 * Integer.parseInt().
+	 *
+	 * @return the next field as an int
+	 * @throws NoSuchElementException if there are no more fields
+	 * @throws NumberFormatException if the field isn't an int
+	 */
+	@Override
+	int nextInt() {
+		int start = startOfField();
+		int end = endOfField(start);
+		position = end;
+		return Integer.parseInt(line, start, end, 10);
+	}
+
+	/**
+	 * Skips the comma before the next field and returns where the field starts.
+	 *
+	 * @return index of the first character of the next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	private int startOfField() {
+		int start = position;
+		if (start < line.length() && line.charAt(start) == ',') {
+			start++;
+		}
+		if (start >= line.length()) {
+			throw new NoSuchElementException();
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the index just past the end of the field that starts at the given index.
+	 *
+	 * @param start index of the first character of the field
+	 * @return index of the comma after the field, or the length of the line
+	 */
+	private int endOfField(int start) {
+		int end = line.indexOf(',', start);
+		return end < 0 ? line.length() : end;
+	}
+}
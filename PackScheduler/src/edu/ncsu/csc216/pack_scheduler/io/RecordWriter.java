@@ -0,0 +1,207 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the lines of a record file so that the file is either completely
+ * replaced or left as it was. Lines are written through an
+ * AtomicFileOutputStream to a temporary file next to the file being saved, and
+ * commit() forces the temporary file to disk and renames it over the file. If
+ * the writer is closed without committing, the temporary file is deleted and
+ * the file being saved is untouched. If the program stops partway through, the
+ * file being saved is still untouched, but the temporary file is left behind.
+ *
+ * Each line is built in a StringBuilder that's reused for every line, and
+ * encoded as UTF-8 straight into a large buffer that's written out when it
+ * fills, so writing a file costs one system call per buffer rather than per
+ * line.
+ *
+ * A writer is meant to be used in a try-with-resources statement:
+ *
+ * <pre>
+ * try (RecordWriter writer = new RecordWriter(fileName)) {
+ *     for (Course c : courses) {
+ *         writer.writeLine(c.toString());
+ *     }
+ *     writer.commit();
+ * }
+ * </pre>
+ *
+ * @author Priyanshu Dongre
+ */
+public class RecordWriter implements Closeable {
+
+	/** Size of the buffer lines are encoded into */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Separator written after each line, the same one println() writes */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Stream that replaces the file being saved when committed */
+	private final AtomicFileOutputStream out;
+
+	/** Line being built */
+	private final StringBuilder line = new StringBuilder();
+
+	/** Encoded bytes not yet written to the temporary file */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** Number of bytes in the buffer */
+	private int count;
+
+	/** True once the writer has been committed or closed */
+	private boolean finished;
+
+	/**
+	 * Constructs a writer that will replace the given file when committed.
+	 *
+	 * @param fileName file to save
+	 * @throws FileNotFoundException if a file can't be created next to the file
+	 *                               to save
+	 */
+	public RecordWriter(String fileName) throws FileNotFoundException {
+		out = new AtomicFileOutputStream(fileName);
+	}
+
+	/**
+	 * Appends a String to the line being built.
+	 *
+	 * @param value the String to append
+	 * @return this writer
+	 */
+	public RecordWriter append(String value) {
+		line.append(value);
+		return this;
+	}
+
+	/**
+	 * Appends a character to the line being built.
+	 *
+	 * @param value the character to append
+	 * @return this writer
+	 */
+	public RecordWriter append(char value) {
+		line.append(value);
+		return this;
+	}
+
+	/**
+	 * Appends an int to the line being built.
+	 *
+	 * @param value the int to append
+	 * @return this writer
+	 */
+	public RecordWriter append(int value) {
+		line.append(value);
+		return this;
+	}
+
+	/**
+	 * Ends the line being built, writing it and a line separator.
+	 *
+	 * @throws IOException if the line can't be written
+	 * @throws IllegalStateException if the writer has been committed or closed
+	 */
+	public void endLine() throws IOException {
+		if (finished) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		line.append(LINE_SEPARATOR);
+		encode(line);
+		line.setLength(0);
+	}
+
+	/**
+	 * Writes a whole line and a line separator.
+	 *
+	 * @param value the line to write
+	 * @throws IOException if the line can't be written
+	 * @throws IllegalStateException if the writer has been committed or closed
+	 */
+	public void writeLine(String value) throws IOException {
+		append(value).endLine();
+	}
+
+	/**
+	 * Writes everything to the temporary file, forces it to disk, and renames
+	 * it over the file being saved. If this fails, the file being saved is
+	 * left as it was.
+	 *
+	 * @throws IOException if the file can't be written or replaced
+	 * @throws IllegalStateException if the writer has been committed or closed
+	 */
+	public void commit() throws IOException {
+		if (finished) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		finished = true;
+		try {
+			flush();
+		} catch (IOException | RuntimeException e) {
+			out.close();
+			throw e;
+		}
+		out.commit();
+	}
+
+	/**
+	 * Closes the writer. If it hasn't been committed, the temporary file is
+	 * deleted and the file being saved is left as it was.
+	 */
+	@Override
+	public void close() {
+		if (!finished) {
+			finished = true;
+			out.close();
+		}
+	}
+
+	/**
+	 * Encodes characters as UTF-8 into the buffer, writing the buffer out
+	 * whenever it fills.
+	 *
+	 * @param chars the characters to encode
+	 * @throws IOException if the buffer can't be written
+	 */
+	private void encode(CharSequence chars) throws IOException {
+		int length = chars.length();
+		for (int i = 0; i < length; i++) {
+			char c = chars.charAt(i);
+			if (c >= 0x80) {
+				// Only lines with non-ASCII characters need a full encoder
+				byte[] bytes = chars.subSequence(i, length).toString().getBytes(StandardCharsets.UTF_8);
+				for (byte b : bytes) {
+					put(b);
+				}
+				return;
+			}
+			put((byte) c);
+		}
+	}
+
+	/**
+	 * Adds a byte to the buffer, writing the buffer out first if it's full.
+	 *
+	 * @param b the byte to add
+	 * @throws IOException if the buffer can't be written
+	 */
+	private void put(byte b) throws IOException {
+		if (count == buffer.length) {
+			flush();
+		}
+		buffer[count++] = b;
+	}
+
+	/**
+	 * Writes the buffer to the temporary file.
+	 *
+	 * @throws IOException if the buffer can't be written
+	 */
+	private void flush() throws IOException {
+		out.write(buffer, 0, count);
+		count = 0;
+	}
+}
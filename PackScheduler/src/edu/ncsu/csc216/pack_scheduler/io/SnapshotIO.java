@@ -0,0 +1,435 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.IdentityHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Reads and writes a binary snapshot of the whole registration state: the course
+ * catalog, the students and their schedules, the faculty and the courses they're
+ * assigned, and each course's roll and waitlist.
+ *
+ * A snapshot starts with a magic number and a format version, and ends with a
+ * CRC32 checksum of everything before it. Courses are written once, in a table,
+ * and schedules, rolls, and waitlists refer to them (and to students) by their
+ * position in the table, so a snapshot is read back without parsing any text or
+ * looking anything up by name. Everything in a snapshot was valid when it was
+ * written, and the checksum shows it hasn't changed since, so the courses, users,
+ * schedules, and rolls are restored as they were without checking their values
+ * or schedule conflicts again. Record files are still checked line by line as
+ * they are read.
+ *
+ * A snapshot also records how much of the enrollment journal it includes: the
+ * journal's generation and the number of events from that generation, so those
+ * events aren't made again when the journal is replayed on top of it.
+ *
+ * Courses that are no longer in the catalog are left off schedules, and students
+ * who are no longer in the directory are left off rolls.
+ *
+ * @author Priyanshu Dongre
+ */
+public class SnapshotIO {
+
+	/** Number every snapshot starts with ("PSNP") */
+	private static final int MAGIC = 0x50534E50;
+
+	/** Version of the snapshot format written */
+	private static final int VERSION = 2;
+
+	/** Version of snapshots written before they recorded the journal they include */
+	private static final int VERSION_WITHOUT_JOURNAL = 1;
+
+	/** Size of the checksum at the end of a snapshot */
+	private static final int CHECKSUM_SIZE = Long.BYTES;
+
+	/**
+	 * Writes a snapshot of the given courses, students, and faculty to a file,
+	 * replacing anything already in it. The file is only replaced once the whole
+	 * snapshot has been written and forced to disk, so a failed write, or one the
+	 * program stops partway through, leaves it as it was.
+	 *
+	 * @param fileName file to write the snapshot to
+	 * @param courses  courses in the catalog
+	 * @param students students in the directory
+	 * @param faculty  faculty in the directory
+	 * @throws IOException if the file can't be written
+	 */
+	public static void writeSnapshot(String fileName, Course[] courses, Student[] students, Faculty[] faculty)
+			throws IOException {
+		writeSnapshot(fileName, courses, students, faculty, 0, 0);
+	}
+
+	/**
+	 * Writes a snapshot of the given courses, students, and faculty to a file,
+	 * recording that it includes the given events from the enrollment journal.
+	 * The file is replaced the same way as by
+	 * writeSnapshot(String, Course[], Student[], Faculty[]).
+	 *
+	 * @param fileName          file to write the snapshot to
+	 * @param courses           courses in the catalog
+	 * @param students          students in the directory
+	 * @param faculty           faculty in the directory
+	 * @param journalGeneration generation of the journal the snapshot includes events from
+	 * @param journalEvents     number of events from that generation the snapshot includes
+	 * @throws IOException if the file can't be written
+	 */
+	public static void writeSnapshot(String fileName, Course[] courses, Student[] students, Faculty[] faculty,
+			long journalGeneration, int journalEvents) throws IOException {
+		IdentityHashMap<Course, Integer> courseIndex = new IdentityHashMap<Course, Integer>();
+		for (int i = 0; i < courses.length; i++) {
+			courseIndex.put(courses[i], i);
+		}
+		IdentityHashMap<Student, Integer> studentIndex = new IdentityHashMap<Student, Integer>();
+		for (int i = 0; i < students.length; i++) {
+			studentIndex.put(students[i], i);
+		}
+
+		try (AtomicFileOutputStream fileOut = new AtomicFileOutputStream(fileName)) {
+			CheckedOutputStream checked = new CheckedOutputStream(fileOut, new CRC32());
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(journalGeneration);
+			out.writeInt(journalEvents);
+
+			out.writeInt(courses.length);
+			for (Course c : courses) {
+				out.writeUTF(c.getName());
+				out.writeUTF(c.getTitle());
+				out.writeUTF(c.getSection());
+				out.writeInt(c.getCredits());
+				writeNullableUTF(out, c.getInstructorId());
+				out.writeInt(c.getCourseRoll().getEnrollmentCap());
+				out.writeUTF(c.getMeetingDays());
+				out.writeInt(c.getStartTime());
+				out.writeInt(c.getEndTime());
+			}
+
+			out.writeInt(students.length);
+			for (Student s : students) {
+				out.writeUTF(s.getFirstName());
+				out.writeUTF(s.getLastName());
+				out.writeUTF(s.getId());
+				out.writeUTF(s.getEmail());
+				out.writeUTF(s.getPassword());
+				out.writeInt(s.getMaxCredits());
+				out.writeUTF(s.getSchedule().getTitle());
+				writeIndices(out, s.getSchedule().getCourses(), courseIndex);
+			}
+
+			out.writeInt(faculty.length);
+			for (Faculty f : faculty) {
+				out.writeUTF(f.getFirstName());
+				out.writeUTF(f.getLastName());
+				out.writeUTF(f.getId());
+				out.writeUTF(f.getEmail());
+				out.writeUTF(f.getPassword());
+				out.writeInt(f.getMaxCourses());
+				writeIndices(out, f.getSchedule().getCourses(), courseIndex);
+			}
+
+			for (Course c : courses) {
+				writeIndices(out, c.getCourseRoll().getEnrolledStudents(), studentIndex);
+				writeIndices(out, c.getCourseRoll().getWaitlistedStudents(), studentIndex);
+			}
+			out.flush();
+
+			new DataOutputStream(fileOut).writeLong(checked.getChecksum().getValue());
+			fileOut.commit();
+		}
+	}
+
+	/**
+	 * Reads a snapshot from a file. The courses, students, and faculty are linked
+	 * to each other the same way they were when the snapshot was written.
+	 *
+	 * @param fileName file to read the snapshot from
+	 * @return the courses, students, and faculty in the snapshot
+	 * @throws IOException if the file can't be read, isn't a snapshot, is from an
+	 *                     unsupported version, fails its checksum, or holds
+	 *                     invalid data
+	 */
+	public static Snapshot readSnapshot(String fileName) throws IOException {
+		byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+		if (bytes.length < 2 * Integer.BYTES + CHECKSUM_SIZE) {
+			throw new IOException("Not a snapshot file.");
+		}
+		int length = bytes.length - CHECKSUM_SIZE;
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, length);
+		long checksum = new DataInputStream(new ByteArrayInputStream(bytes, length, CHECKSUM_SIZE)).readLong();
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a snapshot file.");
+		}
+		int version = in.readInt();
+		if (version != VERSION && version != VERSION_WITHOUT_JOURNAL) {
+			throw new IOException("Unsupported snapshot version.");
+		}
+		if (crc.getValue() != checksum) {
+			throw new IOException("Snapshot checksum doesn't match.");
+		}
+
+		try {
+			long journalGeneration = 0;
+			int journalEvents = 0;
+			if (version == VERSION) {
+				journalGeneration = in.readLong();
+				journalEvents = in.readInt();
+			}
+			return readSnapshot(in, journalGeneration, journalEvents);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Invalid snapshot.", e);
+		}
+	}
+
+	/**
+	 * Reads the contents of a snapshot after its header.
+	 *
+	 * @param in                stream positioned just after the header
+	 * @param journalGeneration generation of the journal the snapshot includes events from
+	 * @param journalEvents     number of events from that generation the snapshot includes
+	 * @return the courses, students, and faculty in the snapshot
+	 * @throws IOException if the snapshot ends early
+	 */
+	private static Snapshot readSnapshot(DataInputStream in, long journalGeneration, int journalEvents)
+			throws IOException {
+		Course[] courses = new Course[readCount(in)];
+		for (int i = 0; i < courses.length; i++) {
+			courses[i] = Course.restore(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt(), readNullableUTF(in),
+					in.readInt(), in.readUTF(), in.readInt(), in.readInt());
+		}
+
+		Student[] students = new Student[readCount(in)];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = Student.restore(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+					in.readInt());
+			String title = in.readUTF();
+			students[i].getSchedule().restoreSchedule(title, toCourses(readIndices(in), courses));
+		}
+
+		Faculty[] faculty = new Faculty[readCount(in)];
+		for (int i = 0; i < faculty.length; i++) {
+			faculty[i] = Faculty.restore(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+					in.readInt());
+			faculty[i].getSchedule().restoreSchedule(toCourses(readIndices(in), courses));
+		}
+
+		for (int i = 0; i < courses.length; i++) {
+			int[] enrolled = readIndices(in);
+			int[] waitlisted = readIndices(in);
+			courses[i].getCourseRoll().restoreRoll(toStudents(enrolled, students), toStudents(waitlisted, students));
+		}
+		return new Snapshot(courses, students, faculty, journalGeneration, journalEvents);
+	}
+
+	/**
+	 * Writes a string that may be null.
+	 *
+	 * @param out   stream to write to
+	 * @param value string to write, or null
+	 * @throws IOException if the string can't be written
+	 */
+	private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a string written by writeNullableUTF().
+	 *
+	 * @param in stream to read from
+	 * @return the string, or null
+	 * @throws IOException if the string can't be read
+	 */
+	private static String readNullableUTF(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Writes the positions of the given objects in their table, leaving out any
+	 * that aren't in it.
+	 *
+	 * @param <E>     type of object
+	 * @param out     stream to write to
+	 * @param objects objects to write the positions of
+	 * @param index   position of each object in its table
+	 * @throws IOException if the positions can't be written
+	 */
+	private static <E> void writeIndices(DataOutputStream out, E[] objects, IdentityHashMap<E, Integer> index)
+			throws IOException {
+		int count = 0;
+		for (E o : objects) {
+			if (index.containsKey(o)) {
+				count++;
+			}
+		}
+		out.writeInt(count);
+		for (E o : objects) {
+			Integer i = index.get(o);
+			if (i != null) {
+				out.writeInt(i);
+			}
+		}
+	}
+
+	/**
+	 * Reads positions written by writeIndices().
+	 *
+	 * @param in stream to read from
+	 * @return the positions
+	 * @throws IOException if the positions can't be read
+	 */
+	private static int[] readIndices(DataInputStream in) throws IOException {
+		int[] indices = new int[readCount(in)];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = in.readInt();
+		}
+		return indices;
+	}
+
+	/**
+	 * Reads the size of a table or list, checking that the snapshot could hold
+	 * that many entries before anything is allocated for them.
+	 *
+	 * @param in stream to read from
+	 * @return the size
+	 * @throws IOException if the size can't be read or is invalid
+	 */
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > in.available()) {
+			throw new IOException("Invalid snapshot.");
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the courses at the given positions.
+	 *
+	 * @param indices positions of the courses
+	 * @param courses table of courses
+	 * @return the courses
+	 */
+	private static Course[] toCourses(int[] indices, Course[] courses) {
+		Course[] result = new Course[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			result[i] = courses[indices[i]];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the students at the given positions.
+	 *
+	 * @param indices  positions of the students
+	 * @param students table of students
+	 * @return the students
+	 */
+	private static Student[] toStudents(int[] indices, Student[] students) {
+		Student[] result = new Student[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			result[i] = students[indices[i]];
+		}
+		return result;
+	}
+
+	/**
+	 * The registration state read from a snapshot.
+	 */
+	public static class Snapshot {
+
+		/** Courses in the catalog */
+		private Course[] courses;
+
+		/** Students in the directory */
+		private Student[] students;
+
+		/** Faculty in the directory */
+		private Faculty[] faculty;
+
+		/** Generation of the journal the snapshot includes events from */
+		private long journalGeneration;
+
+		/** Number of events from that generation the snapshot includes */
+		private int journalEvents;
+
+		/**
+		 * Constructs a Snapshot.
+		 *
+		 * @param courses           courses in the catalog
+		 * @param students          students in the directory
+		 * @param faculty           faculty in the directory
+		 * @param journalGeneration generation of the journal the snapshot includes events from
+		 * @param journalEvents     number of events from that generation the snapshot includes
+		 */
+		Snapshot(Course[] courses, Student[] students, Faculty[] faculty, long journalGeneration, int journalEvents) {
+			this.courses = courses;
+			this.students = students;
+			this.faculty = faculty;
+			this.journalGeneration = journalGeneration;
+			this.journalEvents = journalEvents;
+		}
+
+		/**
+		 * Returns the generation of the journal the snapshot includes events from.
+		 * Snapshots written without a journal are generation 0.
+		 *
+		 * @return the journal generation
+		 */
+		public long getJournalGeneration() {
+			return journalGeneration;
+		}
+
+		/**
+		 * Returns the number of events from the journal generation the snapshot
+		 * includes. The journal's events after these are made again on top of it.
+		 *
+		 * @return the number of journal events included
+		 */
+		public int getJournalEvents() {
+			return journalEvents;
+		}
+
+		/**
+		 * Returns the courses in the catalog.
+		 *
+		 * @return the courses
+		 */
+		public Course[] getCourses() {
+			return courses;
+		}
+
+		/**
+		 * Returns the students in the directory.
+		 *
+		 * @return the students
+		 */
+		public Student[] getStudents() {
+			return students;
+		}
+
+		/**
+		 * Returns the faculty in the directory.
+		 *
+		 * @return the faculty
+		 */
+		public Faculty[] getFaculty() {
+			return faculty;
+		}
+	}
+}
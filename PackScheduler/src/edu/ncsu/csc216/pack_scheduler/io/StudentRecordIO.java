@@ -2,14 +2,22 @@ package edu.ncsu.csc216.pack_scheduler.io;
 
 import java.io.FileInputStream;
 
-import java.io.PrintWriter;
-import java.io.FileOutputStream;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -49,94 +57,347 @@ public class StudentRecordIO {
 //		fileReader.close();
 //		return students;
 		
-		 Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-		    SortedList<Student> students = new SortedList<>(); //Create an empty array of Course objects
-		    while (fileReader.hasNextLine()) { //While we have more lines in the file
-		        try { //Attempt to do the following
-		            //Read the line, process it in readStudent, and get the object
-		            //If trying to construct a student in readStudent() results in an exception, flow of control will transfer to the catch block, below
-		            Student student = readStudent(fileReader.nextLine()); 
-
-		            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-		            boolean duplicate = false;
-		            //Look at all the courses in our list
-		            for (int i = 0; i < students.size(); i++) {
-		                //Get the course at index i
-		                Student current = students.get(i);
-		                //Check if the name and section are the same
-		                if (student.getFirstName().equals(current.getFirstName()) &&
-		                        student.getLastName().equals(current.getLastName())) {
-		                    //It's a duplicate!
-		                    duplicate = true;
-		                    break; //We can break out of the loop, no need to continue searching
-		                }
-		            }
-		            //If the course is NOT a duplicate
-		            if (!duplicate) {
-		                students.add(student); //Add to the ArrayList!
-		            } //Otherwise ignore
-		        } catch (IllegalArgumentException e) {
-		            //The line is invalid b/c we couldn't create a course, skip it!
-		        }
-		    }
-		    //Close the Scanner b/c we're responsible with our file handles
-		    fileReader.close();
-		    //Return the ArrayList with all the courses we read!
-		    return students;
+		return readStudentRecords(fileName, RecordReader.BUFFERED);
+	}
+	
+	/**
+	 * Reads student records from a file the same way as readStudentRecords(String),
+	 * using the given RecordReader to read the file.
+	 * @param fileName file to read Student records from
+	 * @param reader how to read the file
+	 * @return a Sorted list of valid Students
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName, RecordReader reader) throws FileNotFoundException {
+		SortedList<Student> students = new SortedList<>(); //Create an empty array of Course objects
+		//First and last names and ids of the Students read so far, used to find duplicates
+		HashSet<String> names = new HashSet<String>();
+		HashSet<String> ids = new HashSet<String>();
+		reader.read(fileName, fields -> {
+			try { //Attempt to do the following
+				//Process the line in readStudent, and get the object
+				//If trying to construct a student in readStudent() results in an exception, flow of control will transfer to the catch block, below
+				Student student = readStudent(fields);
+				
+				//Students with the same first and last name or id as one read earlier are duplicates, and are ignored
+				if (isFirst(student, names, ids)) {
+					students.add(student);
+				}
+			} catch (IllegalArgumentException e) {
+				//The line is invalid b/c we couldn't create a student, skip it!
+			}
+		});
+		//Return the list with all the students we read!
+		return students;
+	}
+	
+	/**
+	 * Reads student records from a file the same way as readStudentRecords(), but
+	 * parses the file in parallel. The file is split into chunks that start at the
+	 * beginning of a line, and the chunks are parsed on the fork/join common pool.
+	 * When two Students have the same first and last name or id, the one earlier in
+	 * the file is kept, so the result is the same as reading the file in order.
+	 * 
+	 * The Students are returned in a SkipList built straight from the sorted
+	 * chunks, rather than a SortedList, which would insert them one at a time.
+	 * 
+	 * @param fileName file to read Student records from
+	 * @return a sorted list of valid Students
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read
+	 */
+	public static SkipList<Student> readStudentRecordsParallel(String fileName) throws IOException {
+		return readStudentRecordsParallel(fileName, Runtime.getRuntime().availableProcessors() * 4);
+	}
+	
+	/**
+	 * Reads student records from a file in parallel, splitting it into about the
+	 * given number of chunks.
+	 * 
+	 * Duplicates are found in three steps. While parsing, each chunk records the
+	 * position of every Student in concurrent maps of the first position each id
+	 * and name appears at. A Student who's first for both their id and name is
+	 * kept, which is almost every Student, and their id and name are claimed in
+	 * concurrent sets. No earlier Student shares either, so no later Student with
+	 * the same id or name can be kept. The remaining Students are checked in file
+	 * order against the claimed ids and names, which is only needed because a
+	 * duplicate doesn't claim its id or name, so the Student after it with one of
+	 * them may still be kept.
+	 * 
+	 * @param fileName file to read Student records from
+	 * @param chunks number of chunks to split the file into
+	 * @return a sorted list of valid Students
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @throws IOException if the file cannot be read
+	 */
+	static SkipList<Student> readStudentRecordsParallel(String fileName, int chunks) throws IOException {
+		String text;
+		try (InputStream in = new FileInputStream(fileName)) {
+			text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		
+		// Move each chunk boundary forward to the start of a line
+		int[] starts = new int[Math.max(1, chunks) + 1];
+		for (int i = 1; i < starts.length - 1; i++) {
+			int start = Math.max(starts[i - 1], (int) ((long) text.length() * i / (starts.length - 1)));
+			while (start < text.length() && !isLineStart(text, start)) {
+				start++;
+			}
+			starts[i] = start;
+		}
+		starts[starts.length - 1] = text.length();
+		int count = starts.length - 1;
+		
+		// The valid Students in each chunk, in the order they appear, and the first
+		// position in the file of each id and name
+		List<List<Student>> parsed = new ArrayList<List<Student>>(Collections.nCopies(count, null));
+		ConcurrentHashMap<String, Long> firstById = new ConcurrentHashMap<String, Long>();
+		ConcurrentHashMap<String, Long> firstByName = new ConcurrentHashMap<String, Long>();
+		IntStream.range(0, count).parallel().forEach(chunk -> {
+			List<Student> chunkStudents = new ArrayList<Student>();
+			RecordTokenizer tokenizer = new RecordTokenizer();
+			int position = starts[chunk];
+			while (position < starts[chunk + 1]) {
+				int end = position;
+				while (end < text.length() && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+					end++;
+				}
+				try {
+					Student student = readStudent(tokenizer.reset(text.substring(position, end)));
+					Long here = position(chunk, chunkStudents.size());
+					firstById.merge(student.getId(), here, Math::min);
+					firstByName.merge(nameKey(student), here, Math::min);
+					chunkStudents.add(student);
+				} catch (IllegalArgumentException e) {
+					// The line is invalid, skip it!
+				}
+				if (end < text.length() && text.charAt(end) == '\r' && end + 1 < text.length() && text.charAt(end + 1) == '\n') {
+					end++;
+				}
+				position = end + 1;
+			}
+			parsed.set(chunk, chunkStudents);
+		});
+		
+		// Keep the Students first for their id and name, and sort each chunk's
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		Set<String> names = ConcurrentHashMap.newKeySet();
+		List<List<Student>> kept = new ArrayList<List<Student>>(Collections.nCopies(count + 1, null));
+		List<List<Student>> contested = new ArrayList<List<Student>>(Collections.nCopies(count, null));
+		IntStream.range(0, count).parallel().forEach(chunk -> {
+			List<Student> chunkKept = new ArrayList<Student>();
+			List<Student> chunkContested = new ArrayList<Student>();
+			List<Student> chunkStudents = parsed.get(chunk);
+			for (int i = 0; i < chunkStudents.size(); i++) {
+				Student student = chunkStudents.get(i);
+				Long here = position(chunk, i);
+				String name = nameKey(student);
+				if (here.equals(firstById.get(student.getId())) && here.equals(firstByName.get(name))) {
+					ids.add(student.getId());
+					names.add(name);
+					chunkKept.add(student);
+				} else {
+					chunkContested.add(student);
+				}
+			}
+			Collections.sort(chunkKept);
+			kept.set(chunk, chunkKept);
+			contested.set(chunk, chunkContested);
+		});
+		
+		// Check the rest in file order, the same as reading the file in order
+		List<Student> late = new ArrayList<Student>();
+		for (List<Student> chunkContested : contested) {
+			for (Student student : chunkContested) {
+				if (isFirst(student, names, ids)) {
+					late.add(student);
+				}
+			}
+		}
+		Collections.sort(late);
+		kept.set(count, late);
+		return SkipList.fromSorted(merge(kept));
+	}
+	
+	/**
+	 * Returns the position of a Student in the file, ordered by chunk and then by
+	 * the Student's place in the chunk.
+	 * 
+	 * @param chunk the chunk the Student was read from
+	 * @param index the Student's index among the valid Students in the chunk
+	 * @return the Student's position
+	 */
+	private static Long position(int chunk, int index) {
+		return ((long) chunk << Integer.SIZE) | index;
+	}
+	
+	/**
+	 * Merges sorted lists of Students into one sorted list. Each Student is
+	 * taken from the front of the list whose next Student comes first, so the
+	 * merge takes time proportional to the number of Students times the log of
+	 * the number of lists.
+	 * 
+	 * @param runs the sorted lists
+	 * @return all the Students, sorted
+	 */
+	private static List<Student> merge(List<List<Student>> runs) {
+		int total = 0;
+		// The queue orders each run by the Student at its front
+		PriorityQueue<Run> queue = new PriorityQueue<Run>(Math.max(1, runs.size()));
+		for (List<Student> run : runs) {
+			total += run.size();
+			if (!run.isEmpty()) {
+				queue.add(new Run(run.iterator()));
+			}
+		}
+		List<Student> merged = new ArrayList<Student>(total);
+		while (!queue.isEmpty()) {
+			Run run = queue.poll();
+			merged.add(run.front);
+			if (run.advance()) {
+				queue.add(run);
+			}
+		}
+		return merged;
+	}
+	
+	/**
+	 * A sorted list of Students being merged, with the Student at its front.
+	 */
+	private static class Run implements Comparable<Run> {
+		
+		/** Students after the front */
+		private final Iterator<Student> rest;
+		
+		/** Student at the front of the run */
+		private Student front;
+		
+		/**
+		 * Constructs a run of the Students from a non-empty iterator.
+		 * 
+		 * @param students the Students, sorted
+		 */
+		Run(Iterator<Student> students) {
+			rest = students;
+			front = students.next();
+		}
+		
+		/**
+		 * Moves to the next Student in the run.
+		 * 
+		 * @return true if there was one, false if the run is done
+		 */
+		boolean advance() {
+			if (!rest.hasNext()) {
+				return false;
+			}
+			front = rest.next();
+			return true;
+		}
+		
+		@Override
+		public int compareTo(Run other) {
+			return front.compareTo(other.front);
+		}
+	}
+	
+	/**
+	 * Returns true if the given index of the text is the start of a line.
+	 * 
+	 * @param text the text to check
+	 * @param index the index to check
+	 * @return true if a line starts at the index
+	 */
+	private static boolean isLineStart(String text, int index) {
+		if (index == 0) {
+			return true;
+		}
+		char previous = text.charAt(index - 1);
+		return previous == '\n' || previous == '\r' && text.charAt(index) != '\n';
+	}
+	
+	/**
+	 * Returns the key used to find Students with the same first and last name.
+	 * 
+	 * @param student the student
+	 * @return the student's first and last name
+	 */
+	private static String nameKey(Student student) {
+		return student.getFirstName() + "," + student.getLastName();
+	}
+	
+	/**
+	 * Returns true if no Student read earlier has the given Student's first and
+	 * last name or id, and records them if so.  A Student that's a duplicate
+	 * doesn't claim their name or id.
+	 * 
+	 * @param student the student
+	 * @param names first and last names of the Students kept so far
+	 * @param ids ids of the Students kept so far
+	 * @return true if the student isn't a duplicate
+	 */
+	private static boolean isFirst(Student student, Set<String> names, Set<String> ids) {
+		String name = nameKey(student);
+		if (names.contains(name) || ids.contains(student.getId())) {
+			return false;
+		}
+		names.add(name);
+		ids.add(student.getId());
+		return true;
 	}
 
 	/**
-	 * Writes the list of Students to a file
+	 * Writes the list of Students to a file. The file is only replaced once
+	 * every Student has been written, so a failed write leaves it as it was.
 	 * @param fileName file to be written to
 	 * @param studentDirectory list of students to write to the file
 	 * @throws IOException if cannot write to file
 	 */
 	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
 		
-		PrintWriter printWriter = new PrintWriter(new FileOutputStream(new File(fileName)));
-		
-		for(int i = 0; i < studentDirectory.size(); i++) {
-			printWriter.println(studentDirectory.get(i).toString());
+		try (RecordWriter writer = new RecordWriter(fileName)) {
+			for(int i = 0; i < studentDirectory.size(); i++) {
+				writer.writeLine(studentDirectory.get(i).toString());
+			}
+			writer.commit();
+		}
+	}
+	
+	/**
+	 * Writes the Students to a file, in the order given. The file is only
+	 * replaced once every Student has been written, so a failed write leaves it
+	 * as it was.
+	 * @param fileName file to be written to
+	 * @param students students to write to the file
+	 * @throws IOException if cannot write to file
+	 */
+	public static void writeStudentRecords(String fileName, Iterable<Student> students) throws IOException {
+		try (RecordWriter writer = new RecordWriter(fileName)) {
+			for (Student s : students) {
+				writer.writeLine(s.toString());
+			}
+			writer.commit();
 		}
-		printWriter.close();
 	}
 	
 	/**
 	 * Reads Student information from a line of a file
-	 * @param line line to be read
+	 * @param lineProcessor fields of the line to be read
 	 * @return Student object for line read
 	 * @throws IllegalArgumentException if student is invalid
 	 */
-	private static Student readStudent(String line) {
-		int numberOfToken = 0;
-		try (Scanner lineProcessor = new Scanner(line).useDelimiter(",")) {
-			try {
-				int maxCredits = 18;
-				
-				String firstName = lineProcessor.next();
-				numberOfToken++;
-				String lastName = lineProcessor.next();
-				numberOfToken++;
-				String id = lineProcessor.next();
-				numberOfToken++;
-				String email = lineProcessor.next();
-				numberOfToken++;
-				String password = lineProcessor.next();
-				numberOfToken++;
-				if(lineProcessor.hasNext()) {
-					maxCredits = Integer.parseInt(lineProcessor.next());
-					numberOfToken++;
-				}
-				 
-				if(numberOfToken != 6) {
-					throw new IllegalArgumentException();
-				}
-				return new Student(firstName, lastName, id, email, password, maxCredits);
-			} catch(Exception e) {
-				throw new IllegalArgumentException();
-			}
+	private static Student readStudent(RecordFields lineProcessor) {
+		try {
+			String firstName = lineProcessor.next();
+			String lastName = lineProcessor.next();
+			String id = lineProcessor.next();
+			String email = lineProcessor.next();
+			String password = lineProcessor.next();
+			int maxCredits = lineProcessor.nextInt();
+			return new Student(firstName, lastName, id, email, password, maxCredits);
+		} catch(Exception e) {
+			throw new IllegalArgumentException();
 		}
-		
 	}
 
 }
\ No newline at end of file
@@ -4,16 +4,26 @@ import java.io.FileInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal.Event;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO.Snapshot;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
@@ -22,6 +32,7 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 /**
  * Manages the registration system for students and the registrar.
  * Handles course catalog, student directory, and user authentication.
+ * Any number of users can be logged in at once, each through their own Session.
  * Uses the singleton design pattern.
  * @author Priyanshu Dongre, Suyash Patel
  */
@@ -37,8 +48,18 @@ public class RegistrationManager {
     private FacultyDirectory facultyDirectory;
     /** Registrar user for the system */
     private User registrar;
-    /** Currently logged-in user */
-    private User currentUser = null;
+    /** Open sessions, keyed by token */
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+    /** Session of the user logged in through login(), or null if there isn't one */
+    private volatile Session currentSession = null;
+    /** Journal that enrollment changes are recorded in, or null if there isn't one */
+    private volatile EnrollmentJournal journal = null;
+    /** Snapshot the journal is compacted into */
+    private String journalSnapshotFile;
+    /** Held shared while a change is made, and exclusively while a snapshot is taken or the journal is replayed */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    /** Number of events the journal holds before it's compacted into a snapshot */
+    private static final int COMPACT_THRESHOLD = 10000;
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 	
@@ -98,7 +119,7 @@ public class RegistrationManager {
      * Returns the singleton instance of the RegistrationManager.
      * @return the RegistrationManager instance
      */
-	public static RegistrationManager getInstance() {
+	public static synchronized RegistrationManager getInstance() {
 		if (instance == null) {
 			instance = new RegistrationManager();
 		}
@@ -134,74 +155,405 @@ public class RegistrationManager {
 	
 	/**
      * Logs in a user by verifying their ID and password. Supports both students and registrar.
+     * The user becomes the current user, so only one user can be logged in through this
+     * method at a time. Use openSession() to log in alongside other users.
      * @param id the user's ID
      * @param password the user's plain text password
      * @return true if login is successful, false otherwise
      */
-	public boolean login(String id, String password) {
+	public synchronized boolean login(String id, String password) {
 		
 		//User cannot login, if somebody is already logged in.
-		if(currentUser != null) {
+		if(currentSession != null) {
 			return false;
 		}
 		
+		Session session = openSession(id, password);
+		if(session == null) {
+			return false;
+		}
+		currentSession = session;
+		return true;
+	}
+
+	
+	/**
+     * Logs out the current user by closing their session.
+     */
+	public synchronized void logout() {
+		if(currentSession != null) {
+			closeSession(currentSession);
+			currentSession = null;
+		}
+	}
+
+	/**
+     * Gets the currently logged-in user.
+     * @return the current user, or null if no user is logged in
+     */
+	public User getCurrentUser() {
+		Session session = currentSession;
+		return session == null ? null : session.getUser();
+	}
+	
+	/**
+	 * Gets the session of the user logged in through login().
+	 * @return the current session, or null if no user is logged in
+	 */
+	public Session getCurrentSession() {
+		return currentSession;
+	}
+	
+	/**
+	 * Opens a new session for a user by verifying their ID and password. Supports
+	 * students, faculty, and the registrar. Unlike login(), any number of sessions
+	 * can be open at once, including several for the same user.
+	 * @param id the user's ID
+	 * @param password the user's plain text password
+	 * @return the new session, or null if the password is incorrect
+	 * @throws IllegalArgumentException if no user has the given ID
+	 */
+	public Session openSession(String id, String password) {
 		Student s = studentDirectory.getStudentById(id);
 		
 		Faculty f = facultyDirectory.getFacultyById(id);
 
 		String localHashPW = hashPW(password);
 		
+		User user = null;
 		if(s != null) {
-			if(s.getPassword().equals(localHashPW)) {
-				currentUser = s;
-				return true;	
-			} else {
-				return false;
-			}
+			user = s;
 		} else if(f != null) {
-			if(f.getPassword().equals(localHashPW)) {
-				currentUser = f;
-				return true;	
-			} else {
-				return false;
-			}
+			user = f;
+		} else if(registrar.getId().equals(id)) {
+			user = registrar;
 		} else {
-			if(registrar.getId().equals(id)) {
-				if(registrar.getPassword().equals(localHashPW)) {
-					currentUser = registrar;
-					return true;
-				}
-				return false;
-			}
+			throw new IllegalArgumentException("User doesn't exist.");
 		}
 		
-		throw new IllegalArgumentException("User doesn't exist.");		
+		if(!user.getPassword().equals(localHashPW)) {
+			return null;
+		}
+		
+		Session session = new Session(UUID.randomUUID().toString(), user);
+		sessions.put(session.getToken(), session);
+		return session;
 	}
-
 	
 	/**
-     * Logs out the current user by resetting the currentUser to the registrar.
-     */
-	public void logout() {
-		currentUser = null;
+	 * Closes the given session. Closing a session that is already closed does nothing.
+	 * @param session the session to close
+	 */
+	public void closeSession(Session session) {
+		if(session != null) {
+			sessions.remove(session.getToken(), session);
+			session.close();
+		}
 	}
-
+	
 	/**
-     * Gets the currently logged-in user.
-     * @return the current user, or null if no user is logged in
-     */
-	public User getCurrentUser() {
-		return currentUser;
+	 * Returns the open session with the given token.
+	 * @param token the session's token
+	 * @return the open session with the token, or null if there isn't one
+	 */
+	public Session getSession(String token) {
+		if(token == null) {
+			return null;
+		}
+		return sessions.get(token);
+	}
+	
+	/**
+	 * Returns the student logged in to the given session.
+	 * @param session the session to check
+	 * @return the session's student
+	 * @throws IllegalArgumentException if the session is not open or doesn't belong to a student
+	 */
+	private Student getSessionStudent(Session session) {
+		if (session == null || !session.isOpen() || !(session.getUser() instanceof Student)) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
+		return (Student)session.getUser();
+	}
+	
+	/**
+	 * Checks that the given session belongs to the registrar.
+	 * @param session the session to check
+	 * @throws IllegalArgumentException if the session is not open or doesn't belong to the registrar
+	 */
+	private void checkRegistrarSession(Session session) {
+		if (session == null || !session.isOpen() || !session.getUser().equals(registrar)) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
 	}
 	
 	
 	/**
-     * Clears the course catalog and student directory data.
+     * Clears the course catalog and student directory data.  Every student and
+     * faculty session is closed, since its user is no longer in a directory.
      */
 	public void clearData() {
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
 		facultyDirectory.newFacultyDirectory();
+		closeUserSessions();
+	}
+	
+	/**
+	 * Closes every open student and faculty session, including the current one
+	 * if it's a student's or faculty member's.  Called when the directories are
+	 * replaced, so that a session can't keep acting for a user, and on Course
+	 * rolls, that the new directories don't hold.  The registrar isn't replaced,
+	 * so the registrar's sessions stay open.
+	 */
+	private synchronized void closeUserSessions() {
+		for (Session session : sessions.values()) {
+			if (!session.getUser().equals(registrar)) {
+				closeSession(session);
+			}
+		}
+		if (currentSession != null && !currentSession.isOpen()) {
+			currentSession = null;
+		}
+	}
+	
+	/**
+	 * Saves the course catalog, the student and faculty directories, and every
+	 * enrollment, waitlist, and faculty assignment to a snapshot file. Changes wait
+	 * while the snapshot is taken, so it never catches one partway through. If a
+	 * journal is open, the snapshot records how many of its events it includes.
+	 * @param fileName file to save the snapshot to
+	 * @throws IllegalArgumentException if the file can't be written
+	 */
+	public void saveSnapshot(String fileName) {
+		stateLock.writeLock().lock();
+		try {
+			EnrollmentJournal j = journal;
+			SnapshotIO.writeSnapshot(fileName, courseCatalog.getCourses(), studentDirectory.getStudents(),
+					facultyDirectory.getFaculty(), j == null ? 0 : j.getGeneration(), j == null ? 0 : j.size());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		} finally {
+			stateLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Replaces the course catalog and the student and faculty directories with the
+	 * ones in a snapshot file.  Every student and faculty session is closed.
+	 * @param fileName file to load the snapshot from
+	 * @throws IllegalArgumentException if the file can't be read or isn't a valid snapshot
+	 */
+	public void loadSnapshot(String fileName) {
+		readSnapshot(fileName);
+	}
+	
+	/**
+	 * Replaces the course catalog and the student and faculty directories with the
+	 * ones in a snapshot file, and returns the snapshot.
+	 * @param fileName file to load the snapshot from
+	 * @return the snapshot
+	 * @throws IllegalArgumentException if the file can't be read or isn't a valid snapshot
+	 */
+	private Snapshot readSnapshot(String fileName) {
+		Snapshot snapshot;
+		try {
+			snapshot = SnapshotIO.readSnapshot(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		stateLock.writeLock().lock();
+		try {
+			courseCatalog.loadCourses(snapshot.getCourses());
+			studentDirectory.loadStudents(snapshot.getStudents());
+			facultyDirectory.loadFaculty(snapshot.getFaculty());
+			closeUserSessions();
+		} finally {
+			stateLock.writeLock().unlock();
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Starts recording enrollment changes in a journal, after bringing the system
+	 * up to date from an earlier run. The snapshot, if there is one, replaces the
+	 * current catalog and directories; otherwise they're used as they are. Every
+	 * change in the journal that the snapshot doesn't already include is then made
+	 * again, in order. From then on each
+	 * enrollment, drop, waitlist promotion, and faculty assignment is appended to
+	 * the journal, and the journal is compacted into the snapshot once it grows
+	 * large.
+	 * @param snapshotFile snapshot to start from and compact the journal into
+	 * @param journalFile journal to replay and append changes to
+	 * @throws IllegalArgumentException if the snapshot or journal can't be read
+	 */
+	public void openJournal(String snapshotFile, String journalFile) {
+		stateLock.writeLock().lock();
+		try {
+			closeJournal();
+			long generation = 0;
+			int included = 0;
+			if (Files.exists(Paths.get(snapshotFile))) {
+				Snapshot snapshot = readSnapshot(snapshotFile);
+				generation = snapshot.getJournalGeneration();
+				included = snapshot.getJournalEvents();
+			}
+			EnrollmentJournal opened = new EnrollmentJournal(journalFile);
+			if (opened.getGeneration() < generation) {
+				// The journal was compacted into the snapshot, but stopped before it was emptied
+				opened.truncate(generation);
+			} else {
+				List<Event> events = EnrollmentJournal.readEvents(journalFile);
+				int first = opened.getGeneration() == generation ? Math.min(included, events.size()) : 0;
+				for (Event event : events.subList(first, events.size())) {
+					replay(event);
+				}
+			}
+			journalSnapshotFile = snapshotFile;
+			journal = opened;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + journalFile);
+		} finally {
+			stateLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Writes every change to a new snapshot and empties the journal, starting its
+	 * next generation. The snapshot is written to a temporary file, forced to disk,
+	 * and moved into place, and the move is forced to disk before the journal is
+	 * emptied. A crash leaves either the old snapshot and journal, or the new
+	 * snapshot; if the journal wasn't emptied yet, its generation is older than the
+	 * snapshot's, so its events aren't made again.
+	 * @throws IllegalArgumentException if no journal is open or the snapshot can't be written
+	 */
+	public void compactJournal() {
+		stateLock.writeLock().lock();
+		try {
+			if (journal == null) {
+				throw new IllegalArgumentException("No journal is open.");
+			}
+			long generation = journal.getGeneration() + 1;
+			// The snapshot is on disk before writeSnapshot() returns, so the journal can be emptied
+			SnapshotIO.writeSnapshot(journalSnapshotFile, courseCatalog.getCourses(), studentDirectory.getStudents(),
+					facultyDirectory.getFaculty(), generation, 0);
+			journal.truncate(generation);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + journalSnapshotFile);
+		} finally {
+			stateLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Writes out any changes not yet in the journal and stops recording changes.
+	 * @throws IllegalArgumentException if the journal can't be written
+	 */
+	public void closeJournal() {
+		stateLock.writeLock().lock();
+		try {
+			if (journal != null) {
+				journal.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to journal");
+		} finally {
+			journal = null;
+			stateLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Makes a change from the journal again. Changes that no longer apply, such as
+	 * ones for a course that isn't in the catalog, are skipped. Promotions aren't
+	 * replayed on their own, since making the drop again gives the same student
+	 * the seat.
+	 * @param event the change to make
+	 */
+	private void replay(Event event) {
+		Course c = courseCatalog.getCourseFromCatalog(event.getName(), event.getSection());
+		if (c == null) {
+			return;
+		}
+		try {
+			switch (event.getType()) {
+			case EnrollmentJournal.ENROLL:
+				Student enrolling = studentDirectory.getStudentById(event.getUserId());
+				if (enrolling != null) {
+					enroll(enrolling, c);
+				}
+				break;
+			case EnrollmentJournal.DROP:
+				Student dropping = studentDirectory.getStudentById(event.getUserId());
+				if (dropping != null) {
+					drop(dropping, c);
+				}
+				break;
+			case EnrollmentJournal.ASSIGN:
+				Faculty assigned = facultyDirectory.getFacultyById(event.getUserId());
+				if (assigned != null) {
+					assignFaculty(c, assigned);
+				}
+				break;
+			case EnrollmentJournal.UNASSIGN:
+				Faculty unassigned = facultyDirectory.getFacultyById(event.getUserId());
+				if (unassigned != null) {
+					unassignFaculty(c, unassigned);
+				}
+				break;
+			default:
+				break;
+			}
+		} catch (IllegalArgumentException e) {
+			// The change was already made
+		}
+	}
+	
+	/**
+	 * Appends a change to the journal, if there is one.
+	 * @param type kind of change
+	 * @param userId id of the student or faculty member
+	 * @param c Course that changed
+	 */
+	private void record(byte type, String userId, Course c) {
+		EnrollmentJournal j = journal;
+		if (j != null) {
+			j.append(type, userId, c.getName(), c.getSection());
+		}
+	}
+	
+	/**
+	 * Waits until the changes appended to the journal are on disk. Changes made by
+	 * other threads at the same time are written with the same fsync.
+	 * @throws IllegalArgumentException if the journal can't be written
+	 */
+	private void commitJournal() {
+		EnrollmentJournal j = journal;
+		if (j != null) {
+			try {
+				j.sync();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to journal");
+			}
+		}
+	}
+	
+	/**
+	 * Compacts the journal if it has grown past COMPACT_THRESHOLD events.
+	 */
+	private void compactJournalIfFull() {
+		EnrollmentJournal j = journal;
+		if (j != null && j.size() >= COMPACT_THRESHOLD) {
+			stateLock.writeLock().lock();
+			try {
+				// Another thread may have compacted it while this one waited
+				if (journal != null && journal.size() >= COMPACT_THRESHOLD) {
+					compactJournal();
+				}
+			} finally {
+				stateLock.writeLock().unlock();
+			}
+		}
 	}
 	
 	/**
@@ -210,26 +562,87 @@ public class RegistrationManager {
 	 * @return true if enrolled
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-	    if (!(currentUser instanceof Student)) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
+		return enrollStudentInCourse(currentSession, c);
+	}
+	
+	/**
+	 * Returns true if the student logged in to the given session can enroll in the given course.
+	 * A seat is reserved before any lock is taken, so students competing for a section's seats
+	 * only wait on each other to confirm them, and a full section turns students away without
+	 * waiting at all. The course roll and then the student's schedule are locked while checking
+	 * and enrolling, so students enrolling in different sections don't wait on each other and a
+	 * section's seats are never oversold.
+	 * @param session the student's session
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+	    Student s = getSessionStudent(session);
+	    stateLock.readLock().lock();
 	    try {
-	        Student s = (Student)currentUser;
-	        Schedule schedule = s.getSchedule();
-	        
-	        
-	        CourseRoll roll = c.getCourseRoll();
-	        
-	        if (s.canAdd(c) && roll.canEnroll(s)) {
-	            schedule.addCourseToSchedule(c);
-	            roll.enroll(s);
-	            return true;
-	        }
-	        
-	    } catch (IllegalArgumentException e) {
-	        return false;
+	    	if (!enroll(s, c)) {
+	    		return false;
+	    	}
+	    	commitJournal();
+	    } finally {
+	    	stateLock.readLock().unlock();
+	    }
+	    compactJournalIfFull();
+	    return true;
+	}
+	
+	/**
+	 * Enrolls a student in a course, recording the enrollment in the journal.  A
+	 * seat is reserved without locking, then confirmed for the student under the
+	 * roll's and schedule's locks.  If the student can't take it, the seat is
+	 * released after the schedule is unlocked, since releasing it may promote a
+	 * waitlisted student and lock their schedule.  Without a seat, the student is
+	 * waitlisted if there's room.
+	 * @param s Student to enroll
+	 * @param c Course to enroll in
+	 * @return true if enrolled or waitlisted
+	 */
+	private boolean enroll(Student s, Course c) {
+	    Schedule schedule = s.getSchedule();
+	    CourseRoll roll = c.getCourseRoll();
+	    
+	    //Turn the student away without waiting on the roll's lock if the section is full
+	    if (roll.isFull()) {
+	    	return false;
+	    }
+	    boolean reserved = roll.reserveSeat();
+	    
+	    synchronized (roll) {
+	    	boolean enrolled = false;
+	    	try {
+	    		synchronized (schedule) {
+	    			//The roll is changed first, since it's the one that can still refuse the student
+	    			if (s.canAdd(c) && (reserved || roll.canEnroll(s))) {
+	    				if (reserved) {
+	    					roll.confirmSeat(s);
+	    				} else {
+	    					roll.enroll(s);
+	    				}
+	    				schedule.addCourseToSchedule(c);
+	    				enrolled = true;
+	    			}
+	    		}
+	    	} catch (IllegalArgumentException e) {
+	    		//Not enrolled; a reserved seat is released below
+	    	} finally {
+	    		if (reserved && !enrolled) {
+	    			Student promoted = roll.releaseSeat();
+	    			if (promoted != null) {
+	    				record(EnrollmentJournal.PROMOTE, promoted.getId(), c);
+	    			}
+	    		}
+	    	}
+	    	if (enrolled) {
+	    		record(EnrollmentJournal.ENROLL, s.getId(), c);
+	    	}
+	    	return enrolled;
 	    }
-	    return false;
 	}
 
 	/**
@@ -238,14 +651,52 @@ public class RegistrationManager {
 	 * @return true if dropped
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
+		return dropStudentFromCourse(currentSession, c);
+	}
+	
+	/**
+	 * Returns true if the student logged in to the given session can drop the given course.
+	 * @param session the student's session
+	 * @param c Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+		Student s = getSessionStudent(session);
+		boolean dropped;
+		stateLock.readLock().lock();
+		try {
+			dropped = drop(s, c);
+			commitJournal();
+		} finally {
+			stateLock.readLock().unlock();
+		}
+		compactJournalIfFull();
+		return dropped;
+	}
+	
+	/**
+	 * Drops a student from a course, recording the drop and any waitlist promotion
+	 * in the journal.  Only the roll is locked while the student is dropped, since
+	 * promoting a student off the waitlist locks their schedule, and holding the
+	 * dropping student's schedule too could deadlock with a drop from another
+	 * course promoting the other way.
+	 * @param s Student to drop
+	 * @param c Course to drop
+	 * @return true if the course was on the student's schedule
+	 */
+	private boolean drop(Student s, Course c) {
 	    try {
-	        Student s = (Student)currentUser;
-	        
-	        c.getCourseRoll().drop(s);
-	        return s.getSchedule().removeCourseFromSchedule(c);
+	    	CourseRoll roll = c.getCourseRoll();
+	    	Schedule schedule = s.getSchedule();
+	    	synchronized (roll) {
+	    		Student promoted = roll.drop(s);
+	    		record(EnrollmentJournal.DROP, s.getId(), c);
+	    		if (promoted != null) {
+	    			record(EnrollmentJournal.PROMOTE, promoted.getId(), c);
+	    		}
+	    		return schedule.removeCourseFromSchedule(c);
+	    	}
 	    } catch (IllegalArgumentException e) {
 	        return false; 
 	    }
@@ -256,21 +707,34 @@ public class RegistrationManager {
 	 * from every course and then resetting the schedule.
 	 */
 	public void resetSchedule() {
-	    if (!(currentUser instanceof Student)) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
+		resetSchedule(currentSession);
+	}
+	
+	/**
+	 * Resets the schedule of the student logged in to the given session by
+	 * dropping them from every course and then resetting the schedule.
+	 * Each course is dropped under its own roll lock.
+	 * @param session the student's session
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public void resetSchedule(Session session) {
+	    Student s = getSessionStudent(session);
+	    stateLock.readLock().lock();
 	    try {
-	        Student s = (Student)currentUser;
 	        Schedule schedule = s.getSchedule();
 	        String [][] scheduleArray = schedule.getScheduledCourses();
 	        for (int i = 0; i < scheduleArray.length; i++) {
 	            Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-	            c.getCourseRoll().drop(s);
+	            drop(s, c);
 	        }
 	        schedule.resetSchedule();
+	        commitJournal();
 	    } catch (IllegalArgumentException e) {
 	        //do nothing 
+	    } finally {
+	    	stateLock.readLock().unlock();
 	    }
+	    compactJournalIfFull();
 	}
 
 	/**
@@ -282,15 +746,61 @@ public class RegistrationManager {
      * @throws IllegalArgumentException if the current user is not the registrar
      */
 	public boolean addFacultyToCourse(Course course, Faculty faculty) {
+		return addFacultyToCourse(currentSession, course, faculty);
+	}
+	
+	/**
+     * Adds a course to a faculty member's schedule on behalf of the registrar session.
+     * 
+     * @param session the registrar's session
+     * @param course  the course to be added to the faculty's schedule
+     * @param faculty the faculty to whom the course is being assigned
+     * @return true if the course is successfully added
+     * @throws IllegalArgumentException if the session is not an open registrar session
+     */
+	public boolean addFacultyToCourse(Session session, Course course, Faculty faculty) {
 		
-		if (currentUser == null || !(currentUser.equals(registrar))) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
+		checkRegistrarSession(session);
 		
+		stateLock.readLock().lock();
+		try {
+			assignFaculty(course, faculty);
+			commitJournal();
+		} finally {
+			stateLock.readLock().unlock();
+		}
+		compactJournalIfFull();
+		return true;
+	}
+	
+	/**
+	 * Assigns a course to a faculty member, recording the assignment in the journal.
+	 * The course's roll is locked so assignments to a course are journaled in the
+	 * order they're made.  The faculty's schedule locks itself after the roll, so
+	 * assignments of different courses to the same faculty don't interleave, and
+	 * the course's instructor is set while both are held.
+	 * @param course the course to assign
+	 * @param faculty the faculty to assign it to
+	 */
+	private void assignFaculty(Course course, Faculty faculty) {
+		synchronized (course.getCourseRoll()) {
 			faculty.getSchedule().addCourseToSchedule(course);
-			return true;
-			
-		
+			record(EnrollmentJournal.ASSIGN, faculty.getId(), course);
+		}
+	}
+	
+	/**
+	 * Removes a course from a faculty member, recording the change in the journal.
+	 * Locks the course's roll, then the faculty's schedule, as assignFaculty() does.
+	 * @param course the course to remove
+	 * @param faculty the faculty to remove it from
+	 */
+	private void unassignFaculty(Course course, Faculty faculty) {
+		synchronized (course.getCourseRoll()) {
+			if (faculty.getSchedule().removeCourseFromSchedule(course)) {
+				record(EnrollmentJournal.UNASSIGN, faculty.getId(), course);
+			}
+		}
 	}
 	
 	/**
@@ -302,13 +812,30 @@ public class RegistrationManager {
      * @throws IllegalArgumentException if the current user is not the registrar
      */
 	public boolean removeFacultyFromCourse(Course course, Faculty faculty) {
+		return removeFacultyFromCourse(currentSession, course, faculty);
+	}
+	
+	/**
+     * Removes a course from a faculty member's schedule on behalf of the registrar session.
+     * 
+     * @param session the registrar's session
+     * @param course  the course to be removed from the faculty's schedule
+     * @param faculty the faculty from whose schedule the course is being removed
+     * @return true if the course is successfully removed
+     * @throws IllegalArgumentException if the session is not an open registrar session
+     */
+	public boolean removeFacultyFromCourse(Session session, Course course, Faculty faculty) {
 		
-		if (currentUser == null || !(currentUser.equals(registrar))) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
-		
-		faculty.getSchedule().removeCourseFromSchedule(course);
+		checkRegistrarSession(session);
 		
+		stateLock.readLock().lock();
+		try {
+			unassignFaculty(course, faculty);
+			commitJournal();
+		} finally {
+			stateLock.readLock().unlock();
+		}
+		compactJournalIfFull();
 		return true;	
 	}
 	
@@ -319,13 +846,30 @@ public class RegistrationManager {
      * @throws IllegalArgumentException if the current user is not the registrar
      */
 	public void resetFacultySchedule(Faculty faculty) {
-		if (currentUser == null || !(currentUser.equals(registrar))) {
-	        throw new IllegalArgumentException("Illegal Action");
-	    }
-		
-			faculty.getSchedule().resetSchedule();
-		
+		resetFacultySchedule(currentSession, faculty);
+	}
+	
+	/**
+     * Resets a faculty member's schedule on behalf of the registrar session,
+     * clearing all assigned courses.
+     * 
+     * @param session the registrar's session
+     * @param faculty the faculty whose schedule is to be reset
+     * @throws IllegalArgumentException if the session is not an open registrar session
+     */
+	public void resetFacultySchedule(Session session, Faculty faculty) {
+		checkRegistrarSession(session);
 		
+		stateLock.readLock().lock();
+		try {
+			for (Course course : faculty.getSchedule().getCourses()) {
+				unassignFaculty(course, faculty);
+			}
+			commitJournal();
+		} finally {
+			stateLock.readLock().unlock();
+		}
+		compactJournalIfFull();
 	}
 	/**
      * Nested class representing the Registrar user.
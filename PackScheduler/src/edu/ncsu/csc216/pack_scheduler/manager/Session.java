@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * A session for a user logged in to the RegistrationManager.
+ * Each session is identified by a random token and holds the user that
+ * opened it, so many users can be logged in at the same time.
+ * Sessions are created and closed by the RegistrationManager.
+ *
+ * @author Priyanshu Dongre
+ */
+public class Session {
+
+	/** Token that identifies the session */
+	private final String token;
+
+	/** User logged in to the session */
+	private final User user;
+
+	/** True until the session is closed */
+	private volatile boolean open;
+
+	/**
+	 * Constructs an open session for the given user.
+	 *
+	 * @param token the token that identifies the session
+	 * @param user the user logged in to the session
+	 * @throws IllegalArgumentException if the token or user is null
+	 */
+	Session(String token, User user) {
+		if (token == null || user == null) {
+			throw new IllegalArgumentException("Invalid session.");
+		}
+		this.token = token;
+		this.user = user;
+		this.open = true;
+	}
+
+	/**
+	 * Returns the token that identifies the session.
+	 *
+	 * @return the session token
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Returns the user logged in to the session.
+	 *
+	 * @return the session's user
+	 */
+	public User getUser() {
+		return user;
+	}
+
+	/**
+	 * Returns true if the session has not been closed.
+	 *
+	 * @return true if the session is open
+	 */
+	public boolean isOpen() {
+		return open;
+	}
+
+	/**
+	 * Closes the session. A closed session can't be used for any action.
+	 */
+	void close() {
+		open = false;
+	}
+}
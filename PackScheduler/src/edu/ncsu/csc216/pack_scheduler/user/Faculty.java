@@ -40,6 +40,35 @@ public class Faculty extends User {
 		setMaxCourses(maxCourses);
 	}
 
+	/**
+	 * Constructs a Faculty with no fields set, for restore().
+	 */
+	private Faculty() {
+		super();
+	}
+
+	/**
+	 * Returns a Faculty with the given fields and an empty schedule, without
+	 * checking them. This is only for faculty restored from a snapshot, which were
+	 * valid when it was saved and whose checksum has been verified.
+	 * 
+	 * @param firstName  the faculty's first name
+	 * @param lastName   the faculty's last name
+	 * @param id         the faculty's ID
+	 * @param email      the faculty's email
+	 * @param password   the faculty's hashed password
+	 * @param maxCourses the maximum number of courses the faculty member can teach
+	 * @return the restored Faculty
+	 */
+	public static Faculty restore(String firstName, String lastName, String id, String email, String password,
+			int maxCourses) {
+		Faculty f = new Faculty();
+		f.restoreUser(firstName, lastName, id, email, password);
+		f.schedule = new FacultySchedule(id);
+		f.maxCourses = maxCourses;
+		return f;
+	}
+
 	/**
 	 * Sets the maximum number of courses this faculty member can teach.
 	 * 
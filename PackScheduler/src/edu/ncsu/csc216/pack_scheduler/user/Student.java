@@ -65,6 +65,35 @@ public class Student extends User implements Comparable<Student> {
 
 	}
 
+	/**
+	 * Constructs a Student with no fields set and an empty schedule, for restore().
+	 */
+	private Student() {
+		super();
+		this.schedule = new Schedule();
+	}
+
+	/**
+	 * Returns a Student with the given fields and an empty schedule, without
+	 * checking them. This is only for Students restored from a snapshot, which were
+	 * valid when it was saved and whose checksum has been verified.
+	 * 
+	 * @param firstName  student's first name
+	 * @param lastName   student's last name
+	 * @param id         student's id
+	 * @param email      student's email
+	 * @param password   student's hashed password
+	 * @param maxCredits student's maximum allowed number of credits
+	 * @return the restored Student
+	 */
+	public static Student restore(String firstName, String lastName, String id, String email, String password,
+			int maxCredits) {
+		Student s = new Student();
+		s.restoreUser(firstName, lastName, id, email, password);
+		s.maxCredits = maxCredits;
+		return s;
+	}
+
 	/**
 	 * gets the max credits allowed for a Student object
 	 * 
@@ -5,6 +5,8 @@ package edu.ncsu.csc216.pack_scheduler.user;
 
 import java.util.Objects;
 
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
 /**
  * Represents an abstract user in the system, such as a student or registrar.
  * A user has basic information like first name, last name, ID, email, and password.
@@ -48,6 +50,31 @@ public abstract class User {
 		setPassword(password);
 	}
 	
+	/**
+	 * Constructs a User with no fields set, for a subclass that sets them with
+	 * restoreUser().
+	 */
+	protected User() {
+		super();
+	}
+	
+	/**
+	 * Sets every field of the user without checking them, for a user restored
+	 * from a snapshot that was valid when it was saved.
+	 * @param firstName the first name of the user
+	 * @param lastName the last name of the user
+	 * @param id the ID of the user
+	 * @param email the email of the user
+	 * @param password the user's hashed password
+	 */
+	protected void restoreUser(String firstName, String lastName, String id, String email, String password) {
+		this.firstName = StringPool.canonical(firstName);
+		this.lastName = StringPool.canonical(lastName);
+		this.id = id;
+		this.email = email;
+		this.password = StringPool.canonical(password);
+	}
+	
 	/**
 	 * sets the first name of the user, if it is not empty
 	 * @param firstName the firstName to set
@@ -58,7 +85,7 @@ public abstract class User {
 		if(firstName == null || firstName.length() == 0) {
 			throw new IllegalArgumentException("Invalid first name");
 		}
-		this.firstName = firstName;
+		this.firstName = StringPool.canonical(firstName);
 	}
 
 
@@ -70,7 +97,7 @@ public abstract class User {
 		if(lastName == null || lastName.length() == 0) {
 			throw new IllegalArgumentException("Invalid last name");
 		}
-		this.lastName = lastName;
+		this.lastName = StringPool.canonical(lastName);
 	}
 
 
@@ -122,7 +149,7 @@ public abstract class User {
 		if(password == null || password.length() == 0) {
 			throw new IllegalArgumentException("Invalid password");
 		}
-		this.password = password;
+		this.password = StringPool.canonical(password);
 		
 	}
 	
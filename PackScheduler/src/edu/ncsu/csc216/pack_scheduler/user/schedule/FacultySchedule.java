@@ -1,11 +1,13 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
 
 /**
  * A Faculty's schedule
+ * Methods synchronize on the schedule, as Schedule's do, and never lock
+ * anything else while held, so it is safe to lock a faculty schedule after a
+ * course roll.
  * @author Sarah Heckman
  */
 public class FacultySchedule {
@@ -29,16 +31,14 @@ public class FacultySchedule {
 	 * @param course Course to add to schedule
 	 * @return true if added
 	 */
-	public boolean addCourseToSchedule(Course course) {
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course)) {
-				if (schedule.get(i).getSection().equals(course.getSection())) {
+	public synchronized boolean addCourseToSchedule(Course course) {
+		for (Course c : schedule) {
+			if (c.isDuplicate(course)) {
+				if (c.getSection().equals(course.getSection())) {
 					throw new IllegalArgumentException("Already assigned " + course.getName());
 				}
 			}
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
+			if (c.conflictsWith(course)) {
 				throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
 			}
 		}
@@ -52,12 +52,24 @@ public class FacultySchedule {
 		return false;
 	}
 	
+	/**
+	 * Replaces the courses in the schedule, such as with ones read from a
+	 * snapshot, without checking them for conflicts or changing their instructors.
+	 * @param courses Courses the faculty is scheduled to teach, in the order they were assigned
+	 */
+	public synchronized void restoreSchedule(Course[] courses) {
+		schedule = new LinkedListRecursive<Course>();
+		for (Course c : courses) {
+			schedule.add(c);
+		}
+	}
+	
 	/**
 	 * Removes a course from the schedule.
 	 * @param course Course to remove from the schedule
 	 * @return true if added
 	 */
-	public boolean removeCourseFromSchedule(Course course) {
+	public synchronized boolean removeCourseFromSchedule(Course course) {
 		if (schedule.remove(course)) {
 			course.setInstructorId(null);
 			return true;
@@ -68,7 +80,7 @@ public class FacultySchedule {
 	/**
 	 * Resets the schedule to an empty schedule
 	 */
-	public void resetSchedule() {
+	public synchronized void resetSchedule() {
 		int startingSize = schedule.size();
 		for (int i = 0; i < startingSize; i++) {
 			removeCourseFromSchedule(schedule.get(0)); //also removes from Course
@@ -79,19 +91,33 @@ public class FacultySchedule {
 	 * Returns the list of scheduled Courses.
 	 * @return list of scheduled Courses
 	 */
-	public String[][] getScheduledCourses() {
+	public synchronized String[][] getScheduledCourses() {
 		String [][] scheduleArray = new String[schedule.size()][4];
-		for (int i = 0; i < schedule.size(); i++) {
-			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
+		int i = 0;
+		for (Course c : schedule) {
+			scheduleArray[i++] = c.getShortDisplayArray();
 		}
 		return scheduleArray;
 	}
 	
+	/**
+	 * Returns the Courses the faculty is scheduled to teach, in the order they were assigned.
+	 * @return scheduled Courses
+	 */
+	public synchronized Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		int i = 0;
+		for (Course c : schedule) {
+			courses[i++] = c;
+		}
+		return courses;
+	}
+	
 	/**
 	 * Returns the number of courses the faculty is scheduled to teach.
 	 * @return num courses
 	 */
-	public int getNumScheduledCourses() {
+	public synchronized int getNumScheduledCourses() {
 		return schedule.size();
 	}
 	
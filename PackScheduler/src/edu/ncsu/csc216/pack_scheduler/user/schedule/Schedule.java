@@ -1,7 +1,5 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
-
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
@@ -9,6 +7,10 @@ import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
  * The Schedule class represents a student's course schedule.
  * It allows adding and removing courses, resetting the schedule,
  * and managing the schedule's title.
+ * Methods synchronize on the schedule, which never locks anything else while
+ * held, so it is safe to lock a schedule after a course roll. Only one schedule
+ * may be locked at a time: dropping a student from a roll locks the schedule of
+ * the student promoted off the waitlist, so a schedule must not be held then.
  * 
  * @author Suyash Patel, Priyanshu Dongre
  */
@@ -35,38 +37,60 @@ public class Schedule {
      * @return true if the course was successfully added, false otherwise
      * @throws IllegalArgumentException if the course cannot be added to the schedule due to a conflict or duplicate
      */
-	public boolean addCourseToSchedule(Course course) {
+	public synchronized boolean addCourseToSchedule(Course course) {
 //		if (schedule.contains(course)) {
 //			throw new IllegalArgumentException("Cannot add duplicate course.");
 //		}
-		try {
-			for (Course scheduledCourse : schedule) {
-				if(scheduledCourse.isDuplicate(course)) {
-					throw new IllegalArgumentException("You are already enrolled in " + course.getName());
-				}
-				course.checkConflict(scheduledCourse);
+		for (Course scheduledCourse : schedule) {
+			if(scheduledCourse.isDuplicate(course)) {
+				throw new IllegalArgumentException("You are already enrolled in " + course.getName());
+			}
+			if(course.conflictsWith(scheduledCourse)) {
+				throw new IllegalArgumentException("Course cannot be added due to a conflict.");
 			}
-		} catch (ConflictException e) {
-			throw new IllegalArgumentException("Course cannot be added due to a conflict.");
-			
 		}
 		return schedule.add(course);
 	}
 	
+	/**
+	 * Returns true if the given course is on the schedule.
+	 * 
+	 * @param course the course to look for
+	 * @return true if the course is on the schedule
+	 */
+	public synchronized boolean hasCourse(Course course) {
+		return schedule.contains(course);
+	}
+	
 	/**
      * Removes a course from the schedule.
      * 
      * @param course the course to remove
      * @return true if the course was successfully removed, false otherwise
      */
-	public boolean removeCourseFromSchedule(Course course) {
+	public synchronized boolean removeCourseFromSchedule(Course course) {
 		return schedule.remove(course);
 	}
 	
+	/**
+	 * Replaces the title and courses of the schedule, such as with ones read from
+	 * a snapshot, without checking the courses for conflicts.
+	 * 
+	 * @param title the title of the schedule
+	 * @param courses the courses on the schedule, in the order they were added
+	 */
+	public synchronized void restoreSchedule(String title, Course[] courses) {
+		this.title = title;
+		this.schedule = new ArrayList<Course>(courses.length);
+		for (Course c : courses) {
+			schedule.add(c);
+		}
+	}
+	
 	/**
      * Resets the schedule to its initial state with default title and empty course list.
      */
-	public void resetSchedule() {
+	public synchronized void resetSchedule() {
 		this.title = "My Schedule";
 		this.schedule = new ArrayList<Course>();
 	}
@@ -76,7 +100,7 @@ public class Schedule {
      * 
      * @return a 2D String array where each sub-array represents a course's short display information
      */
-	public String[][] getScheduledCourses() {
+	public synchronized String[][] getScheduledCourses() {
 		String[][] courseArray = new String[schedule.size()][];
         for (int i = 0; i < schedule.size(); i++) {
             courseArray[i] = schedule.get(i).getShortDisplayArray();
@@ -84,13 +108,26 @@ public class Schedule {
         return courseArray;
 	}
 	
+	/**
+	 * Returns the courses in the schedule, in the order they were added.
+	 * 
+	 * @return the scheduled courses
+	 */
+	public synchronized Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		for (int i = 0; i < schedule.size(); i++) {
+			courses[i] = schedule.get(i);
+		}
+		return courses;
+	}
+	
 	/**
      * Sets the title of the schedule.
      * 
      * @param title the new title for the schedule
      * @throws IllegalArgumentException if the provided title is null
      */
-	public void setTitle(String title) {
+	public synchronized void setTitle(String title) {
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
@@ -102,7 +139,7 @@ public class Schedule {
      * 
      * @return the current title of the schedule
      */
-	public String getTitle() {
+	public synchronized String getTitle() {
 		return title;
 	}
 	
@@ -111,7 +148,7 @@ public class Schedule {
 	 *
 	 * @return the total number of credits as an integer.
 	 */
-	public int getScheduleCredits() {
+	public synchronized int getScheduleCredits() {
 		int totalCredits = 0;
 		for(int i = 0; i < schedule.size(); i++) {
 			totalCredits += schedule.get(i).getCredits();
@@ -127,7 +164,7 @@ public class Schedule {
 	 * @param newCourse the course to be added to the schedule.
 	 * @return true if the course can be added, false if it cannot be added due to being a duplicate or causing a conflict.
 	 */
-	public boolean canAdd(Course newCourse) {
+	public synchronized boolean canAdd(Course newCourse) {
 		
 		if(newCourse == null) {
 			return false;
@@ -137,12 +174,7 @@ public class Schedule {
 		for(int i = 0; i < schedule.size(); i++) {
 
 			//This will check if the course is already present in the schedule.
-			if(newCourse.isDuplicate(schedule.get(i))) {
-				return false;
-			}
-			try {
-				newCourse.checkConflict(schedule.get(i));
-			} catch(ConflictException ce) {
+			if(newCourse.isDuplicate(schedule.get(i)) || newCourse.conflictsWith(schedule.get(i))) {
 				return false;
 			}
 		}
@@ -1,13 +1,23 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 
 
 /**
  * A custom implementation of ArrayList that extends AbstractList.
  * This implementation prevents null elements and duplicates.
- * The list automatically grows when capacity is reached.
- * 
+ * The list automatically grows when capacity is reached, doubling its
+ * capacity each time so appending is constant time on average.
+ *
+ * Duplicates are found by comparing the new element against each element in
+ * the list with equals(). Hash codes aren't kept, since elements can change
+ * in ways that change their hash codes while they're in the list, such as a
+ * Course in a Schedule being assigned an instructor, and a stored hash code
+ * would then miss a duplicate.
+ *
  * @param <E> the type of elements in this list
  * @author Priyanshu Dongre
  */
@@ -15,24 +25,37 @@ public class ArrayList<E> extends AbstractList<E> {
 
     /** Initial capacity of the ArrayList */
 	private static final int INIT_SIZE = 10;
-	
-	
+
+
 	 /** Array to store list elements */
 	private E[] list;
-	
+
 	/** Current number of elements in the list */
 	private int size;
-	
-	
+
+
 	/**
      * Constructs an empty list with an initial capacity of INIT_SIZE.
      */
-	@SuppressWarnings("unchecked")
 	public ArrayList() {
+		this(INIT_SIZE);
+	}
+
+	/**
+	 * Constructs an empty list with the given initial capacity.
+	 *
+	 * @param initialCapacity number of elements the list can hold before it grows
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
 		size = 0;
-		list = (E[]) new Object[INIT_SIZE];
+		list = (E[]) new Object[initialCapacity];
 	}
-	
+
 	/**
      * Inserts the specified element at the specified position in this list.
      * Shifts the element currently at that position (if any) and any subsequent
@@ -42,55 +65,89 @@ public class ArrayList<E> extends AbstractList<E> {
      * @param item element to be inserted
      * @throws NullPointerException if the specified element is null
      * @throws IllegalArgumentException if the element is already in the list
-     * @throws IndexOutOfBoundsException if the index is out of range (index less than 0 or index greater than or equal to size)
+     * @throws IndexOutOfBoundsException if the index is out of range (index less than 0 or index greater than size)
      */
+	@Override
 	public void add(int index, E item) {
-		
+
 		if(item == null) {
 			throw new NullPointerException();
 		}
-		if(size == 0 && index > 1) {
+		if(index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if(findDuplicate(item) >= 0) {
 			throw new IllegalArgumentException();
 		}
+
+		ensureCapacity(size + 1);
+		//This will shift the elements to right
+		System.arraycopy(list, index, list, index + 1, size - index);
+
+		list[index] = item;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Appends all of the elements in the given collection to the end of this list,
+	 * in the order the collection returns them.
+	 *
+	 * @param items elements to be added
+	 * @return true if the list changed
+	 * @throws NullPointerException if any of the elements is null
+	 * @throws IllegalArgumentException if any of the elements is already in the list,
+	 *                                  or appears twice in the collection
+	 */
+	@Override
+	public boolean addAll(Collection<? extends E> items) {
+		return addAll(size, items);
+	}
+
+	/**
+	 * Inserts all of the elements in the given collection at the specified position,
+	 * shifting the elements after it right just once. Either every element is added
+	 * or, if any of them can't be, none are.
+	 *
+	 * @param index index at which to insert the first element
+	 * @param items elements to be added
+	 * @return true if the list changed
+	 * @throws NullPointerException if any of the elements is null
+	 * @throws IllegalArgumentException if any of the elements is already in the list,
+	 *                                  or appears twice in the collection
+	 * @throws IndexOutOfBoundsException if the index is out of range (index less than 0 or index greater than size)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(int index, Collection<? extends E> items) {
 		if(index < 0 || index > size) {
 			throw new IndexOutOfBoundsException();
 		}
-		
-		
-		if(size == 0) {
-			list[index] = item;
-			size++;
-			return;
-		}
-		
-		
-		if(index == size && size > 1) {
-			growArray();
-			list[size++] = item;
-			return;
-		}	
-		
-		for(int i = 0; i < size; i++) {
-			if(list[i].equals(item)) {
+		Object[] added = items.toArray();
+		HashSet<Object> seen = new HashSet<Object>();
+		for(int i = 0; i < added.length; i++) {
+			if(added[i] == null) {
+				throw new NullPointerException();
+			}
+			if(!seen.add(added[i]) || findDuplicate(added[i]) >= 0) {
 				throw new IllegalArgumentException();
 			}
 		}
-		
-		//This will shift the elements to right
-		for(int currentIdx = size - 1; currentIdx > index - 1; currentIdx--) {
-			int proceedingIdx = currentIdx + 1;
-			E currentElement = list[currentIdx];
-			list[proceedingIdx] = currentElement;
-			list[currentIdx] = null;
-		}
-		
-		//Once the elements are shifted to right, we will insert the element at this index.
-		
-		list[index] = item;
-		size++;
+		if(added.length == 0) {
+			return false;
+		}
+
+		ensureCapacity(size + added.length);
+		System.arraycopy(list, index, list, index + added.length, size - index);
+		for(int i = 0; i < added.length; i++) {
+			list[index + i] = (E) added[i];
+		}
+		size += added.length;
+		modCount++;
+		return true;
 	}
-	
-	
+
+
 	 /**
      * Removes the element at the specified position in this list.
      * Shifts any subsequent elements to the left.
@@ -99,35 +156,44 @@ public class ArrayList<E> extends AbstractList<E> {
      * @return the element that was removed from the list
      * @throws IndexOutOfBoundsException if the index is out of range (index less than 0 or index greater than or equal to size)
      */
-	
+	@Override
 	public E remove(int index) {
-		
-		if(size == 0) {
-			throw new IndexOutOfBoundsException();
-		}
+
 		if(index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}
 		E returnValue = list[index];
-		if(index == size - 1) {
-			
-			list[index] = null;
-			size--;
-			return returnValue; 
-		}
-		
-		for(int currentIdx = index; currentIdx < size; currentIdx++) {
-			int proceedingIdx = currentIdx + 1;
-			
-			list[currentIdx] = list[proceedingIdx];
-		}
+
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
 		list[size - 1] = null;
 		size--;
+		modCount++;
 		return returnValue;
-		
+
+	}
+
+	/**
+	 * Removes the elements from fromIndex, inclusive, to toIndex, exclusive,
+	 * shifting the elements after them left just once.
+	 *
+	 * @param fromIndex index of the first element to remove
+	 * @param toIndex index after the last element to remove
+	 * @throws IndexOutOfBoundsException if fromIndex is negative, toIndex is greater
+	 *                                   than size, or fromIndex is greater than toIndex
+	 */
+	@Override
+	public void removeRange(int fromIndex, int toIndex) {
+		if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException();
+		}
+		System.arraycopy(list, toIndex, list, fromIndex, size - toIndex);
+		int newSize = size - (toIndex - fromIndex);
+		Arrays.fill(list, newSize, size, null);
+		size = newSize;
+		modCount++;
 	}
-	
-	
+
+
 	/**
      * Returns the number of elements in this list.
      *
@@ -135,11 +201,11 @@ public class ArrayList<E> extends AbstractList<E> {
      */
 	@Override
 	public int size() {
-		
+
 		return size;
 	}
 
-	
+
 	/**
      * Returns the element at the specified position in this list.
      *
@@ -154,22 +220,31 @@ public class ArrayList<E> extends AbstractList<E> {
 		}
 		return list[index];
 	}
-	
+
 	/**
-     * Increases the capacity of this ArrayList instance, if necessary,
-     * to ensure that it can hold at least the current size * 2 elements.
-     */
-	@SuppressWarnings("unchecked")
-	private void growArray() {
-		E[] newArray = (E[]) new Object[size * 2];
-		
-		for(int i = 0; i < size; i++) {
-			newArray[i] = list[i];
+	 * Increases the capacity of the list, if necessary, so it can hold at least
+	 * the given number of elements without growing again. The capacity at least
+	 * doubles each time it grows.
+	 *
+	 * @param minCapacity number of elements the list must be able to hold
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity > list.length) {
+			int newCapacity = Math.max(minCapacity, Math.max(INIT_SIZE, list.length * 2));
+			list = Arrays.copyOf(list, newCapacity);
 		}
-		list = newArray;
 	}
-	
-	
+
+	/**
+	 * Shrinks the capacity of the list to its size.
+	 */
+	public void trimToSize() {
+		if(size < list.length) {
+			list = Arrays.copyOf(list, size);
+		}
+	}
+
+
 	/**
      * Replaces the element at the specified position in this list with
      * the specified element.
@@ -181,28 +256,38 @@ public class ArrayList<E> extends AbstractList<E> {
      * @throws IndexOutOfBoundsException if the index is out of range (index less than 0 or index greater than or equal to size)
      * @throws IllegalArgumentException if the element is already in the list
      */
+	@Override
 	public E set(int index, E element) {
-		
-		
-		if(size == 0) {
+
+		if(index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}
 		if(element == null) {
 			throw new NullPointerException();
 		}
-		if(index < 0 || index >= size) {
-			throw new IndexOutOfBoundsException();
-		}
 		E earlierElement = list[index];
-		
-		for(int i = 0; i < size; i++) {
-			if(list[i].equals(element)) {
-				throw new IllegalArgumentException();
-			}
+		// Replacing an element with an equal one isn't a duplicate
+		if(!element.equals(earlierElement) && findDuplicate(element) >= 0) {
+			throw new IllegalArgumentException();
 		}
-		
+
 		list[index] = element;
 		return earlierElement;
 	}
 
+	/**
+	 * Returns the index of an element equal to the given one.
+	 *
+	 * @param o element to search for
+	 * @return index of the element, or -1
+	 */
+	private int findDuplicate(Object o) {
+		for(int i = 0; i < size; i++) {
+			if(list[i].equals(o)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 }
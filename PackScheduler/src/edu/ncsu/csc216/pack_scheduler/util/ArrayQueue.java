@@ -1,75 +1,138 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 /**
  * A generic ArrayQueue class that implements the Queue interface.
- * This queue is backed by an ArrayList and has a specified capacity.
- * 
+ * This queue is a circular buffer with a specified capacity: the front of the
+ * queue moves forward through the array as elements are dequeued and the back
+ * wraps around to the start, so enqueueing and dequeueing are constant time
+ * and never shift elements. The array only grows when the capacity is raised
+ * past its length.
+ *
  * @param <E> the type of elements in this queue
  * @author Priyanshu Dongre
  */
 public class ArrayQueue<E> implements Queue<E> {
-	
+
 	/** The current size of the queue */
     private int size = 0;
-    
+
     /** The maximum capacity of the queue */
     private int capacity;
-    
-    /** The list backing the queue */
-    private ArrayList<E> list;
-	
+
+    /** The array backing the queue */
+    private E[] buffer;
+
+    /** Index of the element at the front of the queue */
+    private int head;
+
     /**
      * Constructs an ArrayQueue with a specified capacity.
-     * 
+     *
      * @param capacity the maximum number of elements this queue can hold
      * @throws IllegalArgumentException if the specified capacity is negative
      */
-
+	@SuppressWarnings("unchecked")
 	public ArrayQueue(int capacity) {
 		this.size = 0;
+		this.head = 0;
+		buffer = (E[]) new Object[0];
 		this.setCapacity(capacity);
-		list = new ArrayList<>();
 	}
 
 	/**
      * Adds an element to the back of the queue if the queue is not at capacity.
-     * 
+     *
      * @param element the element to be added to the queue
+     * @throws NullPointerException if the element is null
      * @throws IllegalArgumentException if the queue is at capacity
      */
 	@Override
 	public void enqueue(E element) {
-		if(size < capacity) {
-			list.add(element);
-			size++;
-		} else {
+		if(element == null) {
+			throw new NullPointerException();
+		}
+		if(size >= capacity) {
 			throw new IllegalArgumentException();
 		}
-		
+		buffer[index(size)] = element;
+		size++;
 	}
 
 	/**
      * Removes and returns the element at the front of the queue.
-     * 
+     *
      * @return the element removed from the front of the queue
      * @throws NoSuchElementException if the queue is empty
      */
 	@Override
 	public E dequeue() {
-		
+
 		if(size == 0) {
 			throw new NoSuchElementException();
 		}
-		E element = list.remove(0);
+		E element = buffer[head];
+		buffer[head] = null;
+		head = index(1);
 		size--;
 		return element;
 	}
 
+	/**
+     * Returns the element at the front of the queue without removing it.
+     *
+     * @return the element at the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+	@Override
+	public E peek() {
+		if(size == 0) {
+			throw new NoSuchElementException();
+		}
+		return buffer[head];
+	}
+
+	/**
+     * Removes every element from the queue and adds them, front first, to the
+     * given collection.
+     *
+     * @param target the collection to add the elements to
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     */
+	@Override
+	public int drainTo(Collection<? super E> target) {
+		return drainTo(target, size);
+	}
+
+	/**
+     * Removes up to maxElements elements from the front of the queue and adds
+     * them, front first, to the given collection.
+     *
+     * @param target the collection to add the elements to
+     * @param maxElements the most elements to move
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     */
+	@Override
+	public int drainTo(Collection<? super E> target, int maxElements) {
+		if(target == null) {
+			throw new NullPointerException();
+		}
+		int moved = 0;
+		while(moved < maxElements && size > 0) {
+			target.add(dequeue());
+			moved++;
+		}
+		return moved;
+	}
+
 	/**
      * Checks if the queue is empty.
-     * 
+     *
      * @return true if the queue is empty, false otherwise
      */
 	@Override
@@ -79,7 +142,7 @@ public class ArrayQueue<E> implements Queue<E> {
 
 	/**
      * Returns the current number of elements in the queue.
-     * 
+     *
      * @return the size of the queue
      */
 	@Override
@@ -87,22 +150,48 @@ public class ArrayQueue<E> implements Queue<E> {
 		return size;
 	}
 
-	
+
 	/**
-     * Sets the maximum capacity of the queue.
-     * 
+     * Sets the maximum capacity of the queue. If the new capacity is larger than
+     * the array, the elements are copied to a new array with the front of the
+     * queue at its start.
+     *
      * @param capacity the maximum capacity for the queue
-     * @throws IllegalArgumentException if the specified capacity is less than the current size of the queue
+     * @throws IllegalArgumentException if the specified capacity is negative or less than the current size of the queue
      */
 	@Override
 	public void setCapacity(int capacity) {
-		
-		if(capacity < size) {
+
+		if(capacity < 0 || capacity < size) {
 			throw new IllegalArgumentException();
 		}
+		if(capacity > buffer.length) {
+			E[] grown = Arrays.copyOf(buffer, capacity);
+			int wrapped = head + size - buffer.length;
+			if(wrapped > 0) {
+				System.arraycopy(buffer, head, grown, 0, size - wrapped);
+				System.arraycopy(buffer, 0, grown, size - wrapped, wrapped);
+			} else {
+				System.arraycopy(buffer, head, grown, 0, size);
+			}
+			Arrays.fill(grown, size, grown.length, null);
+			buffer = grown;
+			head = 0;
+		}
 		this.capacity = capacity;
-		
+
+	}
+
+	/**
+	 * Returns the index in the array of the element the given distance behind the
+	 * front of the queue.
+	 *
+	 * @param offset distance from the front of the queue, less than the array's length
+	 * @return index of the element in the array
+	 */
+	private int index(int offset) {
+		int i = head + offset;
+		return i >= buffer.length ? i - buffer.length : i;
 	}
-	
 
 }
@@ -1,10 +1,21 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * The LinkedAbstractList class
- * 
+ *
+ * A doubly linked list that keeps both ends, so adding and removing at the
+ * front or back is constant time, and getting an element walks from whichever
+ * end is closer. Duplicates aren't allowed. A list can keep its elements in a
+ * hash set as well, so checking for duplicates is constant time too; elements
+ * of a hashed list shouldn't be changed in a way that changes their hash code
+ * while they're in the list.
+ *
  * @author Suyash Patel
  * @param <E> the type of elements in this List
  */
@@ -12,7 +23,7 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 
 	/** Front of the linked list */
 	private ListNode front;
-	
+
 	/**
 	 * Back of the linked list
 	 */
@@ -24,27 +35,42 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 	/** Capacity of the linked list */
 	private int capacity;
 
+	/** Elements in the list, or null if duplicates are found by walking the list */
+	private HashSet<E> elements;
+
 	/**
 	 * Constructor to create a linked list
-	 * 
+	 *
 	 * @param capacity of the list
 	 * @throws IllegalArgumentException if capacity is less than 0
 	 */
 	public LinkedAbstractList(int capacity) {
-		if (capacity < 0 || capacity < size()) {
+		this(capacity, false);
+	}
+
+	/**
+	 * Constructor to create a linked list that can check for duplicates using a hash set
+	 *
+	 * @param capacity of the list
+	 * @param hashed true to keep the elements in a hash set for checking duplicates
+	 * @throws IllegalArgumentException if capacity is less than 0
+	 */
+	public LinkedAbstractList(int capacity, boolean hashed) {
+		if (capacity < 0) {
 			throw new IllegalArgumentException("Capacity cannot be less than 0.");
 		}
 		this.capacity = capacity;
 		this.front = null;
 		this.back = null;
 		this.size = 0;
+		this.elements = hashed ? new HashSet<E>() : null;
 	}
 
-	
+
 
 	/**
 	 * sets the capacity of the list
-	 * 
+	 *
 	 * @param capacity of the list
 	 * @throws IllegalArgumentException if capacity is less than the current size
 	 */
@@ -57,7 +83,7 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 
 	/**
 	 * gets the data in the index of the list
-	 * 
+	 *
 	 * @param index of the data to get
 	 * @return the data at the specified index
 	 */
@@ -66,16 +92,12 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		ListNode current = front;
-		for (int i = 0; i < index; i++) {
-			current = current.next;
-		}
-		return current.data;
+		return nodeAt(index).data;
 	}
 
 	/**
 	 * method for setting the data at the index
-	 * 
+	 *
 	 * @param index   of the data to be set
 	 * @param element the data to be set at the index
 	 * @return the data
@@ -91,18 +113,19 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		ListNode current = front;
-		for (int i = 0; i < index; i++) {
-			current = current.next;
-		}
+		ListNode current = nodeAt(index);
 		E oldData = current.data;
 		current.data = element;
+		if (elements != null) {
+			elements.remove(oldData);
+			elements.add(element);
+		}
 		return oldData;
 	}
 
 	/**
 	 * adds the element at the specified index
-	 * 
+	 *
 	 * @param index   the index to add at
 	 * @param element the element to be added
 	 * @throws NullPointerException      if element is null
@@ -124,47 +147,36 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (size >= capacity) {
 			throw new IllegalArgumentException("Capacity exceeded.");
 		}
-		
-		if (index == 0) {
-			if(front == null) {
-				front = new ListNode(element);
-				back = front;
-			} else {
-				ListNode newNode = new ListNode(element);
-				newNode.next = front;
+
+		if (index == size) {
+			ListNode newNode = new ListNode(element, back, null);
+			if (back == null) {
 				front = newNode;
+			} else {
+				back.next = newNode;
 			}
-			
-		} else if(index == size) {
-			ListNode newNode = new ListNode(element);
-			back.next = newNode;
 			back = newNode;
-			size++;
-			
-			return;
 		} else {
-			ListNode current = front;
-			for (int i = 0; i < index - 1; i++) {
-				current = current.next;
-			}
-			current.next = new ListNode(element, current.next);
-		}
-		
-		ListNode currentNode = front;
-		while(currentNode != null) {
-			if(currentNode.next == null) {
-				back = currentNode;
-				break;
+			ListNode next = nodeAt(index);
+			ListNode newNode = new ListNode(element, next.prev, next);
+			if (next.prev == null) {
+				front = newNode;
 			} else {
-				currentNode = currentNode.next;
+				next.prev.next = newNode;
 			}
+			next.prev = newNode;
+		}
+
+		if (elements != null) {
+			elements.add(element);
 		}
 		size++;
+		modCount++;
 	}
 
 	/**
 	 * method to remove the element at the index
-	 * 
+	 *
 	 * @param index the index at which the data must be removed
 	 * @return the removed data
 	 */
@@ -173,46 +185,145 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (index < 0 || index >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		ListNode current = front;
-		E removedData;
+		return unlink(nodeAt(index));
+	}
 
-		if (index == 0) {
-			removedData = front.data;
-			front = front.next;
-		} else {
-			for (int i = 0; i < index - 1; i++) {
-				current = current.next;
-			}
-			removedData = current.next.data;
-			current.next = current.next.next;
+	/**
+	 * Returns true if the list contains the given element.
+	 *
+	 * @param o the element to look for
+	 * @return true if the element is in the list
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (elements != null) {
+			return elements.contains(o);
 		}
-		size--;
-		
-		ListNode currentNode = front;
-		while(currentNode != null) {
-			if(currentNode.next == null) {
-				back = currentNode;
-				break;
-			} else {
-				currentNode = currentNode.next;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(o)) {
+				return true;
 			}
 		}
-		return removedData;
+		return false;
 	}
 
 	/**
-	 * the size of the list 
-	 * 
+	 * the size of the list
+	 *
 	 * @return the size of the list
 	 */
 	@Override
 	public int size() {
 		return this.size;
 	}
-	
+
+	/**
+	 * Returns an iterator that walks the nodes of the list in order.
+	 *
+	 * @return an iterator over the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new LinkedIterator();
+	}
+
+	/**
+	 * Returns the node at the given index, walking from whichever end is closer.
+	 *
+	 * @param index of the node, which must be in bounds
+	 * @return the node at the index
+	 */
+	private ListNode nodeAt(int index) {
+		ListNode current;
+		if (index < size / 2) {
+			current = front;
+			for (int i = 0; i < index; i++) {
+				current = current.next;
+			}
+		} else {
+			current = back;
+			for (int i = size - 1; i > index; i--) {
+				current = current.prev;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Removes a node from the list.
+	 *
+	 * @param node the node to remove
+	 * @return the data in the node
+	 */
+	private E unlink(ListNode node) {
+		if (node.prev == null) {
+			front = node.next;
+		} else {
+			node.prev.next = node.next;
+		}
+		if (node.next == null) {
+			back = node.prev;
+		} else {
+			node.next.prev = node.prev;
+		}
+		if (elements != null) {
+			elements.remove(node.data);
+		}
+		size--;
+		modCount++;
+		return node.data;
+	}
+
+	/**
+	 * Iterator that follows the links between nodes, so walking the whole list is
+	 * linear time.
+	 */
+	private class LinkedIterator implements Iterator<E> {
+
+		/** Node to return next */
+		private ListNode next = front;
+
+		/** Node returned by the last call to next(), or null if it's been removed */
+		private ListNode lastReturned;
+
+		/** Modification count the iterator expects the list to have */
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = next.next;
+			return lastReturned.data;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			unlink(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+
 	/**
 	 * private listNode class
-	 * 
+	 *
 	 * @author Suyash Patel
 	 */
 	private class ListNode {
@@ -220,27 +331,23 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		/** Data stored in the node */
 		public E data;
 
+		/** Previous node in the list */
+		public ListNode prev;
+
 		/** Next node in the list */
 		public ListNode next;
 
 		/**
-		 * Constructor for creating a new node with data only.
-		 * 
-		 * @param data the data to store
-		 */
-		public ListNode(E data) {
-			this(data, null);
-		}
-
-		/**
-		 * Constructor for creating a new node with data and a reference to the next
-		 * node.
-		 * 
+		 * Constructor for creating a new node with data and references to the
+		 * nodes before and after it.
+		 *
 		 * @param data the data to store
+		 * @param prev the previous node in the list
 		 * @param next the next node in the list
 		 */
-		public ListNode(E data, ListNode next) {
+		public ListNode(E data, ListNode prev, ListNode next) {
 			this.data = data;
+			this.prev = prev;
 			this.next = next;
 		}
 	}
@@ -1,30 +1,62 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
- * A recursive implementation of a singly linked list.
+ * A singly linked list that doesn't allow null or duplicate elements.
  * Provides methods to add, remove, get, and set elements in the list.
- * 
+ *
+ * Every operation walks the list with a loop rather than recursing once per
+ * node, so the list can grow as large as memory allows without running out of
+ * stack. The list keeps its last node as well as its first, so adding to the
+ * end doesn't walk the list a second time after checking for duplicates. The
+ * list is Iterable, and walking it with an iterator is linear time where
+ * calling get() for each index is quadratic. A list can keep its elements in a
+ * hash set as well, so checking for duplicates is constant time too; elements
+ * of a hashed list shouldn't be changed in a way that changes their hash code
+ * while they're in the list.
+ *
  * @param <E> The type of elements stored in this linked list.
  * @author Priyanshu Dongre
  */
-public class LinkedListRecursive<E> {
+public class LinkedListRecursive<E> implements Iterable<E> {
 	 /** The size of the linked list */
     private int size;
     /** The front node of the linked list */
     private ListNode front;
+    /** The back node of the linked list */
+    private ListNode back;
+    /** Number of times the list has been changed, so iterators can tell */
+    private int modCount;
+    /** Elements in the list, or null if duplicates are found by walking the list */
+    private HashSet<E> elements;
 
     /**
      * Constructs an empty linked list.
      */
-	
+
 	public LinkedListRecursive() {
+		this(false);
+	}
+
+	/**
+	 * Constructs an empty linked list that can check for duplicates using a hash set.
+	 *
+	 * @param hashed true to keep the elements in a hash set for checking duplicates
+	 */
+	public LinkedListRecursive(boolean hashed) {
 		size = 0;
 		front = null;
+		back = null;
+		elements = hashed ? new HashSet<E>() : null;
 	}
-	
+
 	 /**
      * Checks if the linked list is empty.
-     * 
+     *
      * @return true if the linked list is empty, false otherwise
      */
 	public boolean isEmpty() {
@@ -33,7 +65,7 @@ public class LinkedListRecursive<E> {
 
 	/**
      * Returns the size of the linked list.
-     * 
+     *
      * @return the size of the linked list
      */
     public int size() {
@@ -42,54 +74,49 @@ public class LinkedListRecursive<E> {
 
     /**
      * Retrieves the element at the specified index.
-     * 
+     *
      * @param idx the index of the element to retrieve
      * @return the element at the specified index
+     * @throws IllegalArgumentException if the list is empty
      * @throws IndexOutOfBoundsException if the index is out of bounds
      */
-	
+
 	public E get(int idx) {
 		if(front == null) {
 			throw new IllegalArgumentException();
 		}
-		
+
 		if(idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		if(idx == 0) {
-			return front.data;
-		}
-		return front.get(idx);
+		return nodeAt(idx).data;
 	}
-	
+
 	/**
      * Removes the element at the specified index.
-     * 
+     *
      * @param idx the index of the element to remove
      * @return the removed element
      * @throws IndexOutOfBoundsException if the index is out of bounds
      */
 	public E remove(int idx) {
-		
+
 		if(front == null) {
 			throw new IndexOutOfBoundsException();
 		}
 		if(idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		
+
 		if(idx == 0) {
-			E removedElement = front.data;
-			front = front.next;
-			size--;
-			return removedElement;
+			return unlink(null);
 		}
-		return front.remove(idx);
+		return unlink(nodeAt(idx - 1));
 	}
-	
+
 	/**
      * Replaces the element at the specified index with a new element.
-     * 
+     *
      * @param idx the index of the element to replace
      * @param element the new element
      * @return the previous element at the specified index
@@ -98,93 +125,91 @@ public class LinkedListRecursive<E> {
      * @throws IllegalArgumentException if the element already exists in the list
      */
 	public E set(int idx, E element) {
-		
+
 		if(front == null) {
 			throw new IndexOutOfBoundsException();
 		}
 		if(element == null) {
 			throw new NullPointerException();
 		}
-		if(front.contains(element)) {
+		if(contains(element)) {
 			throw new IllegalArgumentException();
 		}
-		if(idx < 0 || idx > size) {
+		if(idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		if(idx == 0) {
-			E previousData = front.data;
-			front.data = element;
-			return previousData;
+		ListNode current = nodeAt(idx);
+		E previousData = current.data;
+		current.data = element;
+		if(elements != null) {
+			elements.remove(previousData);
+			elements.add(element);
 		}
-		return front.set(idx, element);
+		return previousData;
 	}
-	
+
 	/**
      * Removes the first occurrence of the specified element from the list.
-     * 
+     *
      * @param element the element to remove
      * @return true if the element was removed, false otherwise
      */
 	public boolean remove(E element) {
-		if(front == null) {
+		if(elements != null && !elements.contains(element)) {
 			return false;
 		}
-		
-		if(front.data.equals(element)) {
-			front = front.next;
-			size--;
-			return true;
+		ListNode previous = null;
+		for(ListNode current = front; current != null; current = current.next) {
+			if(current.data.equals(element)) {
+				unlink(previous);
+				return true;
+			}
+			previous = current;
 		}
-		
-		return front.remove(element);
+		return false;
 	}
-	
+
 	/**
      * Checks if the list contains the specified element.
-     * 
+     *
      * @param element the element to check
      * @return true if the element is found, false otherwise
-     * @throws NullPointerException if the element is null
+     * @throws NullPointerException if the element is null and the list isn't empty
      */
 	public boolean contains(E element) {
-		if(front == null) { 
+		if(front == null) {
 			return false;
 		}
 		if(element == null) {
 			throw new NullPointerException();
 		}
-		return front.contains(element);
+		if(elements != null) {
+			return elements.contains(element);
+		}
+		for(ListNode current = front; current != null; current = current.next) {
+			if(current.data.equals(element)) {
+				return true;
+			}
+		}
+		return false;
 	}
-	
+
    /**
     * Adds an element to the end of the list.
-    * 
+    *
     * @param element the element to add
     * @return true if the element was added successfully
     * @throws NullPointerException if the element is null
     * @throws IllegalArgumentException if the element already exists in the list
     */
 	public boolean add(E element) {
-		
-		if(element == null) {
-			throw new NullPointerException();
-		}
-		
-		if(front == null) {
-			front = new ListNode(element, null);
-			size++;
-			return true;
-		}
-		if(front.contains(element)) {
-			throw new IllegalArgumentException();
-		}
-		front.add(size, element);
-		return true;	
+		add(size, element);
+		return true;
 	}
-	
+
 	/**
      * Adds an element at the specified index.
-     * 
+     *
      * @param idx the index to insert the element
      * @param element the element to insert
      * @throws NullPointerException if the element is null
@@ -192,33 +217,140 @@ public class LinkedListRecursive<E> {
      * @throws IllegalArgumentException if the element already exists in the list
      */
 	public void add(int idx, E element) {
-		
+
 		if(element == null) {
 			throw new NullPointerException();
 		}
 		if(idx < 0 || idx > size) {
 			throw new IndexOutOfBoundsException();
 		}
-		if(front == null) {
-			front = new ListNode(element, null);
-			size++;
-			return;
-		} 
-		
-		if(idx == 0 && !front.contains(element)) {
-			ListNode newFront = new ListNode(element, front);
-			front = newFront;
-			size++;
-			return;
-		}
-		if(front.contains(element)) {
+		if(contains(element)) {
 			throw new IllegalArgumentException();
 		}
-		
-		front.add(idx, element);
+
+		if(idx == 0) {
+			front = new ListNode(element, front);
+			if(back == null) {
+				back = front;
+			}
+		} else if(idx == size) {
+			back.next = new ListNode(element, null);
+			back = back.next;
+		} else {
+			ListNode previous = nodeAt(idx - 1);
+			previous.next = new ListNode(element, previous.next);
+		}
+		if(elements != null) {
+			elements.add(element);
+		}
+		size++;
+		modCount++;
 	}
-	
-	
+
+	/**
+	 * Returns an iterator over the elements of the list, front to back. The
+	 * iterator's remove() removes the element last returned.
+	 *
+	 * @return an iterator over the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new ListIterator();
+	}
+
+	/**
+	 * Returns the node at the given index.
+	 *
+	 * @param idx index of the node, which must be in bounds
+	 * @return the node at the index
+	 */
+	private ListNode nodeAt(int idx) {
+		if(idx == size - 1) {
+			return back;
+		}
+		ListNode current = front;
+		for(int i = 0; i < idx; i++) {
+			current = current.next;
+		}
+		return current;
+	}
+
+	/**
+	 * Removes the node after the given one from the list.
+	 *
+	 * @param previous the node before the one to remove, or null to remove the front
+	 * @return the data in the removed node
+	 */
+	private E unlink(ListNode previous) {
+		ListNode removed = previous == null ? front : previous.next;
+		if(previous == null) {
+			front = removed.next;
+		} else {
+			previous.next = removed.next;
+		}
+		if(removed == back) {
+			back = previous;
+		}
+		if(elements != null) {
+			elements.remove(removed.data);
+		}
+		size--;
+		modCount++;
+		return removed.data;
+	}
+
+	/**
+	 * Iterator that follows the links between nodes.
+	 */
+	private class ListIterator implements Iterator<E> {
+
+		/** Node to return next */
+		private ListNode next = front;
+
+		/** Node returned by the last call to next(), or null if it's been removed */
+		private ListNode lastReturned;
+
+		/** Node before the one last returned, or null if it was the front */
+		private ListNode beforeLast;
+
+		/** Modification count the iterator expects the list to have */
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(next == null) {
+				throw new NoSuchElementException();
+			}
+			if(lastReturned != null) {
+				beforeLast = lastReturned;
+			}
+			lastReturned = next;
+			next = next.next;
+			return lastReturned.data;
+		}
+
+		@Override
+		public void remove() {
+			if(lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			unlink(beforeLast);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+
 	/**
      * Inner class representing a node in the linked list.
      */
@@ -230,7 +362,7 @@ public class LinkedListRecursive<E> {
 
         /**
          * Constructs a ListNode with the specified data and next node.
-         * 
+         *
          * @param data the data for the node
          * @param next the next node in the list
          */
@@ -238,104 +370,5 @@ public class LinkedListRecursive<E> {
             this.data = data;
             this.next = next;
         }
-
-        /**
-         * Adds a new element at the specified index.
-         * 
-         * @param idx the index to insert the element
-         * @param element the element to insert
-         */
-		public void add(int idx, E element) {
-			if(idx == 1) {
-				ListNode newNode = new ListNode(element, next);
-				this.next = newNode;
-				size++;
-				return;
-			}
-			next.add(idx - 1, element);
-		}
-		
-		/**
-         * Retrieves the element at the specified index.
-         * 
-         * @param idx the index of the element
-         * @return the element at the specified index
-         */
-		public E get(int idx) {
-			
-			if(idx == 0) {
-				return data;
-			}
-			return next.get(idx - 1);
-		}
-		
-		/**
-         * Removes the element at the specified index.
-         * 
-         * @param idx the index of the element to remove
-         * @return the removed element
-         */
-		public E remove(int idx) {
-			if(idx == 1) {
-				E removedElement = next.data;
-				next = next.next;
-				size--;
-				return removedElement;
-			}
-			return next.remove(idx - 1);
-		}
-		
-		/**
-         * Removes the first occurrence of the specified element.
-         * 
-         * @param element the element to remove
-         * @return true if the element was removed, false otherwise
-         */
-		public boolean remove(E element) {
-			if(this.next == null) {
-				return false;
-			}
-			if(this.next.data.equals(element)) {
-				this.next = this.next.next;
-				size--;
-				return true;
-			}
-			return next.remove(element);
-		}
-		
-		/**
-         * Replaces the element at the specified index with a new element.
-         * 
-         * @param idx the index of the element to replace
-         * @param element the new element
-         * @return the previous element at the index
-         */
-		public E set(int idx, E element) {
-			if(idx == 1) {
-				E currentElement = next.data;
-				next.data = element;
-				return currentElement;
-			}
-			return next.set(idx - 1, element);
-			
-		}
-		
-		/**
-         * Checks if the linked list contains the specified element.
-         * 
-         * @param element the element to check
-         * @return true if the element is found, false otherwise
-         */
-		
-		public boolean contains(E element) {
-			if(this.data.equals(element)) {
-				return true;
-			}
-			if(next == null) {
-				return false;
-			}
-			
-			return next.contains(element);
-		}
 	}
 }
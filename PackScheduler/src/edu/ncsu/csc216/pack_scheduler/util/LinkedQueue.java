@@ -1,10 +1,12 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 /**
  * A generic LinkedQueue class that implements the Queue interface.
  * This queue is backed by a linked list and has a specified capacity.
+ * Enqueueing and dequeueing are constant time.
  * 
  * @param <E> the type of elements in this queue
  * @author Priyanshu Dongre
@@ -27,7 +29,7 @@ public class LinkedQueue<E> implements Queue<E> {
 
 	public LinkedQueue(int capacity) {
 		this.size = 0; 
-		list = new LinkedAbstractList<>(capacity);
+		list = new LinkedAbstractList<>(capacity, true);
 	}
 	/**
      * Adds an element to the back of the queue if the queue is not at capacity.
@@ -60,6 +62,55 @@ public class LinkedQueue<E> implements Queue<E> {
 	}
 
 	
+	/**
+     * Returns the element at the front of the queue without removing it.
+     * 
+     * @return the element at the front of the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+	@Override
+	public E peek() {
+		if(size == 0) {
+			throw new NoSuchElementException();
+		}
+		return list.get(0);
+	}
+
+	/**
+     * Removes every element from the queue and adds them, front first, to the
+     * given collection.
+     * 
+     * @param target the collection to add the elements to
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     */
+	@Override
+	public int drainTo(Collection<? super E> target) {
+		return drainTo(target, size);
+	}
+
+	/**
+     * Removes up to maxElements elements from the front of the queue and adds
+     * them, front first, to the given collection.
+     * 
+     * @param target the collection to add the elements to
+     * @param maxElements the most elements to move
+     * @return the number of elements moved
+     * @throws NullPointerException if the target is null
+     */
+	@Override
+	public int drainTo(Collection<? super E> target, int maxElements) {
+		if(target == null) {
+			throw new NullPointerException();
+		}
+		int moved = 0;
+		while(moved < maxElements && size > 0) {
+			target.add(dequeue());
+			moved++;
+		}
+		return moved;
+	}
+
 	/**
      * Checks if the queue is empty.
      * 
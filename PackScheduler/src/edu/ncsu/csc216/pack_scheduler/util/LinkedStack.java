@@ -5,6 +5,7 @@ import java.util.EmptyStackException;
 /**
  * A generic stack implementation using a linked list. This stack has a fixed capacity
  * and supports the basic stack operations: push, pop, and checking if the stack is empty.
+ * Pushing and popping are constant time.
  * 
  * @param <E> the type of elements in this stack
  * @author Suyash Patel
@@ -28,7 +29,7 @@ public class LinkedStack<E> implements Stack<E> {
 			throw new IllegalArgumentException("Capacity cannot be negative");
 		}
 		this.capacity = capacity;
-		this.list = new LinkedAbstractList<>(capacity);
+		this.list = new LinkedAbstractList<>(capacity, true);
 	}
 
 	/**
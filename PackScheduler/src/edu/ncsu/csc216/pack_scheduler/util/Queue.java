@@ -1,5 +1,8 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
 /**
  * Represents a generic Queue interface that provides methods 
  * for managing a collection of elements in a first-in, first-out (FIFO) order.
@@ -28,6 +31,35 @@ public interface Queue<E> {
 	 */
 	E dequeue();
 
+	/**
+	 * Returns the element at the front of the queue without removing it.
+	 * 
+	 * @return the element at the front of the queue
+	 * @throws NoSuchElementException if the queue is empty
+	 */
+	E peek();
+
+	/**
+	 * Removes every element from the queue and adds them, front first, to the
+	 * given collection.
+	 * 
+	 * @param target the collection to add the elements to
+	 * @return the number of elements moved
+	 * @throws NullPointerException if the target is null
+	 */
+	int drainTo(Collection<? super E> target);
+
+	/**
+	 * Removes up to maxElements elements from the front of the queue and adds
+	 * them, front first, to the given collection.
+	 * 
+	 * @param target the collection to add the elements to
+	 * @param maxElements the most elements to move
+	 * @return the number of elements moved
+	 * @throws NullPointerException if the target is null
+	 */
+	int drainTo(Collection<? super E> target, int maxElements);
+
 	/**
 	 * Checks whether the queue is empty.
 	 * 
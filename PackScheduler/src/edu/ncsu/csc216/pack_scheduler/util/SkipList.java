@@ -0,0 +1,370 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sorted set kept as a skip list, ordered by the elements' compareTo().
+ * Null elements and elements that compare equal to one already in the list
+ * aren't allowed.
+ *
+ * Each node is linked to the next node on the bottom level, and about half of
+ * the nodes on each level are linked on the level above as well, so adding,
+ * removing, and finding an element take O(log n) time on average. Walking the
+ * list in order is linear time.
+ *
+ * Elements can also be found with a locator: a function that tells, for any
+ * element, whether it's before (negative), in (zero), or after (positive) a
+ * contiguous run of the list. A locator must agree with the list's order. For
+ * example, c -> c.getName().compareTo("CSC216") locates every section of
+ * CSC216 in a list of Courses. Finding the start of the run takes O(log n)
+ * time, so a range costs time proportional to its size, not the list's.
+ *
+ * @param <E> the type of elements in this list
+ * @author Priyanshu Dongre
+ */
+public class SkipList<E extends Comparable<E>> implements Iterable<E> {
+
+	/** Most levels a node can be linked on */
+	private static final int MAX_LEVEL = 32;
+
+	/** Node before the first element on every level */
+	private Node<E> head;
+
+	/** Number of levels in use */
+	private int level;
+
+	/** Number of elements in the list */
+	private int size;
+
+	/** Number of times the list has been changed, so iterators can tell */
+	private int modCount;
+
+	/**
+	 * Constructs an empty list.
+	 */
+	public SkipList() {
+		head = new Node<E>(null, MAX_LEVEL);
+		level = 1;
+		size = 0;
+	}
+
+	/**
+	 * Constructs a list of elements that are already in sorted order, in linear
+	 * time. Each element is linked after the last one on every level it's
+	 * linked on, so no element is searched for.
+	 *
+	 * @param <E>    the type of elements in the list
+	 * @param sorted the elements, each greater than the one before it
+	 * @return a list of the elements
+	 * @throws NullPointerException if an element is null
+	 * @throws IllegalArgumentException if an element isn't greater than the one
+	 *                                  before it
+	 */
+	public static <E extends Comparable<E>> SkipList<E> fromSorted(Iterable<? extends E> sorted) {
+		SkipList<E> list = new SkipList<E>();
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Node<E>[] last = new Node[MAX_LEVEL];
+		Arrays.fill(last, list.head);
+		E previous = null;
+		for (E element : sorted) {
+			if (element == null) {
+				throw new NullPointerException();
+			}
+			if (previous != null && previous.compareTo(element) >= 0) {
+				throw new IllegalArgumentException("Elements aren't in sorted order.");
+			}
+			int height = randomHeight();
+			Node<E> node = new Node<E>(element, height);
+			for (int i = 0; i < height; i++) {
+				last[i].next[i] = node;
+				last[i] = node;
+			}
+			list.level = Math.max(list.level, height);
+			list.size++;
+			previous = element;
+		}
+		return list;
+	}
+
+	/**
+	 * Adds an element to the list in sorted order.
+	 *
+	 * @param element the element to add
+	 * @return true, since the list changed
+	 * @throws NullPointerException if the element is null
+	 * @throws IllegalArgumentException if an equal element is already in the list
+	 */
+	public boolean add(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		Node<E>[] update = predecessors(element);
+		Node<E> next = update[0].next[0];
+		if (next != null && next.value.compareTo(element) == 0) {
+			throw new IllegalArgumentException("Element already in list.");
+		}
+
+		int height = randomHeight();
+		if (height > level) {
+			for (int i = level; i < height; i++) {
+				update[i] = head;
+			}
+			level = height;
+		}
+		Node<E> node = new Node<E>(element, height);
+		for (int i = 0; i < height; i++) {
+			node.next[i] = update[i].next[i];
+			update[i].next[i] = node;
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Removes the element that compares equal to the given one, if there is one.
+	 *
+	 * @param element the element to remove
+	 * @return true if an element was removed
+	 */
+	public boolean remove(E element) {
+		if (element == null) {
+			return false;
+		}
+		Node<E>[] update = predecessors(element);
+		Node<E> node = update[0].next[0];
+		if (node == null || node.value.compareTo(element) != 0) {
+			return false;
+		}
+		for (int i = 0; i < node.next.length; i++) {
+			update[i].next[i] = node.next[i];
+		}
+		while (level > 1 && head.next[level - 1] == null) {
+			level--;
+		}
+		size--;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Returns true if an element that compares equal to the given one is in the list.
+	 *
+	 * @param element the element to look for
+	 * @return true if the element is in the list
+	 */
+	public boolean contains(E element) {
+		return element != null && find(e -> e.compareTo(element)) != null;
+	}
+
+	/**
+	 * Returns the first element the locator places in its range.
+	 *
+	 * @param locator negative for elements before the range, zero for elements in
+	 *                it, and positive for elements after it
+	 * @return the first element in the range, or null if the range is empty
+	 */
+	public E find(ToIntFunction<? super E> locator) {
+		Node<E> first = seek(locator);
+		return first != null && locator.applyAsInt(first.value) == 0 ? first.value : null;
+	}
+
+	/**
+	 * Returns a sequential stream of the elements the locator places in its
+	 * range, in order. The elements are found as the stream is consumed.
+	 *
+	 * @param locator negative for elements before the range, zero for elements in
+	 *                it, and positive for elements after it
+	 * @return a stream of the elements in the range
+	 */
+	public Stream<E> range(ToIntFunction<? super E> locator) {
+		Iterator<E> it = new SkipListIterator(seek(locator));
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL
+				| Spliterator.SORTED | Spliterator.DISTINCT), false).takeWhile(e -> locator.applyAsInt(e) == 0);
+	}
+
+	/**
+	 * Returns a sequential stream of the elements in the list, in order.
+	 *
+	 * @return a stream of the elements
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(Spliterators.spliterator(iterator(), size, Spliterator.ORDERED
+				| Spliterator.NONNULL | Spliterator.SORTED | Spliterator.DISTINCT), false);
+	}
+
+	/**
+	 * Returns an iterator over the elements in the list, in order. The
+	 * iterator's remove() removes the element last returned.
+	 *
+	 * @return an iterator over the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new SkipListIterator(head.next[0]);
+	}
+
+	/**
+	 * Returns the number of elements in the list.
+	 *
+	 * @return the size of the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the list has no elements.
+	 *
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes every element from the list.
+	 */
+	public void clear() {
+		head = new Node<E>(null, MAX_LEVEL);
+		level = 1;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns the last node on each level that comes before the given element.
+	 *
+	 * @param element the element to find the predecessors of
+	 * @return the predecessor on each level, indexed by level
+	 */
+	private Node<E>[] predecessors(E element) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Node<E>[] update = new Node[MAX_LEVEL];
+		Node<E> current = head;
+		for (int i = level - 1; i >= 0; i--) {
+			while (current.next[i] != null && current.next[i].value.compareTo(element) < 0) {
+				current = current.next[i];
+			}
+			update[i] = current;
+		}
+		return update;
+	}
+
+	/**
+	 * Returns the first node the locator doesn't place before its range.
+	 *
+	 * @param locator locator of a range
+	 * @return the first node in or after the range, or null if every element is before it
+	 */
+	private Node<E> seek(ToIntFunction<? super E> locator) {
+		Node<E> current = head;
+		for (int i = level - 1; i >= 0; i--) {
+			while (current.next[i] != null && locator.applyAsInt(current.next[i].value) < 0) {
+				current = current.next[i];
+			}
+		}
+		return current.next[0];
+	}
+
+	/**
+	 * Returns the number of levels to link a new node on: one more than the
+	 * number of coin flips that come up heads in a row.
+	 *
+	 * @return the height of a new node
+	 */
+	private static int randomHeight() {
+		int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+		return Integer.numberOfTrailingZeros(bits) + 1;
+	}
+
+	/**
+	 * Iterator that follows the bottom level of the list.
+	 */
+	private class SkipListIterator implements Iterator<E> {
+
+		/** Node to return next */
+		private Node<E> next;
+
+		/** Node returned by the last call to next(), or null if it's been removed */
+		private Node<E> lastReturned;
+
+		/** Modification count the iterator expects the list to have */
+		private int expectedModCount = modCount;
+
+		/**
+		 * Constructs an iterator that starts at the given node.
+		 *
+		 * @param first first node to return, or null for none
+		 */
+		SkipListIterator(Node<E> first) {
+			next = first;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = next.next[0];
+			return lastReturned.value;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			SkipList.this.remove(lastReturned.value);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * A node in the skip list.
+	 *
+	 * @param <E> the type of element in the node
+	 */
+	private static class Node<E> {
+
+		/** Element in the node, or null for the head */
+		private E value;
+
+		/** Next node on each level the node is linked on */
+		private Node<E>[] next;
+
+		/**
+		 * Constructs a node linked on the given number of levels.
+		 *
+		 * @param value  element in the node
+		 * @param height number of levels the node is linked on
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Node(E value, int height) {
+			this.value = value;
+			this.next = new Node[height];
+		}
+	}
+}
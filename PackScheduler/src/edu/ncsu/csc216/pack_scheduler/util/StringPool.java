@@ -0,0 +1,127 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+
+/**
+ * A bounded pool of canonical Strings. Interning a String returns a copy
+ * already in the pool that's equal to it, if there is one, so records that
+ * share a value, like the sections of a Course sharing its name and title or
+ * Students sharing a password hash, can share one String instead of each
+ * keeping the copy it was read with.
+ *
+ * The pool is a fixed size table with one slot for each hash code bucket, so
+ * it never holds more than its capacity, no matter how many distinct values
+ * are interned. A value that lands in a slot holding a different value
+ * replaces it; the value that was there stays valid wherever it's already
+ * used, it just isn't shared with later copies. Interning is a hash and one
+ * equals() check, with nothing allocated.
+ *
+ * The pool can be used from any thread without locking. Two threads interning
+ * into the same slot at once may both keep their own copy, which only costs
+ * some sharing; Strings are immutable, so a String read from the table is
+ * always complete.
+ *
+ * @author Priyanshu Dongre
+ */
+public class StringPool {
+
+	/** Number of slots in the shared pool */
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	/** Pool shared by the records of every catalog and directory */
+	private static final StringPool SHARED = new StringPool(DEFAULT_CAPACITY);
+
+	/** Canonical String in each slot, or null for an empty slot */
+	private final String[] table;
+
+	/**
+	 * Constructs an empty pool with at least the given number of slots. The
+	 * capacity is rounded up to a power of two.
+	 *
+	 * @param capacity the least number of slots
+	 * @throws IllegalArgumentException if the capacity isn't positive or is
+	 *                                  more than 2^30
+	 */
+	public StringPool(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		int length = 1;
+		while (length < capacity) {
+			length <<= 1;
+		}
+		table = new String[length];
+	}
+
+	/**
+	 * Returns the pool shared by every Course and User.
+	 *
+	 * @return the shared pool
+	 */
+	public static StringPool getInstance() {
+		return SHARED;
+	}
+
+	/**
+	 * Interns a String in the shared pool.
+	 *
+	 * @param value the String to intern
+	 * @return an equal String from the shared pool, or null if the value is null
+	 */
+	public static String canonical(String value) {
+		return SHARED.intern(value);
+	}
+
+	/**
+	 * Returns the String in the pool that's equal to the given one, adding the
+	 * given one if there isn't one.
+	 *
+	 * @param value the String to intern
+	 * @return an equal String from the pool, or null if the value is null
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		int h = value.hashCode();
+		int slot = (h ^ (h >>> 16)) & (table.length - 1);
+		String pooled = table[slot];
+		if (value.equals(pooled)) {
+			return pooled;
+		}
+		table[slot] = value;
+		return value;
+	}
+
+	/**
+	 * Returns the number of slots in the pool, which is the most Strings it
+	 * can hold.
+	 *
+	 * @return the capacity of the pool
+	 */
+	public int capacity() {
+		return table.length;
+	}
+
+	/**
+	 * Returns the number of Strings in the pool.
+	 *
+	 * @return the number of occupied slots
+	 */
+	public int size() {
+		int size = 0;
+		for (String s : table) {
+			if (s != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Removes every String from the pool.
+	 */
+	public void clear() {
+		Arrays.fill(table, null);
+	}
+}
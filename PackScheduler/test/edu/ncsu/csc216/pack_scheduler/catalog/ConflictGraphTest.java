@@ -0,0 +1,117 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests the ConflictGraph class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class ConflictGraphTest {
+
+	/** Meeting day patterns used for generated courses */
+	private static final String[] DAYS = { "MW", "TH", "MWF", "M", "T", "W", "H", "F", "MTWHF", "A" };
+
+	/**
+	 * Tests that a graph built by sweeping each day matches checking every pair of
+	 * courses, and stays that way as courses are added and removed.
+	 */
+	@Test
+	public void testGraphMatchesPairwiseConflicts() {
+		Random random = new Random(216);
+		List<Course> courses = new ArrayList<Course>();
+		for (int i = 0; i < 150; i++) {
+			courses.add(randomCourse(random, i));
+		}
+
+		ConflictGraph graph = new ConflictGraph(courses);
+		assertConflicts(graph, courses);
+
+		ConflictGraph incremental = new ConflictGraph();
+		for (Course c : courses) {
+			incremental.add(c);
+		}
+		assertConflicts(incremental, courses);
+
+		for (int i = 0; i < 50; i++) {
+			Course removed = courses.remove(random.nextInt(courses.size()));
+			graph.remove(removed);
+			assertTrue(graph.getConflicts(removed.getName(), removed.getSection()).isEmpty());
+		}
+		for (int i = 150; i < 200; i++) {
+			Course c = randomCourse(random, i);
+			courses.add(c);
+			graph.add(c);
+		}
+		assertConflicts(graph, courses);
+	}
+
+	/**
+	 * Tests that courses that only touch at their start and end times conflict,
+	 * and that arranged courses conflict with nothing.
+	 */
+	@Test
+	public void testBoundaries() {
+		List<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445));
+		courses.add(new Course("CSC217", "Software Development Fundamentals Lab", "001", 1, null, 10, "W", 1445, 1600));
+		courses.add(new Course("CSC226", "Discrete Mathematics", "001", 3, null, 10, "TH", 1330, 1445));
+		courses.add(new Course("CSC230", "C and Software Tools", "001", 3, null, 10, "A"));
+
+		ConflictGraph graph = new ConflictGraph(courses);
+		assertEquals(courses.subList(1, 2), graph.getConflicts("CSC216", "001"));
+		assertEquals(courses.subList(0, 1), graph.getConflicts("CSC217", "001"));
+		assertTrue(graph.getConflicts("CSC226", "001").isEmpty());
+		assertTrue(graph.getConflicts("CSC230", "001").isEmpty());
+	}
+
+	/**
+	 * Checks the graph's conflicts for each course against every other course.
+	 *
+	 * @param graph the graph to check
+	 * @param courses the courses in the graph
+	 */
+	private static void assertConflicts(ConflictGraph graph, List<Course> courses) {
+		for (Course c : courses) {
+			List<Course> expected = new ArrayList<Course>();
+			for (Course other : courses) {
+				if (other != c && c.conflictsWith(other)) {
+					expected.add(other);
+				}
+			}
+			Collections.sort(expected);
+			assertEquals(expected, graph.getConflicts(c.getName(), c.getSection()), c.toString());
+		}
+	}
+
+	/**
+	 * Returns a course with random meeting days and times.
+	 *
+	 * @param random source of random numbers
+	 * @param number used to give the course a unique section
+	 * @return a random course
+	 */
+	private static Course randomCourse(Random random, int number) {
+		String days = DAYS[random.nextInt(DAYS.length)];
+		String section = String.format("%03d", number);
+		if ("A".equals(days)) {
+			return new Course("CSC216", "Software Development Fundamentals", section, 3, null, 10, "A");
+		}
+		int start = (8 + random.nextInt(10)) * 100 + random.nextInt(4) * 15;
+		int end = start + 100 + random.nextInt(4) * 15;
+		if (end % 100 >= 60) {
+			end += 40;
+		}
+		return new Course("CSC216", "Software Development Fundamentals", section, 3, null, 10, days, start, end);
+	}
+}
@@ -7,6 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -134,6 +138,96 @@ public class CourseCatalogTest {
         assertNull(catalog.getCourseFromCatalog("CSC 226", "001"));
     }
 
+    /**
+     * Tests that getCourseFromCatalog stays consistent with the catalog
+     * through loads, adds, removes, and resets.
+     */
+    @Test
+    public void testGetCourseFromCatalogAfterUpdates() {
+        catalog.loadCoursesFromFile(validTestFile);
+        Course c = catalog.getCourseFromCatalog("CSC216", "601");
+        assertNotNull(c);
+        assertEquals("A", c.getMeetingDays());
+
+        // The duplicate CSC116-002 in the file is ignored, so the first one is found
+        assertEquals("MW", catalog.getCourseFromCatalog("CSC116", "002").getMeetingDays());
+        assertNull(catalog.getCourseFromCatalog("CSC216", "003"));
+
+        // Remove a loaded course and add it back with a different title
+        assertTrue(catalog.removeCourseFromCatalog("CSC216", "601"));
+        assertNull(catalog.getCourseFromCatalog("CSC216", "601"));
+        assertEquals(12, catalog.getCourseCatalog().length);
+        assertTrue(catalog.addCourseToCatalog("CSC216", "Software Development", "601", 3, "sesmith5", 10, "A", 0, 0));
+        assertEquals("Software Development", catalog.getCourseFromCatalog("CSC216", "601").getTitle());
+        assertFalse(catalog.addCourseToCatalog("CSC216", "Software Development", "601", 3, "sesmith5", 10, "A", 0, 0));
+
+        // Name and section must both match
+        assertNull(catalog.getCourseFromCatalog("CSC21", "6601"));
+
+        // Resetting the catalog clears the lookup
+        catalog.newCourseCatalog();
+        assertNull(catalog.getCourseFromCatalog("CSC216", "601"));
+        assertFalse(catalog.removeCourseFromCatalog("CSC216", "601"));
+    }
+
+    /**
+     * Tests getConflictingCourses method.
+     * Ensures the conflicts are found for loaded courses and kept up to date
+     * as courses are added and removed.
+     */
+    @Test
+    public void testGetConflictingCourses() {
+        catalog.loadCoursesFromFile(validTestFile);
+        List<Course> conflicts = catalog.getConflictingCourses("CSC116", "001");
+        assertEquals(3, conflicts.size());
+        assertEquals("CSC217-202", conflicts.get(0).getName() + "-" + conflicts.get(0).getSection());
+        assertEquals("CSC226-001", conflicts.get(1).getName() + "-" + conflicts.get(1).getSection());
+        assertEquals("CSC316-001", conflicts.get(2).getName() + "-" + conflicts.get(2).getSection());
+
+        // Arranged courses and courses not in the catalog have no conflicts
+        assertTrue(catalog.getConflictingCourses("CSC216", "601").isEmpty());
+        assertTrue(catalog.getConflictingCourses("CSC999", "001").isEmpty());
+
+        // Added courses are connected both ways, and removed courses disappear
+        assertTrue(catalog.addCourseToCatalog("CSC333", "Automata", "001", 3, "jtking", 10, "F", 900, 1000));
+        assertEquals(1, catalog.getConflictingCourses("CSC333", "001").size());
+        assertTrue(catalog.getConflictingCourses("CSC226", "001").contains(catalog.getCourseFromCatalog("CSC333", "001")));
+        assertTrue(catalog.removeCourseFromCatalog("CSC316", "001"));
+        assertEquals(2, catalog.getConflictingCourses("CSC116", "001").size());
+        assertTrue(catalog.getConflictingCourses("CSC316", "001").isEmpty());
+
+        try {
+            catalog.getConflictingCourses(null, "001");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Cannot search for null name or section.", e.getMessage());
+        }
+
+        catalog.newCourseCatalog();
+        assertTrue(catalog.getConflictingCourses("CSC116", "001").isEmpty());
+    }
+
+    /**
+     * Tests getSectionsOf method.
+     * Ensures every section of a course is returned in order.
+     */
+    @Test
+    public void testGetSectionsOf() {
+        catalog.loadCoursesFromFile(validTestFile);
+        List<Course> sections = catalog.getSectionsOf("CSC217");
+        assertEquals(4, sections.size());
+        assertEquals("202", sections.get(0).getSection());
+        assertEquals("601", sections.get(3).getSection());
+        assertEquals(1, catalog.getSectionsOf("CSC316").size());
+        assertTrue(catalog.getSectionsOf("CSC21").isEmpty());
+        try {
+            catalog.getSectionsOf(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Cannot search for null name.", e.getMessage());
+        }
+    }
+
     /**
      * Tests saveCourseCatalog method.
      * Ensures that courses are saved to a file correctly.
@@ -152,4 +246,62 @@ public class CourseCatalogTest {
         }
     }
 
+    /**
+     * Tests the prefix, number range, and suffix queries.
+     * Ensures they return matching courses in catalog order and follow updates.
+     */
+    @Test
+    public void testPrefixRangeAndSuffixQueries() {
+        catalog.loadCoursesFromFile(validTestFile);
+        assertEquals(List.of("CSC"), catalog.getPrefixes());
+        assertEquals(13, catalog.streamCoursesWithPrefix("CSC").count());
+        assertEquals(0, catalog.streamCoursesWithPrefix("MA").count());
+
+        List<String> level200 = catalog.streamCoursesInRange("CSC", 200, 299)
+                .map(c -> c.getName() + "-" + c.getSection()).collect(Collectors.toList());
+        assertEquals(List.of("CSC216-001", "CSC216-002", "CSC216-601", "CSC217-202", "CSC217-211",
+                "CSC217-223", "CSC217-601", "CSC226-001", "CSC230-001"), level200);
+        assertEquals(1, catalog.streamCoursesInRange(null, 300, 399).count());
+        assertEquals(0, catalog.streamCoursesWithSuffix('H').count());
+
+        assertTrue(catalog.addCourseToCatalog("MA141", "Calculus I", "001", 4, null, 100, "MWF", 800, 850));
+        assertTrue(catalog.addCourseToCatalog("HON202H", "Honors Seminar", "001", 3, null, 20, "H", 1500, 1615));
+        assertEquals(List.of("CSC", "HON", "MA"), catalog.getPrefixes());
+        assertEquals("MA141", catalog.streamCoursesInRange(null, 100, 199).filter(c -> !c.getName().startsWith("CSC"))
+                .findFirst().get().getName());
+        assertEquals("HON202H", catalog.streamCoursesWithSuffix('H').findFirst().get().getName());
+
+        assertTrue(catalog.removeCourseFromCatalog("HON202H", "001"));
+        assertEquals(0, catalog.streamCoursesWithSuffix('H').count());
+        assertEquals(List.of("CSC", "MA"), catalog.getPrefixes());
+        try {
+            catalog.streamCoursesWithPrefix(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Cannot search for null prefix.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests forEachCourse and streamCourses methods.
+     * Ensures every course is visited once, in catalog order.
+     */
+    @Test
+    public void testForEachAndStreamCourses() {
+        List<Course> visited = new ArrayList<Course>();
+        catalog.forEachCourse(visited::add);
+        assertTrue(visited.isEmpty());
+        assertEquals(0, catalog.streamCourses().count());
+
+        catalog.loadCoursesFromFile(validTestFile);
+        catalog.forEachCourse(visited::add);
+        assertEquals(13, visited.size());
+        assertEquals(visited, catalog.streamCourses().collect(Collectors.toList()));
+        String[][] courseCatalog = catalog.getCourseCatalog();
+        for (int i = 0; i < visited.size(); i++) {
+            assertEquals(courseCatalog[i][0], visited.get(i).getName());
+            assertEquals(courseCatalog[i][1], visited.get(i).getSection());
+        }
+        assertEquals(4, catalog.streamCourses().filter(c -> c.getName().equals("CSC217")).count());
+    }
 }
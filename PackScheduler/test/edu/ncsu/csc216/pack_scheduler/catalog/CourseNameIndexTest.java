@@ -0,0 +1,112 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests the CourseNameIndex class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class CourseNameIndexTest {
+
+	/** Department prefixes used for generated courses */
+	private static final String[] PREFIXES = { "CSC", "MA", "E", "HESF", "PY" };
+
+	/**
+	 * Tests that names are split into prefix and number.
+	 */
+	@Test
+	public void testNameParts() {
+		assertEquals(3, CourseNameIndex.prefixLength("CSC216"));
+		assertEquals(1, CourseNameIndex.prefixLength("E115"));
+		assertEquals(4, CourseNameIndex.prefixLength("HESF101H"));
+		assertEquals(216, CourseNameIndex.number("CSC216"));
+		assertEquals(115, CourseNameIndex.number("E115"));
+		assertEquals(101, CourseNameIndex.number("HESF101H"));
+		assertEquals(7, CourseNameIndex.number("MA007"));
+	}
+
+	/**
+	 * Tests every query against filtering the whole list of courses, as courses
+	 * are added and removed.
+	 */
+	@Test
+	public void testQueriesMatchFiltering() {
+		Random random = new Random(217);
+		List<Course> courses = new ArrayList<Course>();
+		for (int i = 0; courses.size() < 300; i++) {
+			Course c = randomCourse(random, i);
+			if (courses.stream().noneMatch(o -> o.compareTo(c) == 0)) {
+				courses.add(c);
+			}
+		}
+		CourseNameIndex index = new CourseNameIndex(courses);
+		assertQueries(index, courses);
+
+		Collections.shuffle(courses, random);
+		for (int i = 0; i < 100; i++) {
+			index.remove(courses.remove(courses.size() - 1));
+		}
+		index.remove(randomCourse(random, 1000));
+		assertQueries(index, courses);
+	}
+
+	/**
+	 * Checks every query on the index against filtering the given courses.
+	 *
+	 * @param index   index to check
+	 * @param courses courses in the index
+	 */
+	private static void assertQueries(CourseNameIndex index, List<Course> courses) {
+		List<Course> sorted = new ArrayList<Course>(courses);
+		Collections.sort(sorted);
+
+		List<String> prefixes = sorted.stream().map(c -> c.getName().substring(0, CourseNameIndex.prefixLength(c.getName())))
+				.distinct().sorted().collect(Collectors.toList());
+		assertEquals(prefixes, index.getPrefixes());
+		for (String prefix : PREFIXES) {
+			assertEquals(sorted.stream().filter(c -> c.getName().matches(prefix + "\\d.*")).collect(Collectors.toList()),
+					index.withPrefix(prefix).collect(Collectors.toList()));
+			assertEquals(
+					sorted.stream().filter(c -> c.getName().matches(prefix + "\\d.*"))
+							.filter(c -> CourseNameIndex.number(c.getName()) >= 200
+									&& CourseNameIndex.number(c.getName()) <= 299)
+							.collect(Collectors.toList()),
+					index.inRange(prefix, 200, 299).collect(Collectors.toList()));
+		}
+		assertEquals(
+				sorted.stream().filter(c -> CourseNameIndex.number(c.getName()) >= 450
+						&& CourseNameIndex.number(c.getName()) <= 600).collect(Collectors.toList()),
+				index.inRange(null, 450, 600).collect(Collectors.toList()));
+		assertEquals(sorted.stream().filter(c -> c.getName().endsWith("H")).collect(Collectors.toList()),
+				index.withSuffix('H').collect(Collectors.toList()));
+		assertTrue(index.withPrefix("CS").findAny().isEmpty());
+		assertTrue(index.inRange("ZZ", 0, 999).findAny().isEmpty());
+		assertTrue(index.withSuffix('Q').findAny().isEmpty());
+	}
+
+	/**
+	 * Returns a course with a random prefix, number, suffix, and section.
+	 *
+	 * @param random source of randomness
+	 * @param i      number used to make the title unique
+	 * @return the course
+	 */
+	private static Course randomCourse(Random random, int i) {
+		String name = PREFIXES[random.nextInt(PREFIXES.length)] + String.format("%03d", random.nextInt(1000))
+				+ (random.nextInt(4) == 0 ? "H" : "");
+		String section = String.format("%03d", random.nextInt(3) + 1);
+		return new Course(name, "Title " + i, section, 3, null, 10, "A", 0, 0);
+	}
+}
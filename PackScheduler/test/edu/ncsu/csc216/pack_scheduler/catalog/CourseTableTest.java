@@ -0,0 +1,168 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the CourseTable class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class CourseTableTest {
+
+	/** Meeting day patterns used for generated courses */
+	private static final String[] DAYS = { "MW", "TH", "MWF", "WM", "T", "F", "MTWHF", "A" };
+
+	/**
+	 * Tests that a table read from a file holds the same Courses as a catalog
+	 * loaded from it, in the same order, with the same display rows.
+	 *
+	 * @throws Exception if the file can't be read
+	 */
+	@Test
+	public void testReadCourseTable() throws Exception {
+		CourseTable table = CourseRecordIO.readCourseTable("test-files/course_records.txt");
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+
+		Course[] courses = catalog.getCourses();
+		assertEquals(courses.length, table.size());
+		for (int r = 0; r < table.size(); r++) {
+			assertRow(courses[r], table, r);
+		}
+		assertArrayEquals(catalog.getCourseCatalog(), table.getCourseCatalog());
+		assertEquals(0, table.getMaterializedCount());
+	}
+
+	/**
+	 * Tests lookups by name and section against the Courses the table was built from.
+	 */
+	@Test
+	public void testLookups() {
+		Random random = new Random(217);
+		List<Course> courses = randomCourses(random, 2000);
+		CourseTable table = new CourseTable(courses);
+		Collections.sort(courses);
+
+		assertEquals(courses.size(), table.size());
+		for (int r = 0; r < courses.size(); r++) {
+			Course c = courses.get(r);
+			assertRow(c, table, r);
+			assertEquals(r, table.indexOf(c.getName(), c.getSection()));
+		}
+		assertEquals(-1, table.indexOf("ZZZ999", "001"));
+		assertEquals(-1, table.indexOf(courses.get(0).getName(), "999"));
+		assertEquals(-1, table.indexOf(courses.get(0).getName(), null));
+		assertNull(table.getCourse("ZZZ999", "001"));
+
+		String name = courses.get(courses.size() / 2).getName();
+		assertEquals(courses.stream().filter(c -> c.getName().equals(name)).collect(Collectors.toList()),
+				table.rowsOf(name).mapToObj(table::getCourse).collect(Collectors.toList()));
+		assertEquals(0, table.rowsOf("ZZZ999").count());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> table.getName(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.getCourse(table.size()));
+		assertThrows(IllegalArgumentException.class, () -> new CourseTable(List.of(courses.get(0), courses.get(0))));
+	}
+
+	/**
+	 * Tests that Courses are made lazily, once per row, and that their rolls
+	 * show in the display rows.
+	 */
+	@Test
+	public void testViews() {
+		CourseTable table = new CourseTable(List.of(
+				new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445),
+				new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "A", 0, 0)));
+		assertEquals(0, table.getMaterializedCount());
+
+		Course csc216 = table.getCourse("CSC216", "001");
+		assertSame(csc216, table.getCourse(1));
+		assertEquals(1, table.getMaterializedCount());
+		assertEquals("sesmith5", csc216.getInstructorId());
+		assertNull(table.getInstructorId(0));
+
+		csc216.getCourseRoll().setEnrollmentCap(20);
+		String[][] display = table.getCourseCatalog();
+		assertArrayEquals(new String[] { "CSC116", "001", "Intro to Programming - Java", "Arranged", "10" }, display[0]);
+		assertEquals("20", display[1][4]);
+	}
+
+	/**
+	 * Tests that conflicts found from the columns match Activity.conflictsWith().
+	 */
+	@Test
+	public void testConflicts() {
+		Random random = new Random(216);
+		List<Course> courses = randomCourses(random, 500);
+		CourseTable table = new CourseTable(courses);
+		Collections.sort(courses);
+
+		for (int i = 0; i < 50; i++) {
+			Course probe = courses.get(random.nextInt(courses.size()));
+			List<Course> expected = courses.stream().filter(c -> c.conflictsWith(probe)).collect(Collectors.toList());
+			assertEquals(expected, table.conflictingRows(probe).mapToObj(courses::get).collect(Collectors.toList()));
+			for (int r = 0; r < courses.size(); r += 37) {
+				assertEquals(courses.get(r).conflictsWith(probe), table.conflictsWith(r, probe));
+			}
+		}
+	}
+
+	/**
+	 * Checks every column of a row against a Course.
+	 *
+	 * @param expected the Course the row should hold
+	 * @param table    the table
+	 * @param row      the row
+	 */
+	private static void assertRow(Course expected, CourseTable table, int row) {
+		assertEquals(expected.getName(), table.getName(row));
+		assertEquals(expected.getSection(), table.getSection(row));
+		assertEquals(expected.getTitle(), table.getTitle(row));
+		assertEquals(expected.getCredits(), table.getCredits(row));
+		assertEquals(expected.getInstructorId(), table.getInstructorId(row));
+		assertEquals(expected.getCourseRoll().getEnrollmentCap(), table.getEnrollmentCap(row));
+		assertEquals(expected.getMeetingDays(), table.getMeetingDays(row));
+		assertEquals(expected.getStartTime(), table.getStartTime(row));
+		assertEquals(expected.getEndTime(), table.getEndTime(row));
+	}
+
+	/**
+	 * Returns Courses with random names, sections, and meetings, in no order.
+	 *
+	 * @param random source of randomness
+	 * @param count  number of Courses
+	 * @return the Courses
+	 */
+	private static List<Course> randomCourses(Random random, int count) {
+		List<Course> courses = new ArrayList<Course>();
+		while (courses.size() < count) {
+			String name = "CSC" + (100 + random.nextInt(400)) + (random.nextInt(5) == 0 ? "H" : "");
+			String section = String.format("%03d", random.nextInt(1000));
+			String days = DAYS[random.nextInt(DAYS.length)];
+			int start = "A".equals(days) ? 0 : 800 + random.nextInt(10) * 100 + random.nextInt(60);
+			int end = "A".equals(days) ? 0 : start + 100;
+			Course c = new Course(name, "Title " + random.nextInt(50), section, 1 + random.nextInt(5),
+					random.nextInt(3) == 0 ? null : "prof" + random.nextInt(20), 10 + random.nextInt(241), days,
+					start, end);
+			if (courses.stream().noneMatch(o -> o.compareTo(c) == 0)) {
+				courses.add(c);
+			}
+		}
+		return courses;
+	}
+}
@@ -0,0 +1,177 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests the ScheduleGenerator class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class ScheduleGeneratorTest {
+
+	/** Valid course records file */
+	private static final String VALID_TEST_FILE = "test-files/course_records.txt";
+
+	/** Catalog loaded from the course records file */
+	private CourseCatalog catalog;
+
+	/** Student with the most credits allowed */
+	private Student student;
+
+	/**
+	 * Loads the catalog and creates a student before each test.
+	 */
+	@BeforeEach
+	public void setUp() {
+		catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile(VALID_TEST_FILE);
+		student = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 18);
+	}
+
+	/**
+	 * Tests generating schedules from the course records file.
+	 */
+	@Test
+	public void testGetSchedules() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		List<List<Course>> schedules = generator.getSchedules(student, Arrays.asList("CSC116", "CSC216", "CSC226"), 100);
+
+		// CSC226 (MWF 935-1025) rules out CSC116-001, leaving 2 CSC116 sections and 3 CSC216 sections
+		assertEquals(6, schedules.size());
+		for (List<Course> schedule : schedules) {
+			assertEquals("CSC116", schedule.get(0).getName());
+			assertEquals("CSC216", schedule.get(1).getName());
+			assertEquals("CSC226", schedule.get(2).getName());
+			assertNoConflicts(schedule);
+		}
+
+		assertEquals(2, generator.getSchedules(student, Arrays.asList("CSC116", "CSC216", "CSC226"), 2).size());
+		assertTrue(generator.getSchedules(student, Arrays.asList("CSC116", "CSC999"), 10).isEmpty());
+	}
+
+	/**
+	 * Tests that generated schedules respect the student's credit limit and
+	 * current schedule.
+	 */
+	@Test
+	public void testGetSchedulesForStudent() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		Student limited = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 6);
+		assertTrue(generator.getSchedules(limited, Arrays.asList("CSC116", "CSC216", "CSC226"), 10).isEmpty());
+		// Only CSC217-202 (M 1040-1230) conflicts, with CSC116-001 and CSC116-002
+		assertEquals(10, generator.getSchedules(limited, Arrays.asList("CSC116", "CSC217"), 100).size());
+
+		// CSC316 (MW 830-945) is already on the schedule, which rules out CSC116-001 and CSC226
+		student.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC316", "001"));
+		assertTrue(generator.getSchedules(student, Arrays.asList("CSC226"), 10).isEmpty());
+		List<List<Course>> schedules = generator.getSchedules(student, Arrays.asList("CSC116"), 10);
+		assertEquals(2, schedules.size());
+		for (List<Course> schedule : schedules) {
+			assertTrue(!"001".equals(schedule.get(0).getSection()));
+		}
+	}
+
+	/**
+	 * Tests that every conflict-free combination is generated, and nothing else,
+	 * for a request of eight courses with many sections each.
+	 */
+	@Test
+	public void testGetSchedulesMatchesExhaustiveSearch() {
+		CourseCatalog large = new CourseCatalog();
+		Random random = new Random(316);
+		String[] days = { "MW", "TH", "MWF", "F", "M", "W" };
+		List<String> names = new ArrayList<String>();
+		for (int n = 0; n < 8; n++) {
+			String name = "CSC" + (300 + n);
+			names.add(name);
+			for (int s = 0; s < 6; s++) {
+				int start = (8 + random.nextInt(10)) * 100;
+				large.addCourseToCatalog(name, "Course " + n, String.format("%03d", s + 1), n < 4 ? 3 : 1, null, 10,
+						days[random.nextInt(days.length)], start, start + 50);
+			}
+		}
+		ScheduleGenerator generator = new ScheduleGenerator(large);
+
+		Set<List<Course>> expected = new HashSet<List<Course>>();
+		enumerate(large, names, new ArrayList<Course>(), expected);
+		Set<List<Course>> actual = new HashSet<List<Course>>(generator.getSchedules(student, names, Integer.MAX_VALUE));
+		assertTrue(expected.size() > 0);
+		assertEquals(expected, actual);
+
+		assertEquals(10, generator.getSchedules(student, names, 10).size());
+		assertEquals(10, generator.generate(student, names, 10).distinct().count());
+	}
+
+	/**
+	 * Tests invalid requests.
+	 */
+	@Test
+	public void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(null));
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(null, Arrays.asList("CSC116"), 1));
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(student, null, 1));
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(student, Arrays.asList("CSC116"), 0));
+	}
+
+	/**
+	 * Checks that no two courses in a schedule conflict.
+	 *
+	 * @param schedule the schedule to check
+	 */
+	private static void assertNoConflicts(List<Course> schedule) {
+		for (int i = 0; i < schedule.size(); i++) {
+			for (int j = i + 1; j < schedule.size(); j++) {
+				assertTrue(!schedule.get(i).conflictsWith(schedule.get(j)));
+			}
+		}
+	}
+
+	/**
+	 * Adds every conflict-free combination of sections within 18 credits to found.
+	 *
+	 * @param catalog catalog to take sections from
+	 * @param names names of the courses left to choose
+	 * @param chosen sections chosen so far
+	 * @param found schedules found
+	 */
+	private static void enumerate(CourseCatalog catalog, List<String> names, List<Course> chosen,
+			Set<List<Course>> found) {
+		if (chosen.size() == names.size()) {
+			int credits = 0;
+			for (Course c : chosen) {
+				credits += c.getCredits();
+			}
+			if (credits <= 18) {
+				found.add(new ArrayList<Course>(chosen));
+			}
+			return;
+		}
+		for (Course c : catalog.getSectionsOf(names.get(chosen.size()))) {
+			boolean fits = true;
+			for (Course other : chosen) {
+				fits = fits && !c.conflictsWith(other);
+			}
+			if (fits) {
+				chosen.add(c);
+				enumerate(catalog, names, chosen, found);
+				chosen.remove(chosen.size() - 1);
+			}
+		}
+	}
+}
@@ -6,6 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -145,4 +148,83 @@ class ActivityTest {
 
 		assertEquals(a1.hashCode(), a2.hashCode(), "hashCode should be consistent for identical objects.");
 	}
+
+	/**
+	 * Tests that checkConflict() and conflictsWith() agree with the original
+	 * day-by-day conflict check for every combination of meeting days and a
+	 * range of start and end times, including back-to-back and nested times.
+	 */
+	@Test
+	public void testCheckConflictMatchesOriginal() {
+		String days = "MTWHF";
+		List<String> patterns = new ArrayList<String>();
+		patterns.add("A");
+		for (int mask = 1; mask < 32; mask++) {
+			StringBuilder pattern = new StringBuilder();
+			for (int d = 0; d < days.length(); d++) {
+				if ((mask & (1 << d)) != 0) {
+					pattern.append(days.charAt(d));
+				}
+			}
+			patterns.add(pattern.toString());
+			patterns.add(pattern.reverse().toString());
+		}
+		int[][] times = { { 800, 915 }, { 830, 845 }, { 915, 1030 }, { 800, 800 }, { 1030, 1145 }, { 900, 1200 },
+				{ 1145, 1300 }, { 1330, 1445 }, { 1444, 1500 }, { 0, 2359 } };
+
+		List<Activity> activities = new ArrayList<Activity>();
+		for (String pattern : patterns) {
+			if ("A".equals(pattern)) {
+				activities.add(new Course("CSC116", "Intro to Programming", "001", 3, null, 10, "A"));
+				continue;
+			}
+			for (int[] time : times) {
+				activities.add(new Course("CSC116", "Intro to Programming", "001", 3, null, 10, pattern, time[0],
+						time[1]));
+			}
+		}
+
+		for (Activity a1 : activities) {
+			for (Activity a2 : activities) {
+				boolean expected = originalConflict(a1, a2);
+				assertEquals(expected, a1.conflictsWith(a2), a1.getMeetingString() + " / " + a2.getMeetingString());
+				if (expected) {
+					assertThrows(ConflictException.class, () -> a1.checkConflict(a2));
+				} else {
+					assertDoesNotThrow(() -> a1.checkConflict(a2));
+				}
+			}
+		}
+	}
+
+	/**
+	 * The conflict check Activity used before meeting days were kept as a bit mask.
+	 * 
+	 * @param a1 first activity
+	 * @param a2 second activity
+	 * @return true if the original check found a conflict
+	 */
+	private static boolean originalConflict(Activity a1, Activity a2) {
+		String days1 = a1.getMeetingDays();
+		String days2 = a2.getMeetingDays();
+		if ("A".equals(days1) && "A".equals(days2)) {
+			return false;
+		}
+		for (int i = 0; i < days1.length(); i++) {
+			if (i == days2.length()) {
+				break;
+			}
+			if (days2.contains("" + days1.charAt(i)) || days1.contains("" + days2.charAt(i))) {
+				if (a1.getStartTime() == a2.getStartTime() || a1.getStartTime() == a2.getEndTime()
+						|| a2.getStartTime() == a1.getEndTime() || a1.getEndTime() == a2.getEndTime()) {
+					return true;
+				}
+				if (a1.getStartTime() > a2.getStartTime() && a1.getStartTime() < a2.getEndTime()
+						|| a2.getStartTime() > a1.getStartTime() && a2.getStartTime() < a1.getEndTime()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 }
@@ -3,9 +3,17 @@ package edu.ncsu.csc216.pack_scheduler.course.roll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -234,4 +242,298 @@ public class CourseRollTest {
 		assertEquals(4, newStudent.getSchedule().getScheduleCredits());
 	}
 
+	/**
+	 * Tests reserving, confirming, and releasing seats.
+	 */
+	@Test
+	public void testReserveSeat() {
+		assertEquals(10, courseRoll.getOpenSeats());
+		Exception e = assertThrows(IllegalArgumentException.class, () -> courseRoll.releaseSeat());
+		assertEquals("No seat is reserved.", e.getMessage());
+
+		assertTrue(courseRoll.reserveSeat());
+		assertEquals(9, courseRoll.getOpenSeats());
+		courseRoll.confirmSeat(student1);
+		assertEquals(9, courseRoll.getOpenSeats());
+		assertFalse(courseRoll.canEnroll(student1));
+
+		// A released seat opens back up
+		assertTrue(courseRoll.reserveSeat());
+		assertThrows(IllegalArgumentException.class, () -> courseRoll.confirmSeat(null));
+		assertEquals(8, courseRoll.getOpenSeats());
+		courseRoll.releaseSeat();
+		assertEquals(9, courseRoll.getOpenSeats());
+
+		for (int i = 0; i < 9; i++) {
+			assertTrue(courseRoll.reserveSeat());
+		}
+		assertFalse(courseRoll.reserveSeat());
+		assertEquals(0, courseRoll.getOpenSeats());
+
+		// Reserved seats can't be taken away by shrinking the capacity
+		courseRoll.setEnrollmentCap(20);
+		assertEquals(10, courseRoll.getOpenSeats());
+		for (int i = 0; i < 5; i++) {
+			assertTrue(courseRoll.reserveSeat());
+		}
+		assertThrows(IllegalArgumentException.class, () -> courseRoll.setEnrollmentCap(14));
+		assertEquals(5, courseRoll.getOpenSeats());
+		courseRoll.setEnrollmentCap(15);
+		assertEquals(0, courseRoll.getOpenSeats());
+		for (int i = 0; i < 14; i++) {
+			courseRoll.releaseSeat();
+		}
+		assertEquals(14, courseRoll.getOpenSeats());
+	}
+
+	/**
+	 * Tests that enrolling through the seat counter keeps the open seats and
+	 * isFull() in step with the roll and waitlist.
+	 */
+	@Test
+	public void testIsFull() {
+		courseRoll.enroll(student1);
+		for (int i = 1; i < 20; i++) {
+			assertFalse(courseRoll.isFull());
+			courseRoll.enroll(new Student("Student" + i, "Test", "student" + i, "student" + i + "@gmail.com", "password"));
+		}
+		assertTrue(courseRoll.isFull());
+		assertEquals(0, courseRoll.getOpenSeats());
+
+		// Dropping an enrolled student promotes a waitlisted one, so no seat opens
+		courseRoll.drop(student1);
+		assertEquals(0, courseRoll.getOpenSeats());
+		assertEquals(9, courseRoll.getNumberOnWaitlist());
+		assertFalse(courseRoll.isFull());
+	}
+
+	/**
+	 * Tests that a waitlisted student who can't take the course doesn't stop an
+	 * enrolled student from dropping it. They're taken off the waitlist and the
+	 * seat goes to the next student, or opens up if no one else is waiting.
+	 */
+	@Test
+	public void testDropSkipsStudentsWhoCantTakeSeat() {
+		Student[] enrolled = { student1, student2, student3, student4, student5, student6, student7, student8,
+				student9, student10 };
+		for (Student s : enrolled) {
+			courseRoll.enroll(s);
+		}
+		courseRoll.enroll(student11);
+		Student next = new Student("Kara", "Danvers", "kdanvers", "kdanvers@gmail.com", "password");
+		courseRoll.enroll(next);
+
+		// Another section of the same course can't be on the same schedule
+		student11.getSchedule().addCourseToSchedule(
+				new Course("CSC216", "Programming Concepts - Java", "002", 4, "sesmith5", 10, "A"));
+		assertEquals(next, courseRoll.drop(student1));
+		assertEquals(0, courseRoll.getNumberOnWaitlist());
+		assertEquals(0, courseRoll.getOpenSeats());
+		assertEquals(10, courseRoll.getEnrolledStudents().length);
+		assertEquals(1, student11.getSchedule().getScheduledCourses().length);
+
+		Student blocked = new Student("Lena", "Luthor", "lluthor", "lluthor@gmail.com", "password");
+		courseRoll.enroll(blocked);
+		blocked.getSchedule().addCourseToSchedule(
+				new Course("CSC216", "Programming Concepts - Java", "003", 4, "sesmith5", 10, "A"));
+		assertNull(courseRoll.drop(student2));
+		assertEquals(0, courseRoll.getNumberOnWaitlist());
+		assertEquals(1, courseRoll.getOpenSeats());
+		assertEquals(9, courseRoll.getEnrolledStudents().length);
+	}
+
+	/**
+	 * Tests that seats are never oversold when 1 to 8 threads reserve and confirm
+	 * seats in the same section at once, with some threads releasing their seat,
+	 * and when 1 to 8 threads enroll students in it at once, with the students
+	 * who don't get a seat filling the waitlist.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testReserveSeatContention() throws InterruptedException {
+		for (int threads = 1; threads <= 8; threads *= 2) {
+			Course c = new Course("CSC316", "Data Structures and Algorithms", "001", 3, null, 50, "MW", 1300, 1415);
+			CourseRoll roll = c.getCourseRoll();
+			AtomicInteger confirmed = new AtomicInteger();
+			runConcurrently(threads, 400, i -> {
+				if (!roll.reserveSeat()) {
+					return;
+				}
+				if (i % 3 == 0) {
+					roll.releaseSeat();
+				} else {
+					roll.confirmSeat(new Student("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "password"));
+					confirmed.incrementAndGet();
+				}
+			});
+			// A seat released after the other threads ran out of students stays open
+			assertEquals(50, confirmed.get() + roll.getOpenSeats(), "Seats accounted for with " + threads + " threads");
+			assertEquals(confirmed.get(), roll.getEnrolledStudents().length);
+			for (int i = 400; roll.reserveSeat(); i++) {
+				roll.confirmSeat(new Student("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "password"));
+			}
+			assertEquals(50, roll.getEnrolledStudents().length);
+			assertEquals(0, roll.getOpenSeats());
+
+			Course d = new Course("CSC316", "Data Structures and Algorithms", "002", 3, null, 50, "MW", 1300, 1415);
+			CourseRoll enrolling = d.getCourseRoll();
+			AtomicInteger added = new AtomicInteger();
+			runConcurrently(threads, 400, i -> {
+				try {
+					enrolling.enroll(new Student("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "password"));
+					added.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					// Turned away once the roll and waitlist are full
+				}
+			});
+			assertEquals(60, added.get(), "Students enrolled or waitlisted with " + threads + " threads");
+			assertEquals(50, enrolling.getEnrolledStudents().length);
+			assertEquals(10, enrolling.getNumberOnWaitlist());
+			assertEquals(0, enrolling.getOpenSeats());
+			assertTrue(enrolling.isFull());
+		}
+	}
+
+	/**
+	 * Runs an action for each number below a count on the given number of
+	 * threads, all started at once, and waits for them to finish.
+	 * 
+	 * @param threads number of threads
+	 * @param count   number of times to run the action
+	 * @param action  the action, given the number of each run
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	private static void runConcurrently(int threads, int count, IntConsumer action)
+			throws InterruptedException {
+		AtomicInteger next = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+					action.accept(i);
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tests that a released seat goes to the student at the front of the
+	 * waitlist, and only opens up once the waitlist is empty.
+	 */
+	@Test
+	public void testReleaseSeatPromotes() {
+		Student[] enrolled = { student1, student2, student3, student4, student5, student6, student7, student8,
+				student9 };
+		for (Student s : enrolled) {
+			courseRoll.enroll(s);
+		}
+
+		// Hold the last seat, so the next two students are waitlisted
+		assertTrue(courseRoll.reserveSeat());
+		assertFalse(courseRoll.reserveSeat());
+		Student first = new Student("Kara", "Danvers", "kdanvers", "kdanvers@gmail.com", "password");
+		courseRoll.enroll(first);
+		courseRoll.enroll(student10);
+		assertEquals(2, courseRoll.getNumberOnWaitlist());
+
+		// Releasing the seat promotes the first waitlisted student instead of opening it
+		assertEquals(first, courseRoll.releaseSeat());
+		assertEquals(0, courseRoll.getOpenSeats());
+		assertEquals(1, courseRoll.getNumberOnWaitlist());
+		assertEquals(1, first.getSchedule().getScheduledCourses().length);
+		assertEquals(10, courseRoll.getEnrolledStudents().length);
+		assertEquals("No seat is reserved.",
+				assertThrows(IllegalArgumentException.class, () -> courseRoll.releaseSeat()).getMessage());
+
+		// A seat freed once the waitlist is empty opens up
+		assertEquals(student10, courseRoll.drop(student1));
+		assertEquals(0, courseRoll.getNumberOnWaitlist());
+		assertEquals(0, courseRoll.getOpenSeats());
+		courseRoll.drop(student2);
+		assertTrue(courseRoll.reserveSeat());
+		assertNull(courseRoll.releaseSeat());
+		assertEquals(1, courseRoll.getOpenSeats());
+	}
+
+	/**
+	 * Tests that dropping a student from the middle of the waitlist keeps the
+	 * rest of the waitlist in order, and that students can't be added twice.
+	 */
+	@Test
+	public void testWaitlistOrderAfterDrop() {
+		Student[] enrolled = { student1, student2, student3, student4, student5, student6, student7, student8,
+				student9, student10 };
+		for (Student s : enrolled) {
+			courseRoll.enroll(s);
+		}
+		Student first = new Student("Kara", "Danvers", "kdanvers", "kdanvers@gmail.com", "password");
+		Student second = new Student("Lois", "Lane", "llane", "llane@gmail.com", "password");
+		courseRoll.enroll(first);
+		courseRoll.enroll(student11);
+		courseRoll.enroll(second);
+		assertEquals(3, courseRoll.getNumberOnWaitlist());
+
+		assertThrows(IllegalArgumentException.class, () -> courseRoll.enroll(student11));
+		assertFalse(courseRoll.canEnroll(student11));
+		assertFalse(courseRoll.canEnroll(student1));
+
+		courseRoll.drop(student11);
+		assertEquals(2, courseRoll.getNumberOnWaitlist());
+		assertTrue(courseRoll.canEnroll(student11));
+
+		// Seats go to the waitlist in the order students joined it
+		courseRoll.drop(student5);
+		assertEquals(1, first.getSchedule().getScheduledCourses().length);
+		assertEquals(0, second.getSchedule().getScheduledCourses().length);
+		courseRoll.drop(student6);
+		assertEquals(1, second.getSchedule().getScheduledCourses().length);
+		assertEquals(0, courseRoll.getNumberOnWaitlist());
+		assertEquals(0, courseRoll.getOpenSeats());
+
+		courseRoll.drop(student7);
+		assertEquals(1, courseRoll.getOpenSeats());
+		assertTrue(courseRoll.canEnroll(student7));
+		assertFalse(courseRoll.canEnroll(first));
+	}
+
+	/**
+	 * Tests enrolling and dropping students in a section at the maximum capacity.
+	 */
+	@Test
+	public void testMaxEnrollment() {
+		Course c = new Course("CSC316", "Data Structures and Algorithms", "001", 3, null, 250, "MW", 1300, 1415);
+		CourseRoll roll = c.getCourseRoll();
+		Student[] students = new Student[260];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "password");
+			assertTrue(roll.canEnroll(students[i]));
+			roll.enroll(students[i]);
+			assertFalse(roll.canEnroll(students[i]));
+		}
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(10, roll.getNumberOnWaitlist());
+		assertTrue(roll.isFull());
+
+		for (int i = 0; i < students.length; i += 2) {
+			roll.drop(students[i]);
+		}
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertEquals(130 - 10, roll.getOpenSeats());
+		// Every waitlisted student was promoted before any of them were dropped
+		for (int i = 250; i < students.length; i++) {
+			assertEquals(1, students[i].getSchedule().getScheduledCourses().length);
+			assertEquals(i % 2 != 0, !roll.canEnroll(students[i]));
+		}
+	}
+
 }
@@ -2,8 +2,13 @@ package edu.ncsu.csc216.pack_scheduler.course.validator;
 
 import static org.junit.Assert.fail;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
 
 import org.junit.jupiter.api.Test;
 
@@ -12,10 +17,13 @@ import org.junit.jupiter.api.Test;
  * This class includes tests for both valid and invalid course names, ensuring that proper
  * exceptions are thrown and valid names are accepted.
  * 
- * This class includes three tests:
+ * This class includes six tests:
  * 1. testIsValid - checks valid course names.
  * 2. testInvalid - checks invalid course names and the corresponding error messages.
  * 3. testValidSuffix - verifies that course names with a valid suffix are correctly identified.
+ * 4. testGetInstance - checks the shared validator.
+ * 5. testMatchesFSM - compares every short name against CourseNameValidatorFSM.
+ * 6. testValidNamesDoNotAllocate - checks that valid names are checked without allocating.
  * 
  * The valid course name format is as follows:
  * - Starts with 1 to 4 letters.
@@ -112,4 +120,108 @@ public class CourseNameValidatorTest {
 		assertTrue(c.isValid("CSC116A"));
 	}
 
+	/**
+     * Tests that the shared validator is a single instance and rejects null and empty names.
+     */
+	@Test
+	public void testGetInstance() {
+		assertSame(CourseNameValidator.getInstance(), CourseNameValidator.getInstance());
+		Exception e = assertThrows(IllegalArgumentException.class, () -> CourseNameValidator.getInstance().isValid(null));
+		assertEquals("Invalid course name.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> CourseNameValidator.getInstance().isValid(""));
+	}
+
+	/**
+     * Tests every name of up to seven characters drawn from letters, digits, and
+     * other characters, including non-ASCII ones, against CourseNameValidatorFSM.
+     * Both must accept the same names, and where the FSM throws, both must
+     * throw the same message. The FSM returns false for a name that ends too
+     * early, where CourseNameValidator throws the default message.
+     */
+	@Test
+	public void testMatchesFSM() {
+		char[] alphabet = {'A', 'z', '1', '9', ' ', '\u00e9', '\u0663', '-'};
+		CourseNameValidator validator = CourseNameValidator.getInstance();
+		CourseNameValidatorFSM fsm = new CourseNameValidatorFSM();
+		ArrayDeque<String> names = new ArrayDeque<String>();
+		for (char c : alphabet) {
+			names.add(String.valueOf(c));
+		}
+		int checked = 0;
+		while (!names.isEmpty()) {
+			String name = names.poll();
+			String expected = outcome(() -> fsm.isValid(name));
+			if ("false".equals(expected)) {
+				expected = new InvalidTransitionException().getMessage();
+			}
+			assertEquals(expected, outcome(() -> validator.isValid(name)), name);
+			checked++;
+			if (name.length() < 7) {
+				for (char c : alphabet) {
+					names.add(name + c);
+				}
+			}
+		}
+		assertEquals(2396744, checked);
+	}
+
+	/**
+     * Tests that checking valid names doesn't allocate, where the JVM can
+     * report the memory a thread allocates.
+     *
+     * @throws InvalidTransitionException if a name is rejected
+     */
+	@Test
+	public void testValidNamesDoNotAllocate() throws InvalidTransitionException {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		String[] names = {"C112", "CSC116A", "MIER201", "MA241"};
+		CourseNameValidator validator = CourseNameValidator.getInstance();
+		long threadId = Thread.currentThread().getId();
+		for (int round = 0; round < 3; round++) {
+			long before = threads.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < 100000; i++) {
+				assertTrue(validator.isValid(names[i & 3]));
+			}
+			long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+			// Allow for the measurement itself; a validator that allocated would use megabytes
+			if (allocated < 10000) {
+				return;
+			}
+		}
+		fail("Checking valid names allocated memory.");
+	}
+
+	/**
+     * Returns the result of a check as a string: the value it returns, or the
+     * message of the InvalidTransitionException it throws.
+     *
+     * @param check the check to run
+     * @return the outcome of the check
+     */
+	private static String outcome(Check check) {
+		try {
+			return String.valueOf(check.run());
+		} catch (InvalidTransitionException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+     * A call to isValid() on one of the validators.
+     */
+	private interface Check {
+
+		/**
+         * Runs the check.
+         *
+         * @return the result of the check
+         * @throws InvalidTransitionException if the name is rejected
+         */
+		boolean run() throws InvalidTransitionException;
+	}
+
 }
@@ -13,7 +13,10 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
@@ -194,6 +197,68 @@ public class FacultyDirectoryTest {
 		assertNull(fd.getFacultyById("Ansh"));
 	}
 	
+	/**
+     * Tests that getFacultyById and the duplicate id check in addFaculty stay
+     * consistent with the directory through loads, removes, and resets.
+     */
+	@Test
+	public void testGetFacultyByIdAfterUpdates() {
+		FacultyDirectory fd = new FacultyDirectory();
+		fd.loadFacultyFromFile(VALID_TEST_FILE);
+		assertEquals("Ashely", fd.getFacultyById("awitt").getFirstName());
+		
+		// A faculty with a loaded id cannot be added again
+		assertFalse(fd.addFaculty(FIRST_NAME, LAST_NAME, "awitt", EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		assertEquals(8, fd.getFacultyDirectory().length);
+		
+		// Once removed, the id can no longer be found and can be reused
+		assertTrue(fd.removeFaculty("awitt"));
+		assertNull(fd.getFacultyById("awitt"));
+		assertFalse(fd.removeFaculty("awitt"));
+		assertTrue(fd.addFaculty(FIRST_NAME, LAST_NAME, "awitt", EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		assertEquals(FIRST_NAME, fd.getFacultyById("awitt").getFirstName());
+		assertEquals(8, fd.getFacultyDirectory().length);
+		
+		// A new directory forgets every id
+		fd.newFacultyDirectory();
+		assertNull(fd.getFacultyById("awitt"));
+		assertNull(fd.getFacultyById("bbrewer"));
+	}
+	
+	/**
+	 * Tests that a faculty member with the same id as one earlier in the file is
+	 * skipped, so the directory and getFacultyById() agree.
+	 * @throws IOException if the test file can't be written
+	 */
+	@Test
+	public void testLoadDuplicateIds() throws IOException {
+		Path file = Files.createTempFile("faculty_records", ".txt");
+		try {
+			List<String> lines = new ArrayList<String>(Files.readAllLines(Path.of(VALID_TEST_FILE)));
+			lines.add("Zed,Zzyzx,awitt,zzyzx@ncsu.edu,MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=,2");
+			Files.write(file, lines);
+			
+			FacultyDirectory fd = new FacultyDirectory();
+			fd.loadFacultyFromFile(file.toString());
+			assertEquals(8, fd.getFacultyDirectory().length);
+			assertEquals("Ashely", fd.getFacultyById("awitt").getFirstName());
+			
+			// Removing an id leaves no faculty member with it behind
+			assertTrue(fd.removeFaculty("awitt"));
+			assertEquals(7, fd.getFacultyDirectory().length);
+			assertNull(fd.getFacultyById("awitt"));
+			
+			// Loading faculty directly skips duplicate ids the same way
+			Faculty first = fd.getFacultyById("bbrewer");
+			Faculty copy = new Faculty("Zed", "Zzyzx", "bbrewer", EMAIL, first.getPassword(), MAX_COURSES);
+			fd.loadFaculty(new Faculty[] { first, copy });
+			assertEquals(1, fd.getFacultyDirectory().length);
+			assertEquals(first, fd.getFacultyById("bbrewer"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+	
 	/**
      * Tests the saveFacultyDirectory() method. Ensures that the faculty 
      * directory is saved correctly to a file and matches the expected output.
@@ -228,4 +293,27 @@ public class FacultyDirectoryTest {
 			fail("Error reading files.");
 		}
 	}
+
+	/**
+     * Tests the forEachFaculty() and streamFaculty() methods. Verifies that
+     * every faculty member is visited once, in the order they were added.
+     */
+	@Test
+	public void testForEachAndStreamFaculty() {
+		FacultyDirectory fd = new FacultyDirectory();
+		assertEquals(0, fd.streamFaculty().count());
+		
+		fd.loadFacultyFromFile(VALID_TEST_FILE);
+		List<Faculty> visited = new ArrayList<Faculty>();
+		fd.forEachFaculty(visited::add);
+		assertEquals(8, visited.size());
+		assertEquals(visited, fd.streamFaculty().collect(Collectors.toList()));
+		String[][] directory = fd.getFacultyDirectory();
+		for (int i = 0; i < visited.size(); i++) {
+			assertEquals(directory[i][0], visited.get(i).getFirstName());
+			assertEquals(directory[i][2], visited.get(i).getId());
+		}
+		assertEquals(8, fd.getFaculty().length);
+		assertEquals(visited.get(7), fd.getFaculty()[7]);
+	}
 }
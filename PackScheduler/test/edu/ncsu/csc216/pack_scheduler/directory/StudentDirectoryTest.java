@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.directory;
 
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -13,7 +14,10 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
@@ -108,6 +112,25 @@ public class StudentDirectoryTest {
 		
 	}
 
+	/**
+	 * Tests StudentDirectory.loadStudentsFromFileParallel().
+	 */
+	@Test
+	public void testLoadStudentsFromFileParallel() {
+		StudentDirectory sd = new StudentDirectory();
+		StudentDirectory parallel = new StudentDirectory();
+		
+		sd.loadStudentsFromFile(validTestFile);
+		parallel.loadStudentsFromFileParallel(validTestFile);
+		assertArrayEquals(sd.getStudentDirectory(), parallel.getStudentDirectory());
+		assertEquals("zking", parallel.getStudentById("zking").getId());
+		
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> {
+			parallel.loadStudentsFromFileParallel(invalidTestFile);
+		});
+		assertEquals("Unable to read file " + invalidTestFile, e.getMessage());
+	}
+
 	/**
 	 * Tests StudentDirectory.addStudent().
 	 */
@@ -216,6 +239,98 @@ public class StudentDirectoryTest {
 		
 		assertNull(sd.getStudentById("Priyanshu"));
 	}
+	
+	/**
+	 * Tests that getStudentById and the duplicate id check in addStudent stay
+	 * consistent with the directory through loads, removes, and resets.
+	 */
+	@Test
+	public void testGetStudentByIdAfterUpdates() {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals("Zahir", sd.getStudentById("zking").getFirstName());
+		assertEquals("Lane", sd.getStudentById("lberg").getFirstName());
+		
+		//A student with a loaded id cannot be added again
+		assertFalse(sd.addStudent("Zed", "King", "zking", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals(10, sd.getStudentDirectory().length);
+		
+		//Once removed, the id can no longer be found and can be reused
+		assertTrue(sd.removeStudent("zking"));
+		assertNull(sd.getStudentById("zking"));
+		assertFalse(sd.removeStudent("zking"));
+		assertTrue(sd.addStudent("Zed", "King", "zking", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals("Zed", sd.getStudentById("zking").getFirstName());
+		assertEquals(10, sd.getStudentDirectory().length);
+		
+		//A new directory forgets every id
+		sd.newStudentDirectory();
+		assertNull(sd.getStudentById("zking"));
+		assertNull(sd.getStudentById("lberg"));
+		assertTrue(sd.addStudent(FIRST_NAME, LAST_NAME, "zking", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+	}
+
+	/**
+	 * Tests StudentDirectory.forEachStudent() and StudentDirectory.streamStudents().
+	 */
+	@Test
+	public void testForEachAndStreamStudents() {
+		StudentDirectory sd = new StudentDirectory();
+		assertEquals(0, sd.streamStudents().count());
+		
+		sd.loadStudentsFromFile(validTestFile);
+		List<Student> visited = new ArrayList<Student>();
+		sd.forEachStudent(visited::add);
+		assertEquals(10, visited.size());
+		assertEquals(visited, sd.streamStudents().collect(Collectors.toList()));
+		String[][] directory = sd.getStudentDirectory();
+		for (int i = 0; i < visited.size(); i++) {
+			assertEquals(directory[i][2], visited.get(i).getId());
+			assertEquals(visited.get(i), sd.getStudentById(visited.get(i).getId()));
+		}
+		assertArrayEquals(visited.toArray(), sd.getStudents());
+	}
+	
+	/**
+	 * Tests that a student with the same id as one earlier in the file is
+	 * skipped, so the directory and getStudentById() agree.
+	 * @throws IOException if the test file can't be written
+	 */
+	@Test
+	public void testLoadDuplicateIds() throws IOException {
+		Path file = Files.createTempFile("student_records", ".txt");
+		try {
+			List<String> lines = new ArrayList<String>(Files.readAllLines(Path.of(validTestFile)));
+			lines.add(0, "Zed,Aaron,lberg,zaaron@ncsu.edu,MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=,12");
+			lines.add("Zed,Zzyzx,zking,zzyzx@ncsu.edu,MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=,12");
+			Files.write(file, lines);
+			
+			StudentDirectory sd = new StudentDirectory();
+			StudentDirectory parallel = new StudentDirectory();
+			sd.loadStudentsFromFile(file.toString());
+			parallel.loadStudentsFromFileParallel(file.toString());
+			assertArrayEquals(sd.getStudentDirectory(), parallel.getStudentDirectory());
+			
+			//The first student with each id is kept, and the real Lane Berg is skipped
+			assertEquals(10, sd.getStudentDirectory().length);
+			assertEquals("Zed", sd.getStudentById("lberg").getFirstName());
+			assertEquals("Zahir", sd.getStudentById("zking").getFirstName());
+			
+			//Removing an id leaves no student with it behind
+			assertTrue(sd.removeStudent("zking"));
+			assertEquals(9, sd.getStudentDirectory().length);
+			assertEquals(0, sd.streamStudents().filter(s -> "zking".equals(s.getId())).count());
+			
+			//Loading students directly skips duplicate ids the same way
+			Student first = sd.getStudentById("lberg");
+			Student copy = new Student("Lane", "Berg", "lberg", EMAIL, first.getPassword(), MAX_CREDITS);
+			sd.loadStudents(new Student[] { first, copy });
+			assertEquals(1, sd.getStudents().length);
+			assertEquals(first, sd.getStudentById("lberg"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
 
 }
 
@@ -17,6 +17,7 @@ import java.nio.file.Path;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -111,6 +112,42 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests reading valid course records into a SkipList through readCourseRecords(String, Consumer).
+	 */
+	@Test
+	public void testReadCourseRecordsIntoSkipList() {
+		try {
+			SkipList<Course> courses = new SkipList<Course>();
+			CourseRecordIO.readCourseRecords(validTestFile, courses::add);
+			assertEquals(13, courses.size());
+
+			int i = 0;
+			for (Course c : courses) {
+				assertEquals(validCourses[i++], c.toString());
+			}
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests that reading course records by mapping the file reads the same Courses.
+	 */
+	@Test
+	public void testReadCourseRecordsMapped() {
+		try {
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, RecordReader.MAPPED);
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			assertEquals(0, CourseRecordIO.readCourseRecords(invalidTestFile, RecordReader.MAPPED).size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
 	/**
 	 * Tests readInvalidCourseRecords().
 	 */
@@ -162,4 +199,44 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests reading a large course records file that mixes valid, duplicate, and
+	 * invalid lines, checking that every valid Course is read once.
+	 * 
+	 * @throws IOException if the temporary file can't be written
+	 */
+	@Test
+	public void testReadCourseRecordsLargeFile() throws IOException {
+		Path file = Files.createTempFile("course_records", ".txt");
+		try {
+			StringBuilder records = new StringBuilder();
+			int valid = 0;
+			for (int i = 0; i < 20000; i++) {
+				String name = "CSC" + (100 + i % 900);
+				String section = String.format("%03d", i / 900);
+				String line = name + ",Course " + i + "," + section + ",3,sesmith5,10,MW," + (800 + i % 10) + ",950";
+				records.append(line).append('\n');
+				valid++;
+				if (i % 10 == 0) {
+					// Same name and section as the line before, so it's ignored
+					records.append(name).append(",Duplicate,").append(section).append(",4,jtking,20,A\n");
+				}
+				if (i % 7 == 0) {
+					records.append(name).append(",Invalid,").append(section).append(",3,sesmith5,10,A,800,950\n");
+					records.append(",,,\n");
+				}
+			}
+			Files.write(file, records.toString().getBytes());
+
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(file.toString());
+			assertEquals(valid, courses.size());
+			Course first = courses.get(0);
+			assertEquals("CSC100", first.getName());
+			assertEquals("000", first.getSection());
+			assertEquals("Course 0", first.getTitle());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
 }
@@ -0,0 +1,227 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal.Event;
+
+/**
+ * Tests EnrollmentJournal.
+ *
+ * @author Priyanshu Dongre
+ */
+public class EnrollmentJournalTest {
+
+	/** File the journal is written to */
+	private static final String JOURNAL_FILE = "test-files/actual_journal.bin";
+
+	/**
+	 * Removes the journal written by a test.
+	 *
+	 * @throws IOException if the file can't be removed
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+	}
+
+	/**
+	 * Tests that appended events are read back in order once synced.
+	 *
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	public void testAppendAndRead() throws IOException {
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			assertEquals(1, journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001"));
+			assertEquals(2, journal.append(EnrollmentJournal.DROP, "zking", "CSC216", "001"));
+			journal.sync(2);
+			assertEquals(2, EnrollmentJournal.readEvents(JOURNAL_FILE).size());
+
+			journal.append(EnrollmentJournal.PROMOTE, "cschwartz", "CSC216", "001");
+			journal.append(EnrollmentJournal.ASSIGN, "fmeadow", "CSC116", "003");
+			journal.append(EnrollmentJournal.UNASSIGN, "fmeadow", "CSC116", "003");
+			assertEquals(5, journal.size());
+		}
+
+		List<Event> events = EnrollmentJournal.readEvents(JOURNAL_FILE);
+		assertEquals(5, events.size());
+		assertEquals(EnrollmentJournal.ENROLL, events.get(0).getType());
+		assertEquals("zking", events.get(0).getUserId());
+		assertEquals("CSC216", events.get(0).getName());
+		assertEquals("001", events.get(0).getSection());
+		assertEquals(EnrollmentJournal.PROMOTE, events.get(2).getType());
+		assertEquals("cschwartz", events.get(2).getUserId());
+		assertEquals(EnrollmentJournal.UNASSIGN, events.get(4).getType());
+
+		// Reopening keeps the events and appends after them
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			assertEquals(5, journal.size());
+			journal.append(EnrollmentJournal.ENROLL, "ahicks", "CSC217", "211");
+		}
+		events = EnrollmentJournal.readEvents(JOURNAL_FILE);
+		assertEquals(6, events.size());
+		assertEquals("ahicks", events.get(5).getUserId());
+	}
+
+	/**
+	 * Tests that invalid events can't be appended.
+	 *
+	 * @throws IOException if the journal can't be written
+	 */
+	@Test
+	public void testAppendInvalid() throws IOException {
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			Exception e = assertThrows(IllegalArgumentException.class,
+					() -> journal.append((byte) 0, "zking", "CSC216", "001"));
+			assertEquals("Invalid journal event.", e.getMessage());
+			assertThrows(IllegalArgumentException.class,
+					() -> journal.append(EnrollmentJournal.ENROLL, null, "CSC216", "001"));
+			assertEquals(0, journal.size());
+		}
+	}
+
+	/**
+	 * Tests that a record torn by a crash is cut off when the journal is opened.
+	 *
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	public void testTornRecord() throws IOException {
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+			journal.append(EnrollmentJournal.ENROLL, "cschwartz", "CSC216", "001");
+		}
+		long length = Files.size(Paths.get(JOURNAL_FILE));
+		try (RandomAccessFile file = new RandomAccessFile(JOURNAL_FILE, "rw")) {
+			file.setLength(length - 3);
+		}
+		assertEquals(1, EnrollmentJournal.readEvents(JOURNAL_FILE).size());
+
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			assertEquals(1, journal.size());
+			journal.append(EnrollmentJournal.DROP, "zking", "CSC216", "001");
+		}
+		List<Event> events = EnrollmentJournal.readEvents(JOURNAL_FILE);
+		assertEquals(2, events.size());
+		assertEquals(EnrollmentJournal.DROP, events.get(1).getType());
+	}
+
+	/**
+	 * Tests that reading stops at a record that fails its checksum.
+	 *
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	public void testCorruptRecord() throws IOException {
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+			journal.append(EnrollmentJournal.ENROLL, "cschwartz", "CSC216", "001");
+			journal.append(EnrollmentJournal.ENROLL, "ahicks", "CSC216", "001");
+		}
+		// Flip a byte in the second record's user id: past the header, the first
+		// record (length, type, three strings, checksum), and the second's length,
+		// type, and string length
+		long userId = 16 + (4 + 1 + 2 + 5 + 2 + 6 + 2 + 3 + 4) + 4 + 1 + 2;
+		try (RandomAccessFile file = new RandomAccessFile(JOURNAL_FILE, "rw")) {
+			file.seek(userId);
+			int b = file.read();
+			file.seek(userId);
+			file.write(b ^ 0x20);
+		}
+		List<Event> events = EnrollmentJournal.readEvents(JOURNAL_FILE);
+		assertEquals(1, events.size());
+		assertEquals("zking", events.get(0).getUserId());
+	}
+
+	/**
+	 * Tests that a file that isn't a journal is rejected.
+	 */
+	@Test
+	public void testNotAJournal() {
+		Exception e = assertThrows(IOException.class,
+				() -> EnrollmentJournal.readEvents("test-files/course_records.txt"));
+		assertEquals("Not a journal file.", e.getMessage());
+		assertThrows(IOException.class, () -> new EnrollmentJournal("test-files/course_records.txt"));
+	}
+
+	/**
+	 * Tests that truncating removes every event, including ones not yet synced,
+	 * and starts a new generation.
+	 *
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	public void testTruncate() throws IOException {
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+			journal.sync();
+			journal.append(EnrollmentJournal.ENROLL, "cschwartz", "CSC216", "001");
+			assertEquals(0, journal.getGeneration());
+			journal.truncate(1);
+			assertEquals(0, journal.size());
+			assertEquals(1, journal.getGeneration());
+			assertEquals(0, EnrollmentJournal.readEvents(JOURNAL_FILE).size());
+
+			journal.append(EnrollmentJournal.DROP, "zking", "CSC216", "001");
+		}
+		assertEquals(1, EnrollmentJournal.readEvents(JOURNAL_FILE).size());
+
+		// The generation is kept when the journal is reopened
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			assertEquals(1, journal.getGeneration());
+			assertEquals(1, journal.size());
+		}
+	}
+
+	/**
+	 * Tests that events appended and synced by many threads at once all reach the
+	 * journal intact.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentSync() throws Exception {
+		int threads = 8;
+		int perThread = 200;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try (EnrollmentJournal journal = new EnrollmentJournal(JOURNAL_FILE)) {
+			Future<?>[] results = new Future<?>[threads];
+			for (int t = 0; t < threads; t++) {
+				String id = "student" + t;
+				results[t] = pool.submit(() -> {
+					for (int i = 0; i < perThread; i++) {
+						journal.sync(journal.append(EnrollmentJournal.ENROLL, id, "CSC216", String.format("%03d", i)));
+					}
+					return null;
+				});
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		List<Event> events = EnrollmentJournal.readEvents(JOURNAL_FILE);
+		assertEquals(threads * perThread, events.size());
+		// Each thread's events are in the order it appended them
+		int[] next = new int[threads];
+		for (Event e : events) {
+			int t = Integer.parseInt(e.getUserId().substring("student".length()));
+			assertEquals(String.format("%03d", next[t]++), e.getSection());
+		}
+	}
+}
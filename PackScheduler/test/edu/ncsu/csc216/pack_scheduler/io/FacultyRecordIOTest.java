@@ -112,6 +112,23 @@ public class FacultyRecordIOTest {
 	    }
 	}
 	
+	/**
+     * Tests that reading faculty records by mapping the file reads the same Faculty.
+     */
+	@Test
+	public void testReadFacultyRecordsMapped() {
+	    try {
+	        LinkedList<Faculty> faculties = FacultyRecordIO.readFacultyRecords(VALID_TEST_FILE, RecordReader.MAPPED);
+	        assertEquals(VALID_FACULTIES.length, faculties.size());
+	        for (int i = 0; i < VALID_FACULTIES.length; i++) {
+	            assertEquals(VALID_FACULTIES[i], faculties.get(i).toString());
+	        }
+	        assertEquals(0, FacultyRecordIO.readFacultyRecords(INVALID_TEST_FILE, RecordReader.MAPPED).size());
+	    } catch (FileNotFoundException e) {
+	        fail("Unexpected error reading " + VALID_TEST_FILE);
+	    }
+	}
+	
 	/**
      * Tests that FacultyRecordIO.readFacultyRecords throws a FileNotFoundException 
      * when trying to read from a nonexistent file.
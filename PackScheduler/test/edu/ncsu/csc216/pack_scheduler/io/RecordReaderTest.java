@@ -0,0 +1,186 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordReader classes, checking that reading a file by mapping it
+ * splits it into the same lines and fields as reading it through a
+ * BufferedReader.
+ *
+ * @author Priyanshu Dongre
+ */
+public class RecordReaderTest {
+
+	/**
+	 * Tests that the readers split small files with every kind of line ending,
+	 * blank lines, and empty fields the same way, however the file is split into
+	 * mapped regions.
+	 *
+	 * @throws IOException if the temporary file can't be written
+	 */
+	@Test
+	public void testReadersMatch() throws IOException {
+		String[] texts = { "", "a", "a\n", "\n", "\r\n", "\r\r\n\n", "a,b\r\nc,,d\re\n", ",x,\n,,\n12,-3,+4,99999999999",
+			"first,last,id\r\n\r\nnext,line" };
+		for (String text : texts) {
+			assertSameRecords(text);
+		}
+
+		Random random = new Random(217);
+		String[] pieces = { "a", "bc", ",", " ", "12", "-7", "\n", "\r", "\r\n", "\u00e9", "\u20ac" };
+		for (int i = 0; i < 300; i++) {
+			StringBuilder text = new StringBuilder();
+			int length = random.nextInt(40);
+			for (int j = 0; j < length; j++) {
+				text.append(pieces[random.nextInt(pieces.length)]);
+			}
+			assertSameRecords(text.toString());
+		}
+	}
+
+	/**
+	 * Tests that a file of about 10 MB is read the same way by both readers,
+	 * with lines crossing the boundaries of many mapped regions.
+	 *
+	 * @throws IOException if the temporary file can't be written
+	 */
+	@Test
+	public void testLargeFile() throws IOException {
+		StringBuilder text = new StringBuilder();
+		String[] endings = { "\n", "\r\n", "\r" };
+		for (int i = 0; text.length() < 10_000_000; i++) {
+			text.append("First").append(i).append(",Last").append(i % 97).append(",id").append(i).append(",id")
+					.append(i).append("@ncsu.edu,pw").append(i % 7).append(',').append(i % 19).append(endings[i % 3]);
+		}
+		Path file = write(text.toString());
+		try {
+			List<List<String>> expected = records(RecordReader.BUFFERED, file);
+			assertEquals(expected, records(RecordReader.MAPPED, file));
+			assertEquals(expected, records(new MappedRecordReader(1 << 20), file));
+			assertEquals(expected, records(new MappedRecordReader(4093), file));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Tests that lines crossing the end of a region as large as the largest one
+	 * are read from the next region whole, and only lines longer than the
+	 * largest region are split.
+	 *
+	 * @throws IOException if the temporary file can't be written
+	 */
+	@Test
+	public void testLargestRegion() throws IOException {
+		StringBuilder text = new StringBuilder();
+		String[] endings = { "\n", "\r\n", "\r" };
+		for (int i = 0; i < 2000; i++) {
+			text.append("a,").append(i % 100).append(endings[i % 3]);
+		}
+		Path file = write(text.toString());
+		try {
+			List<List<String>> expected = records(RecordReader.BUFFERED, file);
+			for (int maxRegion = 8; maxRegion <= 13; maxRegion++) {
+				assertEquals(expected, records(new MappedRecordReader(maxRegion, maxRegion), file));
+				assertEquals(expected, records(new MappedRecordReader(2, maxRegion), file));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+		file = write("abcdefghijklmnopqrstuvwxyz\nend");
+		try {
+			List<String> lines = new ArrayList<String>();
+			new MappedRecordReader(4, 8).read(file.toString(), fields -> lines.add(fields.next()));
+			assertEquals(List.of("abcdefgh", "ijklmnop", "qrstuvwx", "yz", "end"), lines);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Tests that both readers throw FileNotFoundException for a missing file.
+	 */
+	@Test
+	public void testNonexistentFile() {
+		assertThrows(FileNotFoundException.class, () -> RecordReader.BUFFERED.read("test-files/nope.txt", f -> { }));
+		assertThrows(FileNotFoundException.class, () -> RecordReader.MAPPED.read("test-files/nope.txt", f -> { }));
+		assertThrows(IllegalArgumentException.class, () -> new MappedRecordReader(0));
+		assertThrows(IllegalArgumentException.class, () -> new MappedRecordReader(9, 8));
+		assertThrows(IllegalArgumentException.class, () -> new MappedRecordReader(8, (1 << 30) + 1));
+	}
+
+	/**
+	 * Checks that the readers read the same records from a file with the given text.
+	 *
+	 * @param text the text of the file
+	 * @throws IOException if the temporary file can't be written
+	 */
+	private static void assertSameRecords(String text) throws IOException {
+		Path file = write(text);
+		try {
+			List<List<String>> expected = records(RecordReader.BUFFERED, file);
+			assertEquals(expected, records(RecordReader.MAPPED, file), text);
+			for (int regionSize = 2; regionSize <= 9; regionSize++) {
+				assertEquals(expected, records(new MappedRecordReader(regionSize), file), text);
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Reads every field of every line of a file. Each field is read as an int if
+	 * it is one and as a String otherwise, so both ways of reading a field are used.
+	 *
+	 * @param reader the reader to read the file with
+	 * @param file the file
+	 * @return the fields of each line
+	 * @throws IOException if the file can't be read
+	 */
+	private static List<List<String>> records(RecordReader reader, Path file) throws IOException {
+		List<List<String>> records = new ArrayList<List<String>>();
+		reader.read(file.toString(), fields -> {
+			List<String> record = new ArrayList<String>();
+			int i = 0;
+			while (fields.hasNext()) {
+				if (i++ % 2 == 0) {
+					record.add(fields.next());
+				} else {
+					try {
+						record.add("#" + fields.nextInt());
+					} catch (NumberFormatException e) {
+						record.add("!");
+					}
+				}
+			}
+			records.add(record);
+		});
+		return records;
+	}
+
+	/**
+	 * Writes text to a temporary file as UTF-8.
+	 *
+	 * @param text the text to write
+	 * @return the file
+	 * @throws IOException if the file can't be written
+	 */
+	private static Path write(String text) throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordTokenizer class.
+ * 
+ * @author Priyanshu Dongre
+ */
+public class RecordTokenizerTest {
+
+	/**
+	 * Tests splitting a course record.
+	 */
+	@Test
+	public void testNext() {
+		RecordTokenizer tokenizer = new RecordTokenizer().reset("CSC116,Intro to Programming - Java,001,3,jdyoung2,10,MW,0910,1100");
+		assertEquals("CSC116", tokenizer.next());
+		assertEquals("Intro to Programming - Java", tokenizer.next());
+		assertEquals("001", tokenizer.next());
+		assertEquals(3, tokenizer.nextInt());
+		assertEquals("jdyoung2", tokenizer.next());
+		assertEquals(10, tokenizer.nextInt());
+		assertEquals("MW", tokenizer.next());
+		assertEquals(910, tokenizer.nextInt());
+		assertTrue(tokenizer.hasNext());
+		assertEquals(1100, tokenizer.nextInt());
+		assertFalse(tokenizer.hasNext());
+		assertThrows(NoSuchElementException.class, () -> tokenizer.next());
+
+		tokenizer.reset("a, 3,x");
+		assertEquals("a", tokenizer.next());
+		assertThrows(NumberFormatException.class, () -> tokenizer.nextInt());
+		assertThrows(NumberFormatException.class, () -> tokenizer.nextInt());
+		assertFalse(tokenizer.hasNext());
+	}
+
+	/**
+	 * Tests that lines are split into the same fields as a Scanner using "," as
+	 * its delimiter, including empty fields and leading and trailing commas.
+	 */
+	@Test
+	public void testMatchesScanner() {
+		String[] lines = { "", ",", ",,", ",,,", ",a", "a,", "a,b,,", "a,,b,", " a , b ", ",a,,", "-12,+7,0" };
+		for (String line : lines) {
+			assertSameFields(line);
+		}
+
+		Random random = new Random(217);
+		char[] chars = { 'a', ',', ' ', '1', '-' };
+		for (int i = 0; i < 2000; i++) {
+			StringBuilder line = new StringBuilder();
+			int length = random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				line.append(chars[random.nextInt(chars.length)]);
+			}
+			assertSameFields(line.toString());
+		}
+	}
+
+	/**
+	 * Checks that the tokenizer and a Scanner split the line into the same fields.
+	 * 
+	 * @param line the line to split
+	 */
+	private static void assertSameFields(String line) {
+		RecordTokenizer tokenizer = new RecordTokenizer().reset(line);
+		Scanner scanner = new Scanner(line).useDelimiter(",");
+		while (scanner.hasNext()) {
+			assertTrue(tokenizer.hasNext(), line);
+			assertEquals(scanner.next(), tokenizer.next(), line);
+		}
+		assertFalse(tokenizer.hasNext(), line);
+		scanner.close();
+	}
+}
@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordWriter class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class RecordWriterTest {
+
+	/** Line separator the writer writes */
+	private static final String NL = System.lineSeparator();
+
+	/** Directory the files are written in */
+	private Path directory;
+
+	/** File being saved */
+	private Path file;
+
+	/**
+	 * Creates an empty directory with a file in it before each test.
+	 *
+	 * @throws IOException if the directory can't be created
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("record_writer");
+		file = directory.resolve("records.txt");
+		Files.write(file, ("old" + NL).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Deletes the directory after each test.
+	 *
+	 * @throws IOException if the directory can't be deleted
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path p : (Iterable<Path>) files::iterator) {
+				Files.delete(p);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Tests that committed lines replace the file.
+	 *
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testCommit() throws IOException {
+		try (RecordWriter writer = new RecordWriter(file.toString())) {
+			writer.writeLine("CSC216,Software Development Fundamentals,001");
+			writer.append("Zahir").append(',').append("King").append(',').append(15).endLine();
+			writer.writeLine("Caf\u00e9,\u20ac");
+			writer.commit();
+			assertThrows(IllegalStateException.class, () -> writer.writeLine("late"));
+			assertThrows(IllegalStateException.class, () -> writer.commit());
+		}
+		assertEquals("CSC216,Software Development Fundamentals,001" + NL + "Zahir,King,15" + NL + "Caf\u00e9,\u20ac" + NL,
+				read(file));
+		assertEquals(1, count());
+	}
+
+	/**
+	 * Tests that the file is left as it was until the writer commits, and if it
+	 * never does.
+	 *
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testUncommitted() throws IOException {
+		try (RecordWriter writer = new RecordWriter(file.toString())) {
+			for (int i = 0; i < 100000; i++) {
+				writer.writeLine("line " + i);
+			}
+			assertEquals("old" + NL, read(file));
+		}
+		assertEquals("old" + NL, read(file));
+		assertEquals(1, count());
+	}
+
+	/**
+	 * Tests writing a file with a million lines, spanning many buffers.
+	 *
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testManyLines() throws IOException {
+		StringBuilder expected = new StringBuilder();
+		try (RecordWriter writer = new RecordWriter(file.toString())) {
+			for (int i = 0; i < 1000000; i++) {
+				writer.append("First").append(i).append(",Last,id").append(i).append(",pw,").append(i % 19).endLine();
+				expected.append("First").append(i).append(",Last,id").append(i).append(",pw,").append(i % 19).append(NL);
+			}
+			writer.commit();
+		}
+		assertEquals(expected.toString(), read(file));
+	}
+
+	/**
+	 * Tests that a file in a missing directory can't be saved, and the error
+	 * names the file.
+	 */
+	@Test
+	public void testMissingDirectory() {
+		String missing = directory.resolve("missing").resolve("records.txt").toString();
+		Exception e = assertThrows(FileNotFoundException.class, () -> new RecordWriter(missing));
+		assertEquals(missing + " (No such file or directory)", e.getMessage());
+	}
+
+	/**
+	 * Returns the contents of a file.
+	 *
+	 * @param path the file
+	 * @return the file's contents
+	 * @throws IOException if the file can't be read
+	 */
+	private static String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the number of files in the directory.
+	 *
+	 * @return the number of files
+	 * @throws IOException if the directory can't be listed
+	 */
+	private long count() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO.Snapshot;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests SnapshotIO.
+ *
+ * @author Priyanshu Dongre
+ */
+public class SnapshotIOTest {
+
+	/** File the snapshots are written to */
+	private static final String SNAPSHOT_FILE = "test-files/actual_snapshot.bin";
+
+	/**
+	 * Removes the snapshot written by a test.
+	 *
+	 * @throws IOException if the file can't be removed
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(Paths.get(SNAPSHOT_FILE));
+	}
+
+	/**
+	 * Tests that enrollments, waitlists, schedules, and faculty assignments come
+	 * back from a snapshot the way they were saved.
+	 *
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		Course csc216 = new Course("CSC216", "Software Development Fundamentals", "601", 3, null, 10, "A");
+		Course csc226 = new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "TH", 1330, 1445);
+		Faculty fmeadow = new Faculty("Fiona", "Meadows", "fmeadow", "pharetra.sed@et.org", "hashpw", 3);
+		Student[] students = new Student[11];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "hashpw", 15);
+			csc116.getCourseRoll().enroll(students[i]);
+		}
+		// The last student is on the waitlist, so CSC116 isn't on their schedule
+		for (int i = 0; i < 10; i++) {
+			students[i].getSchedule().addCourseToSchedule(csc116);
+		}
+		students[0].getSchedule().setTitle("Fall Schedule");
+		students[0].getSchedule().addCourseToSchedule(csc216);
+		csc216.getCourseRoll().enroll(students[0]);
+		fmeadow.getSchedule().addCourseToSchedule(csc216);
+
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { csc116, csc216, csc226 }, students,
+				new Faculty[] { fmeadow });
+		Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+
+		Course[] courses = snapshot.getCourses();
+		assertEquals(3, courses.length);
+		assertEquals(csc116.toString(), courses[0].toString());
+		assertEquals(csc216.toString(), courses[1].toString());
+		assertEquals(csc226.toString(), courses[2].toString());
+
+		Student[] restored = snapshot.getStudents();
+		assertArrayEquals(students, restored);
+		assertEquals("Fall Schedule", restored[0].getSchedule().getTitle());
+		assertArrayEquals(new Course[] { courses[0], courses[1] }, restored[0].getSchedule().getCourses());
+		assertEquals(0, restored[10].getSchedule().getCourses().length);
+
+		// Rolls hold the same objects as the student table
+		Student[] enrolled = courses[0].getCourseRoll().getEnrolledStudents();
+		assertEquals(10, enrolled.length);
+		for (int i = 0; i < enrolled.length; i++) {
+			assertSame(restored[i], enrolled[i]);
+		}
+		assertArrayEquals(new Student[] { restored[10] }, courses[0].getCourseRoll().getWaitlistedStudents());
+		assertEquals(0, courses[0].getCourseRoll().getOpenSeats());
+		assertEquals(1, courses[0].getCourseRoll().getNumberOnWaitlist());
+		assertEquals(9, courses[1].getCourseRoll().getOpenSeats());
+
+		Faculty[] faculty = snapshot.getFaculty();
+		assertEquals(1, faculty.length);
+		assertEquals(fmeadow, faculty[0]);
+		assertSame(courses[1], faculty[0].getSchedule().getCourses()[0]);
+		assertEquals("fmeadow", courses[1].getInstructorId());
+		assertNull(courses[0].getInstructorId());
+		// An instructor without a faculty record is kept
+		assertEquals("tmbarnes", courses[2].getInstructorId());
+
+		// Dropping from a restored roll promotes the waitlisted student
+		courses[0].getCourseRoll().drop(restored[0]);
+		assertSame(restored[10], courses[0].getCourseRoll().getEnrolledStudents()[9]);
+		assertEquals(0, courses[0].getCourseRoll().getNumberOnWaitlist());
+		assertArrayEquals(new Course[] { courses[0] }, restored[10].getSchedule().getCourses());
+	}
+
+	/**
+	 * Tests that a course that's no longer in the catalog is left off schedules.
+	 *
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	public void testRemovedCourse() throws IOException {
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		Course removed = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330,
+				1445);
+		Student zking = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "hashpw", 15);
+		zking.getSchedule().addCourseToSchedule(csc116);
+		zking.getSchedule().addCourseToSchedule(removed);
+
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { csc116 }, new Student[] { zking }, new Faculty[0]);
+		Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+		assertArrayEquals(snapshot.getCourses(), snapshot.getStudents()[0].getSchedule().getCourses());
+	}
+
+	/**
+	 * Tests that a snapshot is restored as it was written, without the checks the
+	 * constructors and schedules make, so a schedule whose courses conflict (such
+	 * as after a course's time was changed) comes back unchanged.
+	 *
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	public void testRestoreWithoutChecks() throws IOException {
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		Course csc216 = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1000,
+				1115);
+		Student zking = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "hashpw", 15);
+		zking.getSchedule().restoreSchedule("Conflicts", new Course[] { csc116, csc216 });
+		Faculty fmeadow = new Faculty("Fiona", "Meadows", "fmeadow", "pharetra.sed@et.org", "hashpw", 3);
+		fmeadow.getSchedule().restoreSchedule(new Course[] { csc116, csc216 });
+		csc116.setInstructorId("fmeadow");
+		csc216.setInstructorId("fmeadow");
+
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { csc116, csc216 }, new Student[] { zking },
+				new Faculty[] { fmeadow });
+		Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+
+		Course[] courses = snapshot.getCourses();
+		assertEquals(csc116.toString(), courses[0].toString());
+		assertEquals(csc216.toString(), courses[1].toString());
+		assertTrue(courses[0].conflictsWith(courses[1]));
+		Student restored = snapshot.getStudents()[0];
+		assertEquals(zking.toString(), restored.toString());
+		assertEquals("Conflicts", restored.getSchedule().getTitle());
+		assertArrayEquals(courses, restored.getSchedule().getCourses());
+		assertEquals(fmeadow, snapshot.getFaculty()[0]);
+		assertArrayEquals(courses, snapshot.getFaculty()[0].getSchedule().getCourses());
+
+		// Restored objects are checked like any others once they're changed
+		assertThrows(IllegalArgumentException.class, () -> courses[0].setMeetingDaysAndTime("MW", 1100, 1000));
+		assertThrows(IllegalArgumentException.class, () -> restored.setMaxCredits(19));
+	}
+
+	/**
+	 * Tests that an empty snapshot can be written and read.
+	 *
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	public void testEmptySnapshot() throws IOException {
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[0], new Student[0], new Faculty[0]);
+		Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+		assertEquals(0, snapshot.getCourses().length);
+		assertEquals(0, snapshot.getStudents().length);
+		assertEquals(0, snapshot.getFaculty().length);
+	}
+
+	/**
+	 * Tests that a snapshot that fails partway through writing leaves the file
+	 * it was replacing as it was, with no temporary file left behind.
+	 *
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	public void testFailedWrite() throws IOException {
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { csc116 }, new Student[0], new Faculty[0]);
+
+		assertThrows(NullPointerException.class,
+				() -> SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[0], new Student[] { null }, new Faculty[0]));
+		assertEquals(1, SnapshotIO.readSnapshot(SNAPSHOT_FILE).getCourses().length);
+		try (Stream<Path> files = Files.list(Paths.get(SNAPSHOT_FILE).getParent())) {
+			assertEquals(0, files.filter(f -> f.getFileName().toString().startsWith(".actual_snapshot.bin.")).count());
+		}
+	}
+
+	/**
+	 * Tests that a damaged snapshot fails its checksum.
+	 *
+	 * @throws IOException if the snapshot can't be written
+	 */
+	@Test
+	public void testCorruptSnapshot() throws IOException {
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { csc116 }, new Student[0], new Faculty[0]);
+
+		try (RandomAccessFile file = new RandomAccessFile(SNAPSHOT_FILE, "rw")) {
+			file.seek(20);
+			int b = file.read();
+			file.seek(20);
+			file.write(b ^ 0xFF);
+		}
+		Exception e = assertThrows(IOException.class, () -> SnapshotIO.readSnapshot(SNAPSHOT_FILE));
+		assertEquals("Snapshot checksum doesn't match.", e.getMessage());
+	}
+
+	/**
+	 * Tests that a file that isn't a snapshot is rejected.
+	 *
+	 * @throws IOException if the snapshot can't be written
+	 */
+	@Test
+	public void testNotASnapshot() throws IOException {
+		Exception e = assertThrows(IOException.class, () -> SnapshotIO.readSnapshot("test-files/course_records.txt"));
+		assertEquals("Not a snapshot file.", e.getMessage());
+
+		Files.write(Paths.get(SNAPSHOT_FILE), new byte[] { 0x50, 0x53 });
+		assertThrows(IOException.class, () -> SnapshotIO.readSnapshot(SNAPSHOT_FILE));
+		assertThrows(IOException.class, () -> SnapshotIO.readSnapshot("test-files/no_such_file.bin"));
+	}
+}
@@ -3,6 +3,7 @@ package edu.ncsu.csc216.pack_scheduler.io;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -14,12 +15,16 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Scanner;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.SkipList;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 
@@ -168,6 +173,118 @@ public void testNonexistentFile() {
     assertThrows(FileNotFoundException.class, () -> StudentRecordIO.readStudentRecords(nonexistentFile));
 }
 
+/**
+ * Tests that readStudentRecordsParallel reads the same Students as readStudentRecords
+ * for each test file, however many chunks the file is split into.
+ * @throws IOException if a file can't be read
+ */
+@Test
+public void testReadStudentRecordsParallel() throws IOException {
+    String[] files = { validTestFile, invalidTestFile, "test-files/fake_student_records.txt", "test-files/t19_student_directory.txt" };
+    for (String file : files) {
+        SortedList<Student> expected = StudentRecordIO.readStudentRecords(file);
+        assertSameStudents(expected, StudentRecordIO.readStudentRecordsParallel(file));
+        assertSameStudents(expected, StudentRecordIO.readStudentRecords(file, RecordReader.MAPPED));
+        for (int chunks = 1; chunks <= 50; chunks += 7) {
+            assertSameStudents(expected, StudentRecordIO.readStudentRecordsParallel(file, chunks));
+        }
+    }
+    assertThrows(FileNotFoundException.class, () -> StudentRecordIO.readStudentRecordsParallel(nonexistentFile));
+    assertThrows(FileNotFoundException.class, () -> StudentRecordIO.readStudentRecords(nonexistentFile, RecordReader.MAPPED));
+}
+
+/**
+ * Tests readStudentRecordsParallel on a large file with duplicate names and ids, invalid and
+ * blank lines, and a mix of line endings.
+ * @throws IOException if the temporary file can't be written
+ */
+@Test
+public void testReadStudentRecordsParallelLargeFile() throws IOException {
+    Path file = Files.createTempFile("student_records", ".txt");
+    try {
+        StringBuilder records = new StringBuilder();
+        String[] endings = { "\n", "\r\n", "\r" };
+        for (int i = 0; i < 5000; i++) {
+            // Every name appears several times, each time with a different id, so the first one must win
+            records.append("First").append(i % 600).append(",Last").append(i % 5).append(",id").append(i)
+                .append(",id").append(i).append("@ncsu.edu,pw,").append(3 + i % 16).append(endings[i % 3]);
+            if (i >= 600 && i % 13 == 0) {
+                // A new name with the id of a duplicate, which didn't claim the id, so this one is kept
+                records.append("Other").append(i).append(",Name,id").append(i).append(",o").append(i)
+                    .append("@ncsu.edu,pw,12").append(endings[i % 3]);
+            }
+            if (i % 11 == 0) {
+                records.append("Bad,Line,bline,bline@ncsu.edu,pw").append(endings[i % 2]);
+                records.append(endings[i % 3]);
+            }
+        }
+        Files.write(file.toAbsolutePath(), records.toString().getBytes());
+
+        SortedList<Student> expected = StudentRecordIO.readStudentRecords(file.toString());
+        assertEquals(600 + 338, expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Student s = expected.get(i);
+            assertTrue(s.getFirstName().startsWith("Other") || Integer.parseInt(s.getId().substring(2)) < 600);
+        }
+        assertSameStudents(expected, StudentRecordIO.readStudentRecords(file.toString(), RecordReader.MAPPED));
+        for (int chunks = 1; chunks <= 64; chunks *= 2) {
+            assertSameStudents(expected, StudentRecordIO.readStudentRecordsParallel(file.toString(), chunks));
+        }
+    } finally {
+        Files.deleteIfExists(file);
+    }
+}
+
+/**
+ * Tests that readStudentRecordsParallel decodes the file as UTF-8, the same as
+ * readStudentRecords, whatever the platform's default charset is.
+ * @throws IOException if the temporary file can't be written
+ */
+@Test
+public void testReadStudentRecordsParallelUtf8() throws IOException {
+    Path file = Files.createTempFile("student_records", ".txt");
+    try {
+        String records = "Ren\u00e9e,M\u00fcller,rmuller,rmuller@ncsu.edu,pw,12\n"
+            + "Zo\u00eb,\u00c5berg,zaberg,zaberg@ncsu.edu,pw,15\n";
+        Files.write(file, records.getBytes(StandardCharsets.UTF_8));
+
+        SortedList<Student> expected = StudentRecordIO.readStudentRecords(file.toString());
+        assertEquals(2, expected.size());
+        assertEquals("Ren\u00e9e", expected.get(0).getFirstName());
+        assertEquals("\u00c5berg", expected.get(1).getLastName());
+        for (int chunks = 1; chunks <= 4; chunks++) {
+            assertSameStudents(expected, StudentRecordIO.readStudentRecordsParallel(file.toString(), chunks));
+        }
+    } finally {
+        Files.deleteIfExists(file);
+    }
+}
+
+/**
+ * Checks that a SkipList holds the same Students as a SortedList, in the same order.
+ * @param expected the expected list
+ * @param actual the actual list
+ */
+private void assertSameStudents(SortedList<Student> expected, SkipList<Student> actual) {
+    assertEquals(expected.size(), actual.size());
+    int i = 0;
+    for (Student s : actual) {
+        assertEquals(expected.get(i++).toString(), s.toString());
+    }
+}
+
+/**
+ * Checks that two lists hold the same Students in the same order.
+ * @param expected the expected list
+ * @param actual the actual list
+ */
+private void assertSameStudents(SortedList<Student> expected, SortedList<Student> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.get(i).toString(), actual.get(i).toString());
+    }
+}
+
 /**
  * Tests writeStudentRecords for one Student.
  */
@@ -12,7 +12,18 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
@@ -20,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
@@ -548,6 +560,601 @@ public class RegistrationManagerTest {
 		assertThrows(IllegalArgumentException.class, () -> manager.removeFacultyFromCourse(csc116, ansh));
 	}
 	
+/**
+	 * Tests that several students can be logged in through their own sessions at
+	 * the same time, and that each session acts only for its own student.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testConcurrentSessions() throws Exception {
+		setUp();
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		
+		Session efrost = manager.openSession("efrost", "pw");
+		Session ahicks = manager.openSession("ahicks", "pw");
+		assertNotNull(efrost);
+		assertNotNull(ahicks);
+		assertNotEquals(efrost.getToken(), ahicks.getToken());
+		assertEquals(efrost, manager.getSession(efrost.getToken()));
+		assertEquals("efrost", efrost.getUser().getId());
+		
+		// Opening sessions doesn't log anyone in through login()
+		assertNull(manager.getCurrentUser());
+		
+		assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+		assertTrue(manager.enrollStudentInCourse(ahicks, csc216));
+		assertEquals(8, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(1, ((Student) efrost.getUser()).getSchedule().getScheduledCourses().length);
+		
+		assertTrue(manager.dropStudentFromCourse(ahicks, csc216));
+		assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(0, ((Student) ahicks.getUser()).getSchedule().getScheduledCourses().length);
+		
+		manager.resetSchedule(efrost);
+		assertEquals(10, csc216.getCourseRoll().getOpenSeats());
+		
+		// A closed session can't be used or looked up
+		manager.closeSession(ahicks);
+		assertFalse(ahicks.isOpen());
+		assertNull(manager.getSession(ahicks.getToken()));
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(ahicks, csc216));
+		assertTrue(efrost.isOpen());
+		manager.closeSession(efrost);
+	}
+	
+	/**
+	 * Tests saving the registration state to a snapshot and loading it back.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testSaveAndLoadSnapshot() throws Exception {
+		setUp();
+		String snapshotFile = "test-files/actual_registration_snapshot.bin";
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		Session efrost = manager.openSession("efrost", "pw");
+		assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+		manager.closeSession(efrost);
+		
+		try {
+			manager.saveSnapshot(snapshotFile);
+			manager.clearData();
+			assertEquals(0, manager.getCourseCatalog().getCourseCatalog().length);
+			
+			manager.loadSnapshot(snapshotFile);
+			assertEquals(13, manager.getCourseCatalog().getCourseCatalog().length);
+			assertEquals(10, manager.getStudentDirectory().getStudentDirectory().length);
+			Course restored = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+			assertEquals(9, restored.getCourseRoll().getOpenSeats());
+			
+			// Passwords are kept hashed, so students can still log in
+			Session restoredSession = manager.openSession("efrost", "pw");
+			assertNotNull(restoredSession);
+			Student student = (Student) restoredSession.getUser();
+			assertEquals(restored, student.getSchedule().getCourses()[0]);
+			assertTrue(manager.dropStudentFromCourse(restoredSession, restored));
+			assertEquals(10, restored.getCourseRoll().getOpenSeats());
+			manager.closeSession(restoredSession);
+		} finally {
+			Files.deleteIfExists(Paths.get(snapshotFile));
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> manager.loadSnapshot("test-files/course_records.txt"));
+	}
+	
+	/**
+	 * Tests that replacing the directories closes the sessions of the students
+	 * and faculty in them, so a session can't enroll a student the new
+	 * directory doesn't have, but leaves the registrar's sessions open.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testReplacingDataClosesSessions() throws Exception {
+		setUp();
+		String snapshotFile = "test-files/actual_registration_snapshot.bin";
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		try {
+			manager.saveSnapshot(snapshotFile);
+			Session registrar = manager.openSession(registrarUsername, registrarPassword);
+			Session efrost = manager.openSession("efrost", "pw");
+			assertTrue(manager.login("ahicks", "pw"));
+			
+			manager.loadSnapshot(snapshotFile);
+			assertFalse(efrost.isOpen());
+			assertNull(manager.getSession(efrost.getToken()));
+			assertNull(manager.getCurrentUser());
+			assertTrue(registrar.isOpen());
+			Course restored = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+			assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(efrost, restored));
+			assertEquals(10, restored.getCourseRoll().getOpenSeats());
+			
+			Session zking = manager.openSession("zking", "pw");
+			manager.clearData();
+			assertFalse(zking.isOpen());
+			assertTrue(registrar.isOpen());
+			manager.closeSession(registrar);
+		} finally {
+			Files.deleteIfExists(Paths.get(snapshotFile));
+		}
+	}
+	
+	/**
+	 * Tests that changes recorded in the journal are made again when it's reopened,
+	 * and that compacting the journal keeps them in the snapshot.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testJournal() throws Exception {
+		setUp();
+		String snapshotFile = "test-files/actual_journal_snapshot.bin";
+		String journalFile = "test-files/actual_registration_journal.bin";
+		try {
+			loadTestRecords();
+			manager.openJournal(snapshotFile, journalFile);
+			Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+			Session efrost = manager.openSession("efrost", "pw");
+			Session ahicks = manager.openSession("ahicks", "pw");
+			assertTrue(manager.enrollStudentInCourse(efrost, csc216));
+			assertTrue(manager.enrollStudentInCourse(ahicks, csc216));
+			assertTrue(manager.dropStudentFromCourse(ahicks, csc216));
+			Session registrarSession = manager.openSession(registrarUsername, registrarPassword);
+			Faculty fmeadow = manager.getFacultyDirectory().getFacultyById("fmeadow");
+			assertTrue(manager.addFacultyToCourse(registrarSession, csc216, fmeadow));
+			manager.closeSession(efrost);
+			manager.closeSession(ahicks);
+			manager.closeSession(registrarSession);
+			
+			// Start over from the records files and replay the journal
+			manager.closeJournal();
+			manager.clearData();
+			loadTestRecords();
+			manager.openJournal(snapshotFile, journalFile);
+			assertJournaledState();
+			
+			// Compacting moves the changes into the snapshot, which is loaded on its own
+			manager.compactJournal();
+			manager.closeJournal();
+			manager.clearData();
+			manager.openJournal(snapshotFile, journalFile);
+			assertJournaledState();
+		} finally {
+			manager.closeJournal();
+			Files.deleteIfExists(Paths.get(snapshotFile));
+			Files.deleteIfExists(Paths.get(journalFile));
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> manager.compactJournal());
+	}
+	
+	/**
+	 * Tests that events a snapshot already includes aren't made again: ones
+	 * recorded before a snapshot was saved while the journal was open, and ones in
+	 * a journal left behind by a compaction that stopped before emptying it.
+	 * Making the drops below again on top of the snapshot would give the wrong
+	 * student the seat.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testJournalEventsInSnapshot() throws Exception {
+		setUp();
+		String snapshotFile = "test-files/actual_journal_snapshot.bin";
+		String journalFile = "test-files/actual_registration_journal.bin";
+		Path stale = Paths.get("test-files/actual_stale_journal.bin");
+		try {
+			loadTestRecords();
+			StudentDirectory directory = manager.getStudentDirectory();
+			directory.addStudent("Ada", "Waitlist", "await", "await@ncsu.edu", "pw", "pw", 18);
+			directory.addStudent("Walt", "Waitlist", "wwait", "wwait@ncsu.edu", "pw", "pw", 18);
+			manager.openJournal(snapshotFile, journalFile);
+			Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+			
+			// Fill the section, with the last student on the waitlist
+			Student[] students = directory.getStudents();
+			Session[] sessions = new Session[students.length];
+			for (int i = 0; i < students.length; i++) {
+				sessions[i] = manager.openSession(students[i].getId(), "pw");
+				if (!"wwait".equals(students[i].getId()) && !"await".equals(students[i].getId())) {
+					assertTrue(manager.enrollStudentInCourse(sessions[i], csc216));
+				}
+			}
+			Session e = sessions[indexOf(students, "efrost")];
+			Session b = sessions[indexOf(students, "zking")];
+			assertTrue(manager.enrollStudentInCourse(sessions[indexOf(students, "await")], csc216));
+			
+			// The waitlisted student takes efrost's seat, efrost takes the seat zking
+			// leaves, and another student joins the waitlist
+			assertTrue(manager.dropStudentFromCourse(e, csc216));
+			assertTrue(manager.dropStudentFromCourse(b, csc216));
+			assertTrue(manager.enrollStudentInCourse(e, csc216));
+			assertTrue(manager.enrollStudentInCourse(sessions[indexOf(students, "wwait")], csc216));
+			assertSeatsAfterDrops();
+			for (Session session : sessions) {
+				manager.closeSession(session);
+			}
+			
+			// A snapshot saved with the journal open includes the events so far
+			manager.saveSnapshot(snapshotFile);
+			manager.closeJournal();
+			manager.clearData();
+			manager.openJournal(snapshotFile, journalFile);
+			assertSeatsAfterDrops();
+			
+			// Stop as if the program ended after compacting wrote the snapshot, but
+			// before it emptied the journal
+			Files.copy(Paths.get(journalFile), stale, StandardCopyOption.REPLACE_EXISTING);
+			manager.compactJournal();
+			manager.closeJournal();
+			Files.copy(stale, Paths.get(journalFile), StandardCopyOption.REPLACE_EXISTING);
+			manager.clearData();
+			manager.openJournal(snapshotFile, journalFile);
+			assertSeatsAfterDrops();
+			manager.closeJournal();
+			try (EnrollmentJournal journal = new EnrollmentJournal(journalFile)) {
+				assertEquals(0, journal.size());
+				assertEquals(1, journal.getGeneration());
+			}
+		} finally {
+			manager.closeJournal();
+			Files.deleteIfExists(Paths.get(snapshotFile));
+			Files.deleteIfExists(Paths.get(journalFile));
+			Files.deleteIfExists(stale);
+		}
+	}
+	
+	/**
+	 * Checks the seats made by the drops in testJournalEventsInSnapshot().
+	 */
+	private void assertSeatsAfterDrops() {
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		Student[] enrolled = csc216.getCourseRoll().getEnrolledStudents();
+		assertEquals(10, enrolled.length);
+		assertEquals(-1, indexOf(enrolled, "zking"));
+		assertEquals(8, indexOf(enrolled, "await"));
+		assertEquals(9, indexOf(enrolled, "efrost"));
+		Student[] waitlisted = csc216.getCourseRoll().getWaitlistedStudents();
+		assertEquals(1, waitlisted.length);
+		assertEquals("wwait", waitlisted[0].getId());
+	}
+	
+	/**
+	 * Returns the position of the student with the given id.
+	 * @param students the students
+	 * @param id the id to find
+	 * @return the student's position, or -1 if none has the id
+	 */
+	private static int indexOf(Student[] students, String id) {
+		for (int i = 0; i < students.length; i++) {
+			if (students[i].getId().equals(id)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Loads the student, course, and faculty records used by testJournal().
+	 */
+	private void loadTestRecords() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+	}
+	
+	/**
+	 * Checks the state made by the changes in testJournal().
+	 */
+	private void assertJournaledState() {
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		assertEquals("fmeadow", csc216.getInstructorId());
+		Student efrost = manager.getStudentDirectory().getStudentById("efrost");
+		assertEquals(csc216, efrost.getSchedule().getCourses()[0]);
+		assertEquals(0, manager.getStudentDirectory().getStudentById("ahicks").getSchedule().getCourses().length);
+		assertEquals(csc216, manager.getFacultyDirectory().getFacultyById("fmeadow").getSchedule().getCourses()[0]);
+	}
+	
+	/**
+	 * Tests opening sessions with invalid credentials and using sessions that
+	 * don't belong to the right kind of user.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testOpenSessionInvalid() throws Exception {
+		setUp();
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		
+		assertNull(manager.openSession("efrost", "wrong"));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> manager.openSession("nobody", "pw"));
+		assertEquals("User doesn't exist.", e.getMessage());
+		assertNull(manager.getSession(null));
+		assertNull(manager.getSession("not a token"));
+		
+		Session student = manager.openSession("efrost", "pw");
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		Faculty ansh = new Faculty("Ansh", "Singh", "ASingh", "ASingh@ncsu.edu", "password", 2);
+		Course csc116 = new Course("CSC116", "Intro to Java", "001", 3, null, 10, "A");
+		
+		e = assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(registrar, csc116));
+		assertEquals("Illegal Action", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule((Session) null));
+		e = assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(student, csc116, ansh));
+		assertEquals("Illegal Action", e.getMessage());
+		
+		assertTrue(manager.addFacultyToCourse(registrar, csc116, ansh));
+		assertEquals(1, ansh.getSchedule().getNumScheduledCourses());
+		assertTrue(manager.removeFacultyFromCourse(registrar, csc116, ansh));
+		assertEquals(0, ansh.getSchedule().getNumScheduledCourses());
+		
+		manager.closeSession(student);
+		manager.closeSession(registrar);
+		assertThrows(IllegalArgumentException.class, () -> manager.resetFacultySchedule(registrar, ansh));
+	}
+	
+	/**
+	 * Tests that login() and logout() work alongside sessions opened with openSession().
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testLoginWithOpenSessions() throws Exception {
+		setUp();
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		
+		Session ahicks = manager.openSession("ahicks", "pw");
+		assertTrue(manager.login("efrost", "pw"));
+		assertEquals("efrost", manager.getCurrentUser().getId());
+		Session current = manager.getCurrentSession();
+		assertEquals(manager.getCurrentUser(), current.getUser());
+		assertFalse(manager.login("ahicks", "pw"));
+		
+		manager.logout();
+		assertNull(manager.getCurrentSession());
+		assertFalse(current.isOpen());
+		assertTrue(ahicks.isOpen());
+		manager.closeSession(ahicks);
+	}
+	
+/**
+	 * Tests that many students enrolling in the same section at once never
+	 * oversell its seats or waitlist, even when a student enrolls from two
+	 * sessions at the same time.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testConcurrentEnrollment() throws Exception {
+		setUp();
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		Course csc116 = manager.getCourseCatalog().getCourseFromCatalog("CSC116", "003");
+		
+		int numStudents = 60;
+		Session[] sessions = new Session[numStudents * 2];
+		for (int i = 0; i < numStudents; i++) {
+			manager.getStudentDirectory().addStudent("First" + i, "Last" + i, "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i * 2] = manager.openSession("student" + i, "pw");
+			sessions[i * 2 + 1] = manager.openSession("student" + i, "pw");
+		}
+		
+		AtomicInteger enrolled216 = new AtomicInteger();
+		AtomicInteger enrolled116 = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		for (Session session : sessions) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (manager.enrollStudentInCourse(session, csc216)) {
+					enrolled216.incrementAndGet();
+				}
+				if (manager.enrollStudentInCourse(session, csc116)) {
+					enrolled116.incrementAndGet();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+		
+		// Each section fills its seats and its waitlist of 10, and no more
+		assertEquals(20, enrolled216.get());
+		assertEquals(0, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(10, csc216.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(20, enrolled116.get());
+		assertEquals(0, csc116.getCourseRoll().getOpenSeats());
+		assertEquals(10, csc116.getCourseRoll().getNumberOnWaitlist());
+		
+		// No student has a section on their schedule twice
+		int scheduled = 0;
+		for (int i = 0; i < numStudents; i++) {
+			String[][] courses = manager.getStudentDirectory().getStudentById("student" + i).getSchedule().getScheduledCourses();
+			assertTrue(courses.length <= 2);
+			scheduled += courses.length;
+		}
+		assertEquals(40, scheduled);
+		
+		for (Session session : sessions) {
+			manager.closeSession(session);
+		}
+	}
+	
+	/**
+	 * Tests that enrolling reserves a seat before waiting on the roll's lock, and
+	 * confirms it once the lock is free.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testEnrollReservesBeforeLocking() throws Exception {
+		setUp();
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		Session efrost = manager.openSession("efrost", "pw");
+		
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> enroll;
+			synchronized (csc216.getCourseRoll()) {
+				enroll = pool.submit(() -> manager.enrollStudentInCourse(efrost, csc216));
+				for (int i = 0; i < 1000 && csc216.getCourseRoll().getOpenSeats() == 10; i++) {
+					Thread.sleep(10);
+				}
+				assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+				assertFalse(enroll.isDone());
+			}
+			assertTrue(enroll.get(10, TimeUnit.SECONDS));
+			assertEquals(1, csc216.getCourseRoll().getEnrolledStudents().length);
+			
+			// A student who can't take the course gives the reserved seat back
+			assertFalse(manager.enrollStudentInCourse(efrost, csc216));
+			assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		} finally {
+			pool.shutdownNow();
+			manager.closeSession(efrost);
+		}
+	}
+	
+/**
+	 * Tests that two students dropping sections at the same time, each promoting
+	 * the other off the waitlist of the section they're dropping, don't deadlock,
+	 * and that every promotion reaches the promoted student's schedule.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testCrossingDrops() throws Exception {
+		setUp();
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		Course csc116 = manager.getCourseCatalog().getCourseFromCatalog("CSC116", "003");
+		
+		// Fill both sections with 9 other students
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 18; i++) {
+			directory.addStudent("First" + i, "Last" + i, "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+			Session session = manager.openSession("student" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, i < 9 ? csc216 : csc116));
+			manager.closeSession(session);
+		}
+		directory.addStudent("Xavier", "Cross", "xcross", "xcross@ncsu.edu", "pw", "pw", 18);
+		directory.addStudent("Yara", "Cross", "ycross", "ycross@ncsu.edu", "pw", "pw", 18);
+		Session x = manager.openSession("xcross", "pw");
+		Session y = manager.openSession("ycross", "pw");
+		
+		// Each student holds the last seat in one section and waits for the other
+		assertTrue(manager.enrollStudentInCourse(x, csc216));
+		assertTrue(manager.enrollStudentInCourse(y, csc116));
+		assertTrue(manager.enrollStudentInCourse(x, csc116));
+		assertTrue(manager.enrollStudentInCourse(y, csc216));
+		
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 500; round++) {
+				// The students swap sections each round
+				Session in216 = round % 2 == 0 ? x : y;
+				Session in116 = round % 2 == 0 ? y : x;
+				CountDownLatch start = new CountDownLatch(1);
+				Future<Boolean> drop216 = pool.submit(() -> {
+					start.await();
+					return manager.dropStudentFromCourse(in216, csc216);
+				});
+				Future<Boolean> drop116 = pool.submit(() -> {
+					start.await();
+					return manager.dropStudentFromCourse(in116, csc116);
+				});
+				start.countDown();
+				try {
+					assertTrue(drop216.get(10, TimeUnit.SECONDS));
+					assertTrue(drop116.get(10, TimeUnit.SECONDS));
+				} catch (TimeoutException e) {
+					fail("Crossing drops deadlocked in round " + round);
+				}
+				
+				// Each student was promoted into the section the other dropped
+				assertEquals(0, csc216.getCourseRoll().getNumberOnWaitlist());
+				assertEquals(0, csc116.getCourseRoll().getNumberOnWaitlist());
+				assertEquals(1, ((Student) in216.getUser()).getSchedule().getCourses().length);
+				assertEquals(1, ((Student) in116.getUser()).getSchedule().getCourses().length);
+				
+				// Wait for the section just dropped again
+				assertTrue(manager.enrollStudentInCourse(in216, csc216));
+				assertTrue(manager.enrollStudentInCourse(in116, csc116));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(0, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(0, csc116.getCourseRoll().getOpenSeats());
+		assertEquals(2, ((Student) x.getUser()).getSchedule().getCourses().length);
+		assertEquals(2, ((Student) y.getUser()).getSchedule().getCourses().length);
+		
+		manager.closeSession(x);
+		manager.closeSession(y);
+	}
+	
+	/**
+	 * Tests that courses assigned to and removed from one faculty member from
+	 * many threads at once all end up on, then off, the faculty's schedule.
+	 * 
+	 * @throws Exception if there is an unexpected error during execution
+	 */
+	@Test
+	public void testConcurrentFacultyAssignment() throws Exception {
+		setUp();
+		Session registrar = manager.openSession(registrarUsername, registrarPassword);
+		Faculty ansh = new Faculty("Ansh", "Singh", "ASingh", "ASingh@ncsu.edu", "password", 3);
+		Course[] courses = new Course[200];
+		for (int i = 0; i < courses.length; i++) {
+			courses[i] = new Course("CSC" + (100 + i), "Course " + i, "001", 3, null, 10, "A");
+		}
+		
+		for (boolean assigning : new boolean[] { true, false }) {
+			AtomicInteger next = new AtomicInteger();
+			CountDownLatch start = new CountDownLatch(1);
+			ExecutorService pool = Executors.newFixedThreadPool(8);
+			for (int t = 0; t < 8; t++) {
+				pool.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = next.getAndIncrement(); i < courses.length; i = next.getAndIncrement()) {
+						if (assigning) {
+							manager.addFacultyToCourse(registrar, courses[i], ansh);
+						} else {
+							manager.removeFacultyFromCourse(registrar, courses[i], ansh);
+						}
+					}
+				});
+			}
+			start.countDown();
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+			
+			assertEquals(assigning ? courses.length : 0, ansh.getSchedule().getNumScheduledCourses());
+			for (Course c : courses) {
+				assertEquals(assigning ? "ASingh" : null, c.getInstructorId());
+			}
+		}
+		
+		manager.closeSession(registrar);
+	}
+	
 //	@Test
 //	public void testResetFacultySchedule() throws Exception {
 //		setUp();
@@ -0,0 +1,55 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * Tests the Session class.
+ *
+ * @author Priyanshu Dongre
+ */
+public class SessionTest {
+
+	/** Student used for the session */
+	private final User student = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 15);
+
+	/**
+	 * Tests constructing a session and its getters.
+	 */
+	@Test
+	public void testSession() {
+		Session session = new Session("token", student);
+		assertEquals("token", session.getToken());
+		assertEquals(student, session.getUser());
+		assertTrue(session.isOpen());
+	}
+
+	/**
+	 * Tests that a session can't be constructed without a token or user.
+	 */
+	@Test
+	public void testSessionInvalid() {
+		Exception e = assertThrows(IllegalArgumentException.class, () -> new Session(null, student));
+		assertEquals("Invalid session.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> new Session("token", null));
+	}
+
+	/**
+	 * Tests closing a session.
+	 */
+	@Test
+	public void testClose() {
+		Session session = new Session("token", student);
+		session.close();
+		assertFalse(session.isOpen());
+		session.close();
+		assertFalse(session.isOpen());
+	}
+}
@@ -3,6 +3,10 @@ package edu.ncsu.csc216.pack_scheduler.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -238,6 +242,95 @@ public class ArrayListTest {
 	}
 
 	
+	/**
+     * Test replacing an element with an equal one at the same index.
+     */
+	@Test
+	public void testSetSameElement() {
+		list.add("First");
+		list.add("Second");
+		assertEquals("Second", list.set(1, new String("Second")));
+		assertEquals(2, list.size());
+		try {
+			list.add("Second");
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		list.remove(1);
+		list.add("Second");
+		assertEquals("Second", list.get(1));
+	}
+
+	/**
+     * Test that elements with the same hash code are still told apart, and
+     * that removing them leaves the others findable.
+     */
+	@Test
+	public void testHashCollisions() {
+		// "Aa" and "BB" have the same hash code, so every String made of them does too
+		String[] colliding = { "AaAa", "AaBB", "BBAa", "BBBB" };
+		for (int i = 0; i < 200; i++) {
+			list.add("Element " + i);
+		}
+		for (String s : colliding) {
+			list.add(s);
+		}
+		for (String s : colliding) {
+			try {
+				list.add(s);
+				fail("Expected IllegalArgumentException not thrown");
+			} catch (IllegalArgumentException e) {
+				// Expected exception
+			}
+		}
+		list.removeRange(0, 100);
+		list.remove("AaBB");
+		list.add("AaBB");
+		list.remove("AaAa");
+		list.remove("BBAa");
+		list.add("AaAa");
+		for (int i = 100; i < 200; i++) {
+			try {
+				list.add("Element " + i);
+				fail("Expected IllegalArgumentException not thrown");
+			} catch (IllegalArgumentException e) {
+				// Expected exception
+			}
+		}
+		for (int i = 0; i < 100; i++) {
+			list.add("Element " + i);
+		}
+		assertEquals(203, list.size());
+	}
+
+	/**
+     * Test that an element changed after it was added, in a way that changes
+     * its hash code, is still found as a duplicate.
+     */
+	@Test
+	public void testDuplicateAfterHashChange() {
+		ArrayList<List<String>> lists = new ArrayList<>();
+		List<String> changed = new java.util.ArrayList<String>(Arrays.asList("a"));
+		lists.add(changed);
+		lists.add(Arrays.asList("c"));
+		changed.add("b");
+		try {
+			lists.add(Arrays.asList("a", "b"));
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		try {
+			lists.set(1, Arrays.asList("a", "b"));
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		lists.add(Arrays.asList("a"));
+		assertEquals(3, lists.size());
+	}
+
 	/**
      * Test setting an element at an out-of-bounds index.
      */
@@ -271,4 +364,171 @@ public class ArrayListTest {
             assertEquals("Element " + i, list.get(i), "Element at index " + i + " should be 'Element " + i + "'.");
         }
     }
-}
\ No newline at end of file
+
+	
+	/**
+     * Test that appending an element already in the list is rejected, the
+     * same as inserting it anywhere else.
+     */
+	@Test
+	public void testAppendDuplicate() {
+		for (int i = 0; i < 20; i++) {
+			list.add("Element " + i);
+		}
+		try {
+			list.add("Element 7");
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		assertEquals(20, list.size());
+		
+		list.remove(7);
+		list.add("Element 7");
+		assertEquals("Element 7", list.get(19));
+	}
+	
+	/**
+     * Test growing and shrinking the list's capacity.
+     */
+	@Test
+	public void testEnsureCapacityAndTrimToSize() {
+		ArrayList<Integer> numbers = new ArrayList<>(0);
+		numbers.ensureCapacity(1000);
+		for (int i = 0; i < 1000; i++) {
+			numbers.add(i);
+		}
+		numbers.trimToSize();
+		numbers.add(1000);
+		assertEquals(1001, numbers.size());
+		for (int i = 0; i <= 1000; i++) {
+			assertEquals(i, numbers.get(i));
+		}
+		
+		try {
+			new ArrayList<Integer>(-1);
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+	}
+	
+	/**
+     * Test adding a collection of elements at once.
+     */
+	@Test
+	public void testAddAll() {
+		list.add("First");
+		list.add("Last");
+		assertEquals(true, list.addAll(1, Arrays.asList("Second", "Third")));
+		assertEquals(4, list.size());
+		assertEquals("Second", list.get(1));
+		assertEquals("Third", list.get(2));
+		assertEquals("Last", list.get(3));
+		
+		assertEquals(true, list.addAll(Arrays.asList("Fifth", "Sixth")));
+		assertEquals("Sixth", list.get(5));
+		assertEquals(false, list.addAll(new java.util.ArrayList<String>()));
+		
+		// Nothing is added if any element can't be
+		try {
+			list.addAll(Arrays.asList("Seventh", "First"));
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		try {
+			list.addAll(Arrays.asList("Seventh", "Seventh"));
+			fail("Expected IllegalArgumentException not thrown");
+		} catch (IllegalArgumentException e) {
+			// Expected exception
+		}
+		try {
+			list.addAll(Arrays.asList("Seventh", null));
+			fail("Expected NullPointerException not thrown");
+		} catch (NullPointerException e) {
+			// Expected exception
+		}
+		try {
+			list.addAll(7, Arrays.asList("Seventh"));
+			fail("Expected IndexOutOfBoundsException not thrown");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected exception
+		}
+		assertEquals(6, list.size());
+		assertEquals(false, list.contains("Seventh"));
+	}
+	
+	/**
+     * Test removing a range of elements.
+     */
+	@Test
+	public void testRemoveRange() {
+		for (int i = 0; i < 10; i++) {
+			list.add("Element " + i);
+		}
+		list.removeRange(2, 5);
+		assertEquals(7, list.size());
+		assertEquals("Element 1", list.get(1));
+		assertEquals("Element 5", list.get(2));
+		
+		// Removed elements can be added again
+		list.add(2, "Element 2");
+		assertEquals("Element 2", list.get(2));
+		
+		list.removeRange(3, 3);
+		assertEquals(8, list.size());
+		try {
+			list.removeRange(4, 9);
+			fail("Expected IndexOutOfBoundsException not thrown");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected exception
+		}
+		
+		list.clear();
+		assertEquals(0, list.size());
+		list.add("Element 0");
+		assertEquals(1, list.size());
+	}
+	
+	/**
+     * Test that a random series of operations leaves the list the same as a
+     * java.util.ArrayList given the same operations.
+     */
+	@Test
+	public void testMatchesJavaUtilArrayList() {
+		Random random = new Random(216);
+		ArrayList<Integer> actual = new ArrayList<>();
+		List<Integer> expected = new java.util.ArrayList<>();
+		for (int op = 0; op < 5000; op++) {
+			int value = random.nextInt(300);
+			int choice = random.nextInt(5);
+			if (choice <= 1) {
+				int index = random.nextInt(expected.size() + 1);
+				boolean duplicate = expected.contains(value);
+				try {
+					actual.add(index, value);
+					assertEquals(false, duplicate);
+					expected.add(index, value);
+				} catch (IllegalArgumentException e) {
+					assertEquals(true, duplicate);
+				}
+			} else if (choice == 2 && !expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), actual.remove(index));
+			} else if (choice == 3 && !expected.isEmpty()) {
+				int index = random.nextInt(expected.size());
+				if (!expected.contains(value) || expected.get(index).equals(value)) {
+					assertEquals(expected.set(index, value), actual.set(index, value));
+				}
+			} else if (choice == 4 && expected.size() > 10) {
+				int from = random.nextInt(expected.size() - 5);
+				int to = from + random.nextInt(5);
+				expected.subList(from, to).clear();
+				actual.removeRange(from, to);
+			}
+			assertEquals(expected.size(), actual.size());
+		}
+		assertEquals(expected, actual);
+	}
+}
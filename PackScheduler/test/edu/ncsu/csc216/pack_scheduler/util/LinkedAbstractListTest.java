@@ -2,8 +2,14 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -191,4 +197,85 @@ public class LinkedAbstractListTest {
         assertEquals(testData, retrievedData);
 		assertEquals(testData, list2.get(0));
 	}
+
+	/**
+	 * Tests adding and removing at both ends of a large list, and that elements
+	 * in the middle are still found after the ends change.
+	 */
+	@Test
+	public void testHeadAndTailOperations() {
+		LinkedAbstractList<Integer> numbers = new LinkedAbstractList<>(100000, true);
+		for (int i = 0; i < 50000; i++) {
+			numbers.add(numbers.size(), i);
+			numbers.add(0, -i - 1);
+		}
+		assertEquals(100000, numbers.size());
+		assertEquals(-50000, numbers.get(0));
+		assertEquals(49999, numbers.get(99999));
+		assertEquals(0, numbers.get(50000));
+		assertEquals(-1, numbers.get(49999));
+		
+		for (int i = 0; i < 25000; i++) {
+			assertEquals(-50000 + i, numbers.remove(0));
+			assertEquals(49999 - i, numbers.remove(numbers.size() - 1));
+		}
+		assertEquals(50000, numbers.size());
+		assertEquals(-25000, numbers.get(0));
+		assertEquals(24999, numbers.get(numbers.size() - 1));
+		
+		// Removed elements can be added again, and remaining ones are still duplicates
+		numbers.add(numbers.size(), 49999);
+		assertThrows(IllegalArgumentException.class, () -> numbers.add(0, 0));
+	}
+	
+	/**
+	 * Tests that a hashed list finds duplicates the same way as one that isn't.
+	 */
+	@Test
+	public void testHashed() {
+		LinkedAbstractList<String> hashed = new LinkedAbstractList<>(5, true);
+		hashed.add(0, "A");
+		hashed.add(1, "B");
+		hashed.add(1, "C");
+		assertTrue(hashed.contains("C"));
+		assertThrows(IllegalArgumentException.class, () -> hashed.add(0, "B"));
+		assertThrows(IllegalArgumentException.class, () -> hashed.set(0, "C"));
+		
+		assertEquals("A", hashed.set(0, "D"));
+		assertFalse(hashed.contains("A"));
+		hashed.add(3, "A");
+		assertEquals("C", hashed.remove(1));
+		assertFalse(hashed.contains("C"));
+		hashed.add(0, "C");
+		assertEquals("[C, D, B, A]", hashed.toString());
+	}
+	
+	/**
+	 * Tests iterating over the list and removing through the iterator.
+	 */
+	@Test
+	public void testIterator() {
+		list.add(0, "A");
+		list.add(1, "B");
+		list.add(2, "C");
+		list.add(3, "D");
+		
+		Iterator<String> it = list.iterator();
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals("A", it.next());
+		assertEquals("B", it.next());
+		it.remove();
+		assertEquals("C", it.next());
+		assertEquals("D", it.next());
+		it.remove();
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+		assertEquals("[A, C]", list.toString());
+		
+		list.add(2, "E");
+		assertEquals("E", list.get(2));
+		Iterator<String> stale = list.iterator();
+		list.remove(0);
+		assertThrows(ConcurrentModificationException.class, () -> stale.next());
+	}
 }
@@ -6,6 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -132,4 +136,146 @@ public class LinkedListRecursiveTest {
             assertEquals("" + i, list.get(i));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that set() rejects an index equal to the size.
+     */
+    @Test
+    public void testSetAtSize() {
+        list.add("a");
+        list.add("b");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(2, "c"));
+        assertThrows(IllegalArgumentException.class, () -> list.set(0, "b"));
+        assertEquals("a", list.get(0));
+    }
+
+    /**
+     * Tests the iterator of LinkedListRecursive.
+     * Verifies that it returns the elements in order, removes the element last
+     * returned, and fails fast when the list is changed underneath it.
+     */
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 5; i++) {
+            list.add("" + i);
+        }
+        StringBuilder seen = new StringBuilder();
+        for (String s : list) {
+            seen.append(s);
+        }
+        assertEquals("01234", seen.toString());
+
+        Iterator<String> it = list.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        assertEquals("0", it.next());
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove);
+        assertEquals("1", it.next());
+        assertEquals("2", it.next());
+        it.remove();
+        assertEquals("3", it.next());
+        assertEquals("4", it.next());
+        it.remove();
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+        assertEquals(2, list.size());
+        assertEquals("1", list.get(0));
+        assertEquals("3", list.get(1));
+
+        // The back of the list moved, so adding to the end still works
+        list.add("5");
+        assertEquals("5", list.get(2));
+
+        Iterator<String> stale = list.iterator();
+        list.add("6");
+        assertThrows(ConcurrentModificationException.class, stale::next);
+    }
+
+    /**
+     * Tests that the back of the list is kept when the last element is removed.
+     */
+    @Test
+    public void testRemoveLast() {
+        list.add("a");
+        list.add("b");
+        assertEquals("b", list.remove(1));
+        list.add("c");
+        assertEquals("c", list.get(1));
+        assertTrue(list.remove("c"));
+        assertTrue(list.remove("a"));
+        assertTrue(list.isEmpty());
+        list.add("d");
+        list.add(1, "e");
+        assertEquals("e", list.get(1));
+    }
+
+    /**
+     * Tests a list that checks for duplicates using a hash set.
+     */
+    @Test
+    public void testHashed() {
+        LinkedListRecursive<String> hashed = new LinkedListRecursive<>(true);
+        hashed.add("a");
+        hashed.add("b");
+        hashed.add(1, "c");
+        assertTrue(hashed.contains("c"));
+        assertThrows(IllegalArgumentException.class, () -> hashed.add("a"));
+        assertEquals("c", hashed.set(1, "d"));
+        assertFalse(hashed.contains("c"));
+        hashed.add("c");
+        assertFalse(hashed.remove("x"));
+        assertTrue(hashed.remove("a"));
+        assertFalse(hashed.contains("a"));
+        Iterator<String> it = hashed.iterator();
+        it.next();
+        it.remove();
+        assertFalse(hashed.contains("d"));
+        assertEquals(2, hashed.size());
+        assertEquals("b", hashed.get(0));
+        assertEquals("c", hashed.get(1));
+    }
+
+    /**
+     * Tests lists far longer than the call stack is deep, which a recursive
+     * implementation couldn't handle.
+     */
+    @Test
+    public void testLargeList() {
+        int n = 1000000;
+        LinkedListRecursive<Integer> large = new LinkedListRecursive<>(true);
+        for (int i = 0; i < n; i++) {
+            large.add(i);
+        }
+        assertEquals(n, large.size());
+        assertEquals(n - 1, (int) large.get(n - 1));
+        assertEquals(n / 2, (int) large.get(n / 2));
+        assertTrue(large.contains(n - 1));
+        assertEquals(n / 2, (int) large.set(n / 2, -1));
+        assertEquals(n - 2, (int) large.remove(n - 2));
+        assertTrue(large.remove(Integer.valueOf(n - 1)));
+        large.add(n);
+        long sum = 0;
+        for (int value : large) {
+            sum += value;
+        }
+        assertEquals((long) n * (n - 1) / 2 - (n / 2) - 1 - (n - 2) - (n - 1) + n, sum);
+        Iterator<Integer> it = large.iterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertTrue(large.isEmpty());
+
+        // Without a hash set every add walks the list, so keep this one smaller
+        int m = 20000;
+        LinkedListRecursive<Integer> walked = new LinkedListRecursive<>();
+        for (int i = 0; i < m; i++) {
+            walked.add(i);
+        }
+        assertTrue(walked.contains(m - 1));
+        assertFalse(walked.contains(m));
+        assertEquals(m - 1, (int) walked.get(m - 1));
+        assertTrue(walked.remove(Integer.valueOf(m - 1)));
+        assertEquals(m - 1, walked.size());
+    }
+}
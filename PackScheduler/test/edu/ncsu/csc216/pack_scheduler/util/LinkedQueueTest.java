@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -124,5 +126,56 @@ public class LinkedQueueTest {
 		}
 	}
 
+	/**
+     * Tests peeking at the front of the queue.
+     * Verifies that peek returns the front element without removing it,
+     * and that an exception is thrown when the queue is empty.
+     */
+	@Test
+	public void testPeek() {
+		try {
+			queue.peek();
+			fail();
+		} catch(NoSuchElementException nse) {
+			//Success
+		}
+		queue.enqueue("Ansh");
+		queue.enqueue("Kapil");
+		assertEquals("Ansh", queue.peek());
+		assertEquals(2, queue.size());
+		queue.dequeue();
+		assertEquals("Kapil", queue.peek());
+	}
+
+	/**
+     * Tests draining elements from the queue into a collection.
+     * Verifies that elements are moved front first, that at most the given
+     * number are moved, and that draining an empty queue moves nothing.
+     */
+	@Test
+	public void testDrainTo() {
+		for(String names: testingString) {
+			queue.enqueue(names);
+		}
+		List<String> drained = new java.util.ArrayList<String>();
+		assertEquals(3, queue.drainTo(drained, 3));
+		assertEquals(Arrays.asList("Ansh", "Kapil", "Eli"), drained);
+		assertEquals(7, queue.size());
+		assertEquals("Rahul", queue.peek());
+
+		assertEquals(7, queue.drainTo(drained));
+		assertEquals(10, drained.size());
+		assertEquals("Jimmy", drained.get(9));
+		assertTrue(queue.isEmpty());
+		assertEquals(0, queue.drainTo(drained));
+		assertEquals(0, queue.drainTo(drained, -1));
+
+		try {
+			queue.drainTo(null);
+			fail();
+		} catch(NullPointerException npe) {
+			//Success
+		}
+	}
 
 }
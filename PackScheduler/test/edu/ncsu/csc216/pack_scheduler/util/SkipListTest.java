@@ -0,0 +1,204 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests SkipList.
+ *
+ * @author Priyanshu Dongre
+ */
+public class SkipListTest {
+
+	/** List used for testing */
+	private SkipList<String> list;
+
+	/**
+	 * Creates an empty list before each test.
+	 */
+	@BeforeEach
+	public void setUp() {
+		list = new SkipList<String>();
+	}
+
+	/**
+	 * Tests that elements are kept in sorted order and duplicates and nulls are rejected.
+	 */
+	@Test
+	public void testAdd() {
+		assertTrue(list.isEmpty());
+		assertTrue(list.add("orange"));
+		assertTrue(list.add("apple"));
+		assertTrue(list.add("pear"));
+		assertTrue(list.add("banana"));
+		assertEquals(4, list.size());
+		assertEquals(List.of("apple", "banana", "orange", "pear"), list.stream().collect(Collectors.toList()));
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> list.add("pear"));
+		assertEquals("Element already in list.", e.getMessage());
+		assertThrows(NullPointerException.class, () -> list.add(null));
+		assertEquals(4, list.size());
+	}
+
+	/**
+	 * Tests building a list from elements already in sorted order.
+	 */
+	@Test
+	public void testFromSorted() {
+		List<String> sorted = new java.util.ArrayList<String>();
+		for (int i = 0; i < 5000; i++) {
+			sorted.add(String.format("s%05d", i));
+		}
+		SkipList<String> built = SkipList.fromSorted(sorted);
+		assertEquals(5000, built.size());
+		assertEquals(sorted, built.stream().collect(Collectors.toList()));
+		assertTrue(built.contains("s01234"));
+		assertTrue(built.remove("s01234"));
+		assertFalse(built.contains("s01234"));
+		assertTrue(built.add("s01234"));
+		assertEquals(sorted, built.stream().collect(Collectors.toList()));
+
+		assertTrue(SkipList.fromSorted(List.<String>of()).isEmpty());
+		Exception e = assertThrows(IllegalArgumentException.class, () -> SkipList.fromSorted(List.of("b", "a")));
+		assertEquals("Elements aren't in sorted order.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> SkipList.fromSorted(List.of("a", "a")));
+		assertThrows(NullPointerException.class, () -> SkipList.fromSorted(Arrays.asList("a", null)));
+	}
+
+	/**
+	 * Tests removing and looking up elements.
+	 */
+	@Test
+	public void testRemoveAndContains() {
+		list.add("b");
+		list.add("a");
+		list.add("c");
+		assertTrue(list.contains("a"));
+		assertFalse(list.contains("d"));
+		assertFalse(list.contains(null));
+
+		assertTrue(list.remove("b"));
+		assertFalse(list.remove("b"));
+		assertFalse(list.remove(null));
+		assertFalse(list.contains("b"));
+		assertEquals(List.of("a", "c"), list.stream().collect(Collectors.toList()));
+
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertFalse(list.contains("a"));
+		list.add("z");
+		assertEquals(1, list.size());
+	}
+
+	/**
+	 * Tests finding the first element of a range and streaming the range.
+	 */
+	@Test
+	public void testFindAndRange() {
+		for (String s : new String[] {"ant", "bat", "bear", "bee", "cat", "cow", "dog"}) {
+			list.add(s);
+		}
+		assertEquals("bat", list.find(s -> Character.compare(s.charAt(0), 'b')));
+		assertNull(list.find(s -> Character.compare(s.charAt(0), 'e')));
+		assertNull(list.find(s -> s.compareTo("bz")));
+		assertEquals(List.of("bat", "bear", "bee"),
+				list.range(s -> Character.compare(s.charAt(0), 'b')).collect(Collectors.toList()));
+		assertEquals(List.of("dog"), list.range(s -> Character.compare(s.charAt(0), 'd')).collect(Collectors.toList()));
+		assertEquals(0, list.range(s -> Character.compare(s.charAt(0), 'a') < 0 ? -1 : 1).count());
+		assertEquals(0, new SkipList<String>().range(s -> 0).count());
+	}
+
+	/**
+	 * Tests range scans over Courses, for every section of one course and every
+	 * course at one level.
+	 */
+	@Test
+	public void testCourseRanges() {
+		SkipList<Course> courses = new SkipList<Course>();
+		courses.add(new Course("CSC316", "Data Structures", "001", 3, null, 10, "MW", 1000, 1100));
+		courses.add(new Course("CSC216", "Software Development", "002", 3, null, 10, "TH", 1000, 1100));
+		courses.add(new Course("CSC116", "Intro to Java", "001", 3, null, 10, "MW", 800, 900));
+		courses.add(new Course("CSC226", "Discrete Math", "001", 3, null, 10, "F", 1000, 1100));
+		courses.add(new Course("CSC216", "Software Development", "001", 3, null, 10, "MW", 1200, 1300));
+		courses.add(new Course("MA241", "Calculus II", "001", 4, null, 10, "MWF", 900, 1000));
+
+		List<Course> csc216 = courses.range(c -> c.getName().compareTo("CSC216")).collect(Collectors.toList());
+		assertEquals(2, csc216.size());
+		assertEquals("001", csc216.get(0).getSection());
+		assertEquals("002", csc216.get(1).getSection());
+
+		List<String> level200 = courses
+				.range(c -> c.getName().compareTo("CSC200") < 0 ? -1 : c.getName().compareTo("CSC300") < 0 ? 0 : 1)
+				.map(c -> c.getName() + "-" + c.getSection()).collect(Collectors.toList());
+		assertEquals(List.of("CSC216-001", "CSC216-002", "CSC226-001"), level200);
+
+		assertTrue(courses.contains(new Course("MA241", "Other Title", "001", 3, null, 10, "A", 0, 0)));
+	}
+
+	/**
+	 * Tests the iterator, including removing through it and failing fast.
+	 */
+	@Test
+	public void testIterator() {
+		for (String s : new String[] {"c", "a", "d", "b"}) {
+			list.add(s);
+		}
+		Iterator<String> it = list.iterator();
+		assertThrows(IllegalStateException.class, it::remove);
+		assertEquals("a", it.next());
+		assertEquals("b", it.next());
+		it.remove();
+		assertThrows(IllegalStateException.class, it::remove);
+		assertEquals("c", it.next());
+		assertEquals("d", it.next());
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, it::next);
+		assertEquals(List.of("a", "c", "d"), list.stream().collect(Collectors.toList()));
+
+		Iterator<String> stale = list.iterator();
+		list.add("e");
+		assertThrows(ConcurrentModificationException.class, stale::next);
+	}
+
+	/**
+	 * Tests a long sequence of random adds and removes against a TreeSet.
+	 */
+	@Test
+	public void testAgainstTreeSet() {
+		SkipList<Integer> skip = new SkipList<Integer>();
+		TreeSet<Integer> expected = new TreeSet<Integer>();
+		Random random = new Random(216);
+		for (int i = 0; i < 100000; i++) {
+			int value = random.nextInt(5000);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(value), skip.remove(value));
+			} else if (expected.add(value)) {
+				skip.add(value);
+			} else {
+				assertThrows(IllegalArgumentException.class, () -> skip.add(value));
+			}
+			assertEquals(expected.size(), skip.size());
+		}
+		assertEquals(List.copyOf(expected), skip.stream().collect(Collectors.toList()));
+		assertEquals(List.copyOf(expected.subSet(1000, 2000)),
+				skip.range(v -> v < 1000 ? -1 : v < 2000 ? 0 : 1).collect(Collectors.toList()));
+		assertEquals(expected.ceiling(2500), skip.find(v -> v < 2500 ? -1 : 0));
+	}
+}
@@ -0,0 +1,106 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * Tests StringPool.
+ *
+ * @author Priyanshu Dongre
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests that equal Strings are interned to the same String.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool(16);
+		String first = new String("CSC216");
+		String second = new String("CSC216");
+		assertNotSame(first, second);
+		assertSame(first, pool.intern(first));
+		assertSame(first, pool.intern(second));
+		assertEquals("MA241", pool.intern("MA241"));
+		assertNull(pool.intern(null));
+		assertEquals(2, pool.size());
+
+		pool.clear();
+		assertEquals(0, pool.size());
+		assertSame(second, pool.intern(second));
+	}
+
+	/**
+	 * Tests that the pool rounds its capacity up and never holds more than it.
+	 */
+	@Test
+	public void testBounded() {
+		assertEquals(1, new StringPool(1).capacity());
+		assertEquals(16, new StringPool(10).capacity());
+		assertEquals(64, new StringPool(64).capacity());
+		assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+		assertThrows(IllegalArgumentException.class, () -> new StringPool((1 << 30) + 1));
+
+		StringPool pool = new StringPool(64);
+		for (int i = 0; i < 10000; i++) {
+			assertEquals("value" + i, pool.intern("value" + i));
+		}
+		assertTrue(pool.size() <= 64);
+
+		StringPool single = new StringPool(1);
+		String a = new String("a");
+		single.intern(a);
+		single.intern("b");
+		assertNotSame(a, single.intern(new String("a")));
+		assertEquals(1, single.size());
+	}
+
+	/**
+	 * Tests that Courses made from separate copies of the same values share
+	 * one copy of each, so a large catalog keeps one String per distinct value.
+	 */
+	@Test
+	public void testCoursesShareStrings() {
+		Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+		int count = 100000;
+		for (int i = 0; i < count; i++) {
+			Course c = new Course(new String("CSC" + (100 + i % 50)), new String("Title " + i % 50),
+					String.format("%03d", i / 50 % 1000), 3, new String("jdyoung" + i % 10), 10,
+					new String(i % 2 == 0 ? "MW" : "TH"), 1000, 1100);
+			strings.add(c.getName());
+			strings.add(c.getTitle());
+			strings.add(c.getInstructorId());
+			strings.add(c.getMeetingDays());
+		}
+		assertTrue(strings.size() < count / 100, "Expected shared Strings, found " + strings.size());
+	}
+
+	/**
+	 * Tests that Students read from a file share one copy of the password hash.
+	 *
+	 * @throws Exception if the file can't be read
+	 */
+	@Test
+	public void testStudentsSharePasswordHash() throws Exception {
+		SortedList<Student> students = StudentRecordIO.readStudentRecords("test-files/student_records.txt");
+		assertTrue(students.size() > 1);
+		for (int i = 1; i < students.size(); i++) {
+			assertSame(students.get(0).getPassword(), students.get(i).getPassword());
+		}
+	}
+}